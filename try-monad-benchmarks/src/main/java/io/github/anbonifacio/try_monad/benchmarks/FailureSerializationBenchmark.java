@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.benchmarks;
+
+import io.github.anbonifacio.try_monad.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a serialization round trip of a {@link io.github.anbonifacio.try_monad.Failure} with a deep
+ * stack trace, in the default form and in the compact form enabled by the
+ * {@code io.github.anbonifacio.try_monad.serializedFrames} system property (read once per JVM, hence
+ * the fork per form).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FailureSerializationBenchmark {
+
+    private Try<Integer> failure;
+
+    @Setup
+    public void setup() {
+        failure = Try.failure(deepException(100));
+    }
+
+    @Benchmark
+    public Object defaultRoundTrip() throws IOException, ClassNotFoundException {
+        return roundTrip(failure);
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-Dio.github.anbonifacio.try_monad.serializedFrames=5")
+    public Object compactRoundTrip() throws IOException, ClassNotFoundException {
+        return roundTrip(failure);
+    }
+
+    private static Object roundTrip(Object object) throws IOException, ClassNotFoundException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    private static Throwable deepException(int depth) {
+        if (depth > 0) {
+            return deepException(depth - 1);
+        }
+        return new IOException("outer", new IllegalStateException("inner", new IllegalArgumentException()));
+    }
+}
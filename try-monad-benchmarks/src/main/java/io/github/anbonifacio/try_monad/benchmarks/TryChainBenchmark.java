@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.benchmarks;
+
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.TryPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of {@code map}/{@code flatMap} chains of increasing {@link #depth}, both when every stage
+ * succeeds and when the chain starts from a {@link io.github.anbonifacio.try_monad.Failure}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TryChainBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int depth;
+
+    private int input;
+    private Function<Integer, Integer> increment;
+    private Function<Integer, Try<Integer>> incrementTry;
+    private Try<Integer> success;
+    private Try<Integer> failure;
+    private TryPipeline<Integer, Integer> pipeline;
+
+    @Setup
+    public void setup() {
+        input = 42;
+        increment = i -> i + 1;
+        incrementTry = i -> Try.success(i + 1);
+        success = Try.success(input);
+        failure = Try.failure(new IllegalStateException("failure"));
+        var chain = Try.<Integer>pipeline();
+        for (int i = 0; i < depth; i++) {
+            chain = chain.map(increment);
+        }
+        pipeline = chain;
+    }
+
+    @Benchmark
+    public int baselineTryCatch() {
+        try {
+            int result = input;
+            for (int i = 0; i < depth; i++) {
+                result = increment.apply(result);
+            }
+            return result;
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public Try<Integer> successMap() {
+        var result = success;
+        for (int i = 0; i < depth; i++) {
+            result = result.map(increment);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Try<Integer> pipelineMap() {
+        return pipeline.apply(input);
+    }
+
+    @Benchmark
+    public Try<Integer> successFlatMap() {
+        var result = success;
+        for (int i = 0; i < depth; i++) {
+            result = result.flatMap(incrementTry);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Try<Integer> failureMap() {
+        var result = failure;
+        for (int i = 0; i < depth; i++) {
+            result = result.map(increment);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Try<Integer> failureFlatMap() {
+        var result = failure;
+        for (int i = 0; i < depth; i++) {
+            result = result.flatMap(incrementTry);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Try<Integer> failingMidChain() {
+        var result = success;
+        for (int i = 0; i < depth; i++) {
+            result = i == depth / 2 ? result.map(v -> v / 0) : result.map(increment);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.benchmarks;
+
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedRunnable;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of creating a {@link Try} from the different factory methods, compared against a plain
+ * {@code try-catch} block doing the same work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TryConstructionBenchmark {
+
+    private int input;
+    private Supplier<Integer> supplier;
+    private CheckedSupplier<Integer> checkedSupplier;
+    private Callable<Integer> callable;
+    private Supplier<Integer> failingSupplier;
+    private CheckedSupplier<Integer> failingCheckedSupplier;
+    private Runnable runnable;
+    private CheckedRunnable checkedRunnable;
+
+    @Setup
+    public void setup() {
+        input = 42;
+        supplier = () -> input + 1;
+        checkedSupplier = () -> input + 1;
+        callable = () -> input + 1;
+        failingSupplier = () -> {
+            throw new IllegalStateException("failure");
+        };
+        failingCheckedSupplier = () -> {
+            throw new IOException("failure");
+        };
+        runnable = () -> input++;
+        checkedRunnable = () -> input++;
+    }
+
+    @Benchmark
+    public int baselineTryCatch() {
+        try {
+            return supplier.get();
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public int baselineTryCatchFailure() {
+        try {
+            return failingSupplier.get();
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public Try<Integer> ofSupplier() {
+        return Try.of(supplier);
+    }
+
+    @Benchmark
+    public Try<Integer> ofCheckedSupplier() {
+        return Try.of(checkedSupplier);
+    }
+
+    @Benchmark
+    public Try<Integer> ofCallable() {
+        return Try.ofCallable(callable);
+    }
+
+    @Benchmark
+    public Try<Integer> ofSupplierFailure() {
+        return Try.of(failingSupplier);
+    }
+
+    @Benchmark
+    public Try<Integer> ofCheckedSupplierFailure() {
+        return Try.of(failingCheckedSupplier);
+    }
+
+    @Benchmark
+    public Try<Void> ofRunnable() {
+        return Try.ofRunnable(runnable);
+    }
+
+    @Benchmark
+    public Try<Void> ofCheckedRunnable() {
+        return Try.ofRunnable(checkedRunnable);
+    }
+
+    @Benchmark
+    public void ofSupplierAndGet(Blackhole bh) {
+        bh.consume(Try.of(supplier).get());
+    }
+}
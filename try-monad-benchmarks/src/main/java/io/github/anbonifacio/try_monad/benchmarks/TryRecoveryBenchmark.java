@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.benchmarks;
+
+import io.github.anbonifacio.try_monad.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cost of recovering from a {@link io.github.anbonifacio.try_monad.Failure} and of rejecting a
+ * value through {@link Try#filter(Predicate)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TryRecoveryBenchmark {
+
+    private Try<Integer> success;
+    private Try<Integer> failure;
+    private Function<Throwable, Integer> fallback;
+    private Function<IOException, Integer> typedFallback;
+    private Function<Throwable, Try<Integer>> fallbackTry;
+    private Function<IOException, Try<Integer>> typedFallbackTry;
+    private Predicate<Integer> rejectAll;
+    private Predicate<Integer> acceptAll;
+
+    @Setup
+    public void setup() {
+        success = Try.success(42);
+        failure = Try.failure(new IOException("failure"));
+        fallback = t -> 0;
+        typedFallback = e -> 0;
+        fallbackTry = t -> Try.success(0);
+        typedFallbackTry = e -> Try.success(0);
+        rejectAll = v -> false;
+        acceptAll = v -> true;
+    }
+
+    @Benchmark
+    public Try<Integer> recover() {
+        return failure.recover(fallback);
+    }
+
+    @Benchmark
+    public Try<Integer> recoverTyped() {
+        return failure.recover(IOException.class, typedFallback);
+    }
+
+    @Benchmark
+    public Try<Integer> recoverTypedMismatch() {
+        return failure.recover(IllegalStateException.class, t -> 0);
+    }
+
+    @Benchmark
+    public Try<Integer> recoverWith() {
+        return failure.recoverWith(fallbackTry);
+    }
+
+    @Benchmark
+    public Try<Integer> recoverWithTyped() {
+        return failure.recoverWith(IOException.class, typedFallbackTry);
+    }
+
+    @Benchmark
+    public Try<Integer> recoverOnSuccess() {
+        return success.recover(fallback);
+    }
+
+    @Benchmark
+    public Try<Integer> filterAccepted() {
+        return success.filter(acceptAll);
+    }
+
+    @Benchmark
+    public Try<Integer> filterRejected() {
+        return success.filter(rejectAll);
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Asynchronous counterpart of {@link Try}: the result of an operation that is still running.
+ * <p>Every transformation is non-blocking and follows the same rules as {@link Success} and
+ * {@link Failure}: exceptions thrown by the operation or by any function passed to this class
+ * become the cause of the resulting failure. Use {@link #await(Duration)} to get back a {@link Try}.
+ *
+ * @param <T> result of the operation
+ *
+ * @implNote <b>fatal</b> exceptions (see {@link Failure#isFatal(Throwable)}) are never turned into
+ * a {@link Failure} nor passed to a recovery function: they are rethrown by {@link #await()} and
+ * {@link #await(Duration)}, and so is an interrupt of the thread waiting in either of them.
+ */
+public final class AsyncTry<T> {
+    private final CompletableFuture<T> future;
+    private final Future<?> source;
+
+    private AsyncTry(CompletableFuture<T> future) {
+        this(future, null);
+    }
+
+    private AsyncTry(CompletableFuture<T> future, Future<?> source) {
+        this.future = future;
+        this.source = source;
+    }
+
+    /**
+     * Runs {@code supplier} on the {@link Try#ofAsync(CheckedSupplier) default executor}.
+     *
+     * @throws NullPointerException if {@code supplier} is null
+     */
+    public static <T> AsyncTry<T> of(CheckedSupplier<? extends T> supplier) {
+        return of(supplier, TryExecutors.defaultExecutor());
+    }
+
+    /**
+     * Runs {@code supplier} on the given {@code executor}.
+     *
+     * @return an {@link AsyncTry} completed with the value returned by {@code supplier}, or failed
+     * with the exception thrown by it
+     *
+     * @throws NullPointerException if {@code supplier} or {@code executor} is null
+     */
+    public static <T> AsyncTry<T> of(CheckedSupplier<? extends T> supplier, Executor executor) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        Objects.requireNonNull(executor, "executor is null");
+        var task = InterruptibleTask.start(supplier, executor);
+        var future = new CompletableFuture<T>();
+        task.whenComplete((result, fatal) -> {
+            if (fatal != null) {
+                future.completeExceptionally(fatal);
+            } else if (result.isSuccess()) {
+                future.complete(result.get());
+            } else {
+                future.completeExceptionally(result.getCause());
+            }
+        });
+        return new AsyncTry<>(future, task);
+    }
+
+    /**
+     * Wraps an existing {@link CompletionStage}; the stage itself is not modified.
+     *
+     * @throws NullPointerException if {@code stage} is null
+     */
+    public static <T> AsyncTry<T> fromCompletionStage(CompletionStage<? extends T> stage) {
+        Objects.requireNonNull(stage, "stage is null");
+        return new AsyncTry<>(stage.<T>thenApply(Function.identity()).toCompletableFuture());
+    }
+
+    /**
+     * Wraps {@code future} itself rather than a copy of it: cancelling the returned {@link AsyncTry},
+     * or one derived from it, cancels {@code future}.
+     */
+    static <T> AsyncTry<T> fromFuture(CompletableFuture<T> future) {
+        return new AsyncTry<>(future, future);
+    }
+
+    /**
+     * @return an already completed {@link AsyncTry} with the same outcome as {@code result}
+     *
+     * @throws NullPointerException if {@code result} is null
+     */
+    public static <T> AsyncTry<T> fromTry(Try<? extends T> result) {
+        Objects.requireNonNull(result, "result is null");
+        return result.isSuccess()
+                ? new AsyncTry<>(CompletableFuture.completedFuture(result.get()))
+                : new AsyncTry<>(CompletableFuture.failedFuture(result.getCause()));
+    }
+
+    /**
+     * @see Try#map(Function)
+     */
+    public <U> AsyncTry<U> map(Function<? super T, ? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return derive(future.thenApply(mapper));
+    }
+
+    /**
+     * Chains another asynchronous operation, without blocking while waiting for either of them.
+     *
+     * @see Try#flatMap(Function)
+     */
+    public <U> AsyncTry<U> flatMap(Function<? super T, ? extends AsyncTry<? extends U>> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return derive(future.<U>thenCompose(value -> AsyncTry.<U>narrow(mapper.apply(value)).future));
+    }
+
+    /**
+     * Variant of {@link #flatMap(Function)} for a {@code mapper} returning a synchronous {@link Try}.
+     */
+    public <U> AsyncTry<U> flatMapTry(Function<? super T, ? extends Try<? extends U>> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return derive(future.thenApply(value -> {
+            Try<? extends U> result = mapper.apply(value);
+            if (result.isFailure()) {
+                throw wrap(result.getCause());
+            }
+            return result.get();
+        }));
+    }
+
+    /**
+     * @see Try#filter(Predicate)
+     */
+    public AsyncTry<T> filter(Predicate<? super T> p) {
+        Objects.requireNonNull(p, "predicate is null");
+        return derive(future.thenApply(value -> {
+            if (!p.test(value)) {
+                throw TryExceptions.predicateNotSatisfied(value);
+            }
+            return value;
+        }));
+    }
+
+    /**
+     * @see Try#recover(Function)
+     */
+    public AsyncTry<T> recover(Function<? super Throwable, ? extends T> fn) {
+        Objects.requireNonNull(fn, "fn is null");
+        return derive(future.exceptionally(t -> {
+            var cause = TryExecutors.unwrap(t);
+            if (Failure.isFatal(cause)) {
+                throw wrap(t);
+            }
+            return fn.apply(cause);
+        }));
+    }
+
+    /**
+     * @see Try#recover(Class, Function)
+     */
+    public <X extends Throwable> AsyncTry<T> recover(Class<X> exceptionType, Function<? super X, ? extends T> fn) {
+        Objects.requireNonNull(exceptionType, "exceptionType is null");
+        Objects.requireNonNull(fn, "fn is null");
+        return derive(future.exceptionally(t -> {
+            var cause = TryExecutors.unwrap(t);
+            if (!Failure.isFatal(cause) && exceptionType.isInstance(cause)) {
+                return fn.apply(exceptionType.cast(cause));
+            }
+            throw wrap(t);
+        }));
+    }
+
+    /**
+     * @see Try#recoverWith(Function)
+     */
+    public AsyncTry<T> recoverWith(Function<? super Throwable, ? extends AsyncTry<T>> fn) {
+        Objects.requireNonNull(fn, "fn is null");
+        return derive(future.exceptionallyCompose(t -> {
+            var cause = TryExecutors.unwrap(t);
+            if (Failure.isFatal(cause)) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            return narrow(fn.apply(cause)).future;
+        }));
+    }
+
+    /**
+     * @see Try#recoverWith(Class, Function)
+     */
+    public <X extends Throwable> AsyncTry<T> recoverWith(
+            Class<X> exceptionType, Function<? super X, ? extends AsyncTry<T>> fn) {
+        Objects.requireNonNull(exceptionType, "exceptionType is null");
+        Objects.requireNonNull(fn, "fn is null");
+        return derive(future.exceptionallyCompose(t -> {
+            var cause = TryExecutors.unwrap(t);
+            if (!Failure.isFatal(cause) && exceptionType.isInstance(cause)) {
+                return narrow(fn.apply(exceptionType.cast(cause))).future;
+            }
+            return CompletableFuture.failedFuture(cause);
+        }));
+    }
+
+    /**
+     * Cancels this {@link AsyncTry}, which then completes with a {@link Failure} of
+     * {@link java.util.concurrent.CancellationException}, and the operation it was created from by
+     * {@link #of(CheckedSupplier, Executor)}: if that operation is still running, its thread is
+     * interrupted.
+     *
+     * @return {@code true} if this {@link AsyncTry} was cancelled, {@code false} if it had already
+     * completed
+     */
+    public boolean cancel() {
+        boolean cancelled = future.cancel(false);
+        if (source != null) {
+            source.cancel(true);
+        }
+        return cancelled;
+    }
+
+    /**
+     * @return {@code true} if the operation (and every transformation before this one) has completed
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Waits, for at most {@code timeout}, for the operation to complete.
+     *
+     * @return a {@link Success} containing the result, a {@link Failure} containing the exception
+     * thrown by the operation, or a {@link Failure} containing a {@link TimeoutException} if the
+     * operation did not complete in time (the operation is <b>not</b> cancelled).
+     *
+     * @throws NullPointerException if {@code timeout} is null
+     */
+    public Try<T> await(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout is null");
+        try {
+            return Success.valueOf(future.get(timeout.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Failure.sneakyThrow(e);
+        } catch (ExecutionException e) {
+            var cause = TryExecutors.unwrap(e);
+            if (Failure.isFatal(cause)) {
+                Failure.sneakyThrow(cause);
+            }
+            return new Failure<>(cause);
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+        throw new AssertionError("unreachable");
+    }
+
+    /**
+     * Waits for the operation to complete.
+     *
+     * @return a {@link Success} containing the result, or a {@link Failure} containing the exception
+     * thrown by the operation
+     */
+    public Try<T> await() {
+        try {
+            return Success.valueOf(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Failure.sneakyThrow(e);
+        } catch (ExecutionException e) {
+            var cause = TryExecutors.unwrap(e);
+            if (Failure.isFatal(cause)) {
+                Failure.sneakyThrow(cause);
+            }
+            return new Failure<>(cause);
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+        throw new AssertionError("unreachable");
+    }
+
+    /**
+     * @return a {@link CompletableFuture} completed with the same outcome as this (completing or
+     * cancelling it does not affect this {@link AsyncTry})
+     */
+    public CompletableFuture<T> toCompletableFuture() {
+        return future.thenApply(Function.identity());
+    }
+
+    /**
+     * @return a {@link CompletionStage} completed with the same outcome as this
+     */
+    public CompletionStage<T> toCompletionStage() {
+        return future.minimalCompletionStage();
+    }
+
+    private <U> AsyncTry<U> derive(CompletableFuture<U> derived) {
+        return new AsyncTry<>(derived, source);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> AsyncTry<T> narrow(AsyncTry<? extends T> asyncTry) {
+        return (AsyncTry<T>) asyncTry;
+    }
+
+    private static CompletionException wrap(Throwable t) {
+        return t instanceof CompletionException ce ? ce : new CompletionException(t);
+    }
+}
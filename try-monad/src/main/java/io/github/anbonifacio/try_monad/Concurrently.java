@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.AllFailedException;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link Try#all}, {@link Try#any} and {@link Try#zipPar}.
+ * <p>Every supplier runs in its own {@link InterruptibleTask}. As soon as the combined result is
+ * decided, or the calling thread is interrupted, the tasks still running are cancelled, which
+ * interrupts their supplier; their outcome is discarded.
+ */
+final class Concurrently {
+    private Concurrently() {}
+
+    static <T> Try<List<T>> all(Collection<? extends CheckedSupplier<? extends T>> suppliers, Executor executor) {
+        List<CompletableFuture<Try<T>>> tasks = start(suppliers, executor);
+        if (tasks.isEmpty()) {
+            return new Success<>(List.of());
+        }
+        var decided = new CompletableFuture<Try<List<T>>>();
+        var remaining = new AtomicInteger(tasks.size());
+        for (var task : tasks) {
+            task.whenComplete((result, fatal) -> {
+                if (fatal != null) {
+                    decided.completeExceptionally(fatal);
+                } else if (result.isFailure()) {
+                    decided.complete(narrow(result));
+                } else if (remaining.decrementAndGet() == 0) {
+                    var values = new ArrayList<T>(tasks.size());
+                    tasks.forEach(t -> values.add(t.join().get()));
+                    decided.complete(new Success<>(Collections.unmodifiableList(values)));
+                }
+            });
+        }
+        return awaitAndCancel(decided, tasks);
+    }
+
+    static <T> Try<T> any(Collection<? extends CheckedSupplier<? extends T>> suppliers, Executor executor) {
+        List<CompletableFuture<Try<T>>> tasks = start(suppliers, executor);
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("suppliers is empty");
+        }
+        var decided = new CompletableFuture<Try<T>>();
+        var remaining = new AtomicInteger(tasks.size());
+        for (var task : tasks) {
+            task.whenComplete((result, fatal) -> {
+                if (fatal != null) {
+                    decided.completeExceptionally(fatal);
+                } else if (result.isSuccess()) {
+                    decided.complete(result);
+                } else if (remaining.decrementAndGet() == 0) {
+                    decided.complete(allFailed(tasks));
+                }
+            });
+        }
+        return awaitAndCancel(decided, tasks);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A, B> Try<Pair<A, B>> zip(
+            CheckedSupplier<? extends A> first, CheckedSupplier<? extends B> second, Executor executor) {
+        return all(List.<CheckedSupplier<?>>of(first, second), executor)
+                .map(values -> new Pair<>((A) values.get(0), (B) values.get(1)));
+    }
+
+    private static <T> List<CompletableFuture<Try<T>>> start(
+            Collection<? extends CheckedSupplier<? extends T>> suppliers, Executor executor) {
+        suppliers.forEach(supplier -> Objects.requireNonNull(supplier, "supplier is null"));
+        var tasks = new ArrayList<CompletableFuture<Try<T>>>(suppliers.size());
+        for (var supplier : suppliers) {
+            tasks.add(InterruptibleTask.start(supplier, executor));
+        }
+        return tasks;
+    }
+
+    private static <R, T> Try<R> awaitAndCancel(
+            CompletableFuture<Try<R>> decided, List<CompletableFuture<Try<T>>> tasks) {
+        try {
+            return InterruptibleTask.await(decided);
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    /**
+     * @return the {@link Failure} of the only task, or a {@link Failure} of {@link AllFailedException}
+     * holding the causes of every task: they are never modified, as they may be shared instances
+     */
+    private static <T> Try<T> allFailed(List<CompletableFuture<Try<T>>> tasks) {
+        if (tasks.size() == 1) {
+            return tasks.get(0).join();
+        }
+        var causes = new ArrayList<Throwable>(tasks.size());
+        tasks.forEach(task -> causes.add(task.join().getCause()));
+        return new Failure<>(new AllFailedException(causes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> Try<U> narrow(Try<?> failure) {
+        return (Try<U>) failure;
+    }
+}
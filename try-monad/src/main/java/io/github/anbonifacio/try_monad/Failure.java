@@ -11,18 +11,25 @@
 
 package io.github.anbonifacio.try_monad;
 
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedConsumer;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedFunction;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedPredicate;
+
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static java.util.concurrent.CompletableFuture.failedStage;
-import static java.util.function.Function.identity;
 
 /**
  * The failed result of some operation. In this context, <em>failure</em> means that the operation
@@ -30,6 +37,10 @@ import static java.util.function.Function.identity;
  *
  * @implNote this record can never contain a <b>fatal</b> exception;
  * see {@link Failure#isFatal(Throwable)} for more information.
+ * <p>By default a {@link Failure} is serialized with its whole exception graph. Setting the
+ * {@code io.github.anbonifacio.try_monad.serializedFrames} system property to {@code n} writes a
+ * compact form instead: the class name, message and top {@code n} stack frames of each exception
+ * of the cause chain.
  *
  * @param cause the exception that was caught while executing the operation (never {@code null})
  * @param <T> the return type of the operation (or {@link Void} if the operation is {@code void})
@@ -58,6 +69,34 @@ public record Failure<T>(Throwable cause) implements Try<T>, Serializable {
         return (Failure<U>) this;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> Try<U> mapChecked(CheckedFunction<? super T, ? extends U> mapper) {
+        return (Failure<U>) this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> Try<U> flatMapChecked(CheckedFunction<? super T, ? extends Try<? extends U>> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return (Failure<U>) this;
+    }
+
+    @Override
+    public TryInt mapToInt(ToIntFunction<? super T> mapper) {
+        return new FailureInt(cause);
+    }
+
+    @Override
+    public TryLong mapToLong(ToLongFunction<? super T> mapper) {
+        return new FailureLong(cause);
+    }
+
+    @Override
+    public TryDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return new FailureDouble(cause);
+    }
+
     @Override
     public <U> U fold(Function<? super Throwable, ? extends U> onFailure, Function<? super T, ? extends U> onSuccess) {
         return onFailure.apply(getCause());
@@ -69,6 +108,11 @@ public record Failure<T>(Throwable cause) implements Try<T>, Serializable {
         return this;
     }
 
+    @Override
+    public Try<T> peekChecked(CheckedConsumer<? super T> action) {
+        return this;
+    }
+
     @Override
     public boolean isFailure() {
         return true;
@@ -96,7 +140,7 @@ public record Failure<T>(Throwable cause) implements Try<T>, Serializable {
 
     @Override
     public T get() {
-        throw new NoSuchElementException("Try is Failure", cause);
+        throw TryExceptions.failureGet(cause);
     }
 
     @Override
@@ -109,43 +153,112 @@ public record Failure<T>(Throwable cause) implements Try<T>, Serializable {
         return this;
     }
 
+    @Override
+    public Try<T> filter(Predicate<? super T> p, Supplier<? extends Throwable> errorSupplier) {
+        return this;
+    }
+
+    @Override
+    public Try<T> filter(Predicate<? super T> p, Function<? super T, ? extends Throwable> errorProvider) {
+        return this;
+    }
+
+    @Override
+    public Try<T> filterChecked(CheckedPredicate<? super T> p) {
+        return this;
+    }
+
     @Override
     public Try<T> recover(Function<? super Throwable, ? extends T> fn) {
-        return Try.of(() -> fn.apply(getCause()));
+        return recover(fn, cause);
     }
 
     @Override
     public <X extends Throwable> Try<T> recover(Class<X> exceptionType, Function<? super X, ? extends T> fn) {
         if (exceptionType.isInstance(getCause())) {
-            return Try.of(() -> fn.apply(exceptionType.cast(getCause())));
+            return recover(fn, exceptionType.cast(cause));
         }
 
         return this;
     }
 
     @Override
-    public Try<T> recoverWith(Function<? super Throwable, ? extends Try<T>> fn) {
-        try {
-            return fn.apply(getCause());
-        } catch (Throwable t) {
-            return new Failure<>(t);
+    public Try<T> recoverChecked(CheckedFunction<? super Throwable, ? extends T> fn) {
+        return recoverChecked(fn, cause);
+    }
+
+    @Override
+    public <X extends Throwable> Try<T> recoverChecked(
+            Class<X> exceptionType, CheckedFunction<? super X, ? extends T> fn) {
+        if (exceptionType.isInstance(getCause())) {
+            return recoverChecked(fn, exceptionType.cast(cause));
         }
+
+        return this;
+    }
+
+    @Override
+    public Try<T> recoverWith(Function<? super Throwable, ? extends Try<T>> fn) {
+        return recoverWith(fn, cause);
     }
 
     @Override
     public <X extends Throwable> Try<T> recoverWith(Class<X> exceptionType, Function<? super X, ? extends Try<T>> fn) {
         if (exceptionType.isInstance(getCause())) {
-            return Try.of(() -> fn.apply(exceptionType.cast(getCause()))).flatMap(identity());
+            return recoverWith(fn, exceptionType.cast(cause));
         }
 
         return this;
     }
 
+    private <X extends Throwable> Try<T> recover(Function<? super X, ? extends T> fn, X exception) {
+        Try<T> result;
+        try {
+            result = Success.valueOf(fn.apply(exception));
+        } catch (Throwable t) {
+            result = new Failure<>(t);
+        }
+        TryEvents.recovered(TryListener.Operation.RECOVER, exception, result);
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.RECOVER, result);
+    }
+
+    private <X extends Throwable> Try<T> recoverChecked(CheckedFunction<? super X, ? extends T> fn, X exception) {
+        Try<T> result;
+        try {
+            result = Success.valueOf(fn.checkedApply(exception));
+        } catch (Throwable t) {
+            result = new Failure<>(t);
+        }
+        TryEvents.recovered(TryListener.Operation.RECOVER, exception, result);
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.RECOVER, result);
+    }
+
+    private <X extends Throwable> Try<T> recoverWith(Function<? super X, ? extends Try<T>> fn, X exception) {
+        Try<T> result;
+        try {
+            result = fn.apply(exception);
+        } catch (Throwable t) {
+            result = new Failure<>(t);
+        }
+        TryEvents.recovered(TryListener.Operation.RECOVER_WITH, exception, result);
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.RECOVER_WITH, result);
+    }
+
+    /**
+     * Writes the compact form of this failure if the {@code serializedFrames} system
+     * property is set, see {@link FailureProxy}.
+     */
+    @Serial
+    private Object writeReplace() {
+        int frames = FailureProxy.frames;
+        return frames < 0 ? this : new FailureProxy(cause, frames);
+    }
+
     /**
      * @return {@code true} if {@code throwable} is fatal and should never be caught,
      * {@code false} otherwise
      */
-    private static boolean isFatal(Throwable throwable) {
+    public static boolean isFatal(Throwable throwable) {
         return throwable instanceof InterruptedException
                 || throwable instanceof LinkageError
                 || throwable instanceof VirtualMachineError;
@@ -155,7 +268,7 @@ public record Failure<T>(Throwable cause) implements Try<T>, Serializable {
      * Throws a checked exception as if it were unchecked by tricking the compiler
      */
     @SuppressWarnings("unchecked")
-    private static <T extends Throwable> void sneakyThrow(Throwable t) throws T {
+    static <T extends Throwable> void sneakyThrow(Throwable t) throws T {
         throw (T) t;
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The failed result of some operation returning a {@code double}.
+ *
+ * @implNote this record can never contain a <b>fatal</b> exception;
+ * see {@link Failure#isFatal(Throwable)} for more information.
+ *
+ * @param cause the exception that was caught while executing the operation (never {@code null})
+ * @see Failure
+ */
+public record FailureDouble(Throwable cause) implements TryDouble, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public FailureDouble {
+        Objects.requireNonNull(cause, "cause is null");
+        if (Failure.isFatal(cause)) {
+            Failure.sneakyThrow(cause);
+        }
+    }
+
+    @Override
+    public TryDouble map(DoubleUnaryOperator mapper) {
+        return this;
+    }
+
+    @Override
+    public TryInt mapToInt(DoubleToIntFunction mapper) {
+        return new FailureInt(cause);
+    }
+
+    @Override
+    public TryLong mapToLong(DoubleToLongFunction mapper) {
+        return new FailureLong(cause);
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(DoubleFunction<? extends U> mapper) {
+        return new Failure<>(cause);
+    }
+
+    @Override
+    public TryDouble flatMap(DoubleFunction<? extends TryDouble> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return this;
+    }
+
+    @Override
+    public TryInt flatMapToInt(DoubleFunction<? extends TryInt> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return new FailureInt(cause);
+    }
+
+    @Override
+    public TryLong flatMapToLong(DoubleFunction<? extends TryLong> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return new FailureLong(cause);
+    }
+
+    @Override
+    public <U> U fold(Function<? super Throwable, ? extends U> onFailure, DoubleFunction<? extends U> onSuccess) {
+        return onFailure.apply(cause);
+    }
+
+    @Override
+    public TryDouble peek(Consumer<? super Throwable> onFailure, DoubleConsumer onSuccess) {
+        onFailure.accept(cause);
+        return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+        return true;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public OptionalDouble getSuccess() {
+        return OptionalDouble.empty();
+    }
+
+    @Override
+    public Optional<Throwable> getFailure() {
+        return Optional.of(cause);
+    }
+
+    @Override
+    public double getAsDouble() {
+        throw TryExceptions.failureGet(cause);
+    }
+
+    @Override
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public TryDouble filter(DoublePredicate p) {
+        return this;
+    }
+
+    @Override
+    public TryDouble recover(ToDoubleFunction<? super Throwable> fn) {
+        try {
+            return new SuccessDouble(fn.applyAsDouble(cause));
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public <X extends Throwable> TryDouble recover(Class<X> exceptionType, ToDoubleFunction<? super X> fn) {
+        if (exceptionType.isInstance(cause)) {
+            try {
+                return new SuccessDouble(fn.applyAsDouble(exceptionType.cast(cause)));
+            } catch (Throwable t) {
+                return new FailureDouble(t);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public TryDouble recoverWith(Function<? super Throwable, ? extends TryDouble> fn) {
+        try {
+            return fn.apply(cause);
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public <X extends Throwable> TryDouble recoverWith(
+            Class<X> exceptionType, Function<? super X, ? extends TryDouble> fn) {
+        if (exceptionType.isInstance(cause)) {
+            try {
+                return fn.apply(exceptionType.cast(cause));
+            } catch (Throwable t) {
+                return new FailureDouble(t);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Try<Double> boxed() {
+        return new Failure<>(cause);
+    }
+}
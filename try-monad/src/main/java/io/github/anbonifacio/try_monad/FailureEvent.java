@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a {@link Failure} produced, or recovered, by one of the operations observed by
+ * {@link TryListener}. Disabled by default.
+ */
+@Name("io.github.anbonifacio.try_monad.Failure")
+@Label("Try Failure")
+@Category("Try Monad")
+@Description(
+        "A Failure produced by Try.of/ofCallable/ofRunnable/recover/recoverWith, or recovered by recover/recoverWith")
+@Enabled(false)
+final class FailureEvent extends Event {
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Operation Name")
+    @Description("The name given with TryMetrics.named, if any")
+    String operationName;
+
+    @Label("Recovered")
+    @Description("Whether the failure was turned into a Success by the operation")
+    boolean recovered;
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * The failed result of some operation returning an {@code int}.
+ *
+ * @implNote this record can never contain a <b>fatal</b> exception;
+ * see {@link Failure#isFatal(Throwable)} for more information.
+ *
+ * @param cause the exception that was caught while executing the operation (never {@code null})
+ * @see Failure
+ */
+public record FailureInt(Throwable cause) implements TryInt, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public FailureInt {
+        Objects.requireNonNull(cause, "cause is null");
+        if (Failure.isFatal(cause)) {
+            Failure.sneakyThrow(cause);
+        }
+    }
+
+    @Override
+    public TryInt map(IntUnaryOperator mapper) {
+        return this;
+    }
+
+    @Override
+    public TryLong mapToLong(IntToLongFunction mapper) {
+        return new FailureLong(cause);
+    }
+
+    @Override
+    public TryDouble mapToDouble(IntToDoubleFunction mapper) {
+        return new FailureDouble(cause);
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(IntFunction<? extends U> mapper) {
+        return new Failure<>(cause);
+    }
+
+    @Override
+    public TryInt flatMap(IntFunction<? extends TryInt> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return this;
+    }
+
+    @Override
+    public TryLong flatMapToLong(IntFunction<? extends TryLong> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return new FailureLong(cause);
+    }
+
+    @Override
+    public TryDouble flatMapToDouble(IntFunction<? extends TryDouble> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return new FailureDouble(cause);
+    }
+
+    @Override
+    public <U> U fold(Function<? super Throwable, ? extends U> onFailure, IntFunction<? extends U> onSuccess) {
+        return onFailure.apply(cause);
+    }
+
+    @Override
+    public TryInt peek(Consumer<? super Throwable> onFailure, IntConsumer onSuccess) {
+        onFailure.accept(cause);
+        return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+        return true;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public OptionalInt getSuccess() {
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<Throwable> getFailure() {
+        return Optional.of(cause);
+    }
+
+    @Override
+    public int getAsInt() {
+        throw TryExceptions.failureGet(cause);
+    }
+
+    @Override
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public TryInt filter(IntPredicate p) {
+        return this;
+    }
+
+    @Override
+    public TryInt recover(ToIntFunction<? super Throwable> fn) {
+        try {
+            return SuccessInt.valueOf(fn.applyAsInt(cause));
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public <X extends Throwable> TryInt recover(Class<X> exceptionType, ToIntFunction<? super X> fn) {
+        if (exceptionType.isInstance(cause)) {
+            try {
+                return SuccessInt.valueOf(fn.applyAsInt(exceptionType.cast(cause)));
+            } catch (Throwable t) {
+                return new FailureInt(t);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public TryInt recoverWith(Function<? super Throwable, ? extends TryInt> fn) {
+        try {
+            return fn.apply(cause);
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public <X extends Throwable> TryInt recoverWith(Class<X> exceptionType, Function<? super X, ? extends TryInt> fn) {
+        if (exceptionType.isInstance(cause)) {
+            try {
+                return fn.apply(exceptionType.cast(cause));
+            } catch (Throwable t) {
+                return new FailureInt(t);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Try<Integer> boxed() {
+        return new Failure<>(cause);
+    }
+}
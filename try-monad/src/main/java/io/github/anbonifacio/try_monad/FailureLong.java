@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * The failed result of some operation returning a {@code long}.
+ *
+ * @implNote this record can never contain a <b>fatal</b> exception;
+ * see {@link Failure#isFatal(Throwable)} for more information.
+ *
+ * @param cause the exception that was caught while executing the operation (never {@code null})
+ * @see Failure
+ */
+public record FailureLong(Throwable cause) implements TryLong, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public FailureLong {
+        Objects.requireNonNull(cause, "cause is null");
+        if (Failure.isFatal(cause)) {
+            Failure.sneakyThrow(cause);
+        }
+    }
+
+    @Override
+    public TryLong map(LongUnaryOperator mapper) {
+        return this;
+    }
+
+    @Override
+    public TryInt mapToInt(LongToIntFunction mapper) {
+        return new FailureInt(cause);
+    }
+
+    @Override
+    public TryDouble mapToDouble(LongToDoubleFunction mapper) {
+        return new FailureDouble(cause);
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(LongFunction<? extends U> mapper) {
+        return new Failure<>(cause);
+    }
+
+    @Override
+    public TryLong flatMap(LongFunction<? extends TryLong> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return this;
+    }
+
+    @Override
+    public TryInt flatMapToInt(LongFunction<? extends TryInt> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return new FailureInt(cause);
+    }
+
+    @Override
+    public TryDouble flatMapToDouble(LongFunction<? extends TryDouble> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return new FailureDouble(cause);
+    }
+
+    @Override
+    public <U> U fold(Function<? super Throwable, ? extends U> onFailure, LongFunction<? extends U> onSuccess) {
+        return onFailure.apply(cause);
+    }
+
+    @Override
+    public TryLong peek(Consumer<? super Throwable> onFailure, LongConsumer onSuccess) {
+        onFailure.accept(cause);
+        return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+        return true;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public OptionalLong getSuccess() {
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public Optional<Throwable> getFailure() {
+        return Optional.of(cause);
+    }
+
+    @Override
+    public long getAsLong() {
+        throw TryExceptions.failureGet(cause);
+    }
+
+    @Override
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public TryLong filter(LongPredicate p) {
+        return this;
+    }
+
+    @Override
+    public TryLong recover(ToLongFunction<? super Throwable> fn) {
+        try {
+            return SuccessLong.valueOf(fn.applyAsLong(cause));
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public <X extends Throwable> TryLong recover(Class<X> exceptionType, ToLongFunction<? super X> fn) {
+        if (exceptionType.isInstance(cause)) {
+            try {
+                return SuccessLong.valueOf(fn.applyAsLong(exceptionType.cast(cause)));
+            } catch (Throwable t) {
+                return new FailureLong(t);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public TryLong recoverWith(Function<? super Throwable, ? extends TryLong> fn) {
+        try {
+            return fn.apply(cause);
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public <X extends Throwable> TryLong recoverWith(
+            Class<X> exceptionType, Function<? super X, ? extends TryLong> fn) {
+        if (exceptionType.isInstance(cause)) {
+            try {
+                return fn.apply(exceptionType.cast(cause));
+            } catch (Throwable t) {
+                return new FailureLong(t);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Try<Long> boxed() {
+        return new Failure<>(cause);
+    }
+}
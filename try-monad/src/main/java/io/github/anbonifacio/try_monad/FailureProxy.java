@@ -0,0 +1,198 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.DeserializedException;
+
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The compact serialized form of a {@link Failure}, written in place of it when
+ * {@value #FRAMES_PROPERTY} is set.
+ * <p>For the cause and each exception of its cause chain, only the class name, the message and the
+ * top stack frames are written; suppressed exceptions are dropped. Strings are written as objects,
+ * so that the class and file names repeated across frames are written once.
+ * <p>When read back, each exception is rebuilt through the public {@code (String, Throwable)} or
+ * {@code (String)} constructor of its class, or replaced by a {@link DeserializedException}. As the
+ * stream picks the constructor to run, only the classes of the {@code java.*} packages and the
+ * classes the {@link ObjectInputFilter} of the stream explicitly allows are rebuilt; the other
+ * classes, those the filter rejects, those that cannot be rebuilt and the exceptions that would be
+ * fatal (see {@link Failure#isFatal(Throwable)}) are replaced.
+ */
+final class FailureProxy implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of stack frames written per exception; unset or negative to serialize every
+     * {@link Failure} with its whole exception graph (the default).
+     */
+    static final String FRAMES_PROPERTY = "io.github.anbonifacio.try_monad.serializedFrames";
+
+    private static final int MAX_CAUSES = 64;
+    private static final int MAX_FRAMES = 0xFFFF;
+
+    static volatile int frames = Integer.getInteger(FRAMES_PROPERTY, -1);
+
+    private transient Throwable cause;
+    private transient int maxFrames;
+
+    FailureProxy(Throwable cause, int maxFrames) {
+        this.cause = cause;
+        this.maxFrames = maxFrames;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        var chain = chain(cause);
+        out.writeByte(chain.size());
+        for (var t : chain) {
+            out.writeObject(t.getClass().getName());
+            out.writeObject(t.getMessage());
+            var stackTrace = t.getStackTrace();
+            // the count is written as an unsigned short
+            int count = Math.min(Math.min(maxFrames, stackTrace.length), MAX_FRAMES);
+            out.writeShort(count);
+            for (int i = 0; i < count; i++) {
+                var frame = stackTrace[i];
+                out.writeObject(frame.getClassName());
+                out.writeObject(frame.getMethodName());
+                out.writeObject(frame.getFileName());
+                out.writeInt(frame.getLineNumber());
+            }
+        }
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = in.readUnsignedByte();
+        var classNames = new String[size];
+        var messages = new String[size];
+        var stackTraces = new StackTraceElement[size][];
+        for (int i = 0; i < size; i++) {
+            classNames[i] = (String) in.readObject();
+            messages[i] = (String) in.readObject();
+            stackTraces[i] = new StackTraceElement[in.readUnsignedShort()];
+            for (int j = 0; j < stackTraces[i].length; j++) {
+                stackTraces[i][j] = new StackTraceElement(
+                        (String) in.readObject(), (String) in.readObject(), (String) in.readObject(), in.readInt());
+            }
+        }
+        var filter = in.getObjectInputFilter();
+        Throwable rebuilt = null;
+        for (int i = size - 1; i >= 0; i--) {
+            rebuilt = rebuild(filter, classNames[i], messages[i], rebuilt);
+            rebuilt.setStackTrace(stackTraces[i]);
+        }
+        cause = rebuilt;
+    }
+
+    @Serial
+    private Object readResolve() {
+        return new Failure<>(Objects.requireNonNull(cause, "no exception was read"));
+    }
+
+    private static List<Throwable> chain(Throwable cause) {
+        var chain = new ArrayList<Throwable>();
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (var t = cause; t != null && chain.size() < MAX_CAUSES && seen.add(t); t = t.getCause()) {
+            chain.add(t);
+        }
+        return chain;
+    }
+
+    private static Throwable rebuild(ObjectInputFilter filter, String className, String message, Throwable cause) {
+        try {
+            var type = Class.forName(className, false, classLoader());
+            if (Throwable.class.isAssignableFrom(type) && isAllowed(filter, type)) {
+                var rebuilt = instantiate(type.asSubclass(Throwable.class), message, cause);
+                if (rebuilt != null
+                        && !Failure.isFatal(rebuilt)
+                        && Objects.equals(rebuilt.getMessage(), message)
+                        && rebuilt.getCause() == cause) {
+                    return rebuilt;
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // the class is not available here, or it cannot be rebuilt from its message
+        }
+        return new DeserializedException(className, message, cause);
+    }
+
+    private static Throwable instantiate(Class<? extends Throwable> type, String message, Throwable cause)
+            throws ReflectiveOperationException {
+        if (cause != null) {
+            try {
+                return type.getConstructor(String.class, Throwable.class).newInstance(message, cause);
+            } catch (NoSuchMethodException e) {
+                // falls back to the message-only constructor
+            }
+        }
+        var rebuilt = type.getConstructor(String.class).newInstance(message);
+        if (cause != null && rebuilt.getCause() == null) {
+            rebuilt.initCause(cause);
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Submits {@code type} to the filter of the stream, as if an instance of it was read the usual way:
+     * the class name is read as a plain string, so the filter would not see it otherwise. Without a
+     * decision of the filter, only the classes of the {@code java.*} packages are allowed.
+     */
+    private static boolean isAllowed(ObjectInputFilter filter, Class<?> type) {
+        var status = filter == null ? ObjectInputFilter.Status.UNDECIDED : filter.checkInput(new ClassInfo(type));
+        return status == ObjectInputFilter.Status.ALLOWED
+                || (status == ObjectInputFilter.Status.UNDECIDED
+                        && type.getName().startsWith("java."));
+    }
+
+    private static ClassLoader classLoader() {
+        var loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : FailureProxy.class.getClassLoader();
+    }
+
+    private record ClassInfo(Class<?> serialClass) implements ObjectInputFilter.FilterInfo {
+        @Override
+        public long arrayLength() {
+            return -1;
+        }
+
+        @Override
+        public long depth() {
+            return 1;
+        }
+
+        @Override
+        public long references() {
+            return 0;
+        }
+
+        @Override
+        public long streamBytes() {
+            return 0;
+        }
+    }
+}
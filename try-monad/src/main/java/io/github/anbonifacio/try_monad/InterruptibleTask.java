@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+import io.github.anbonifacio.try_monad.resilience.HashedWheelTimer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a supplier on an executor and interrupts the worker thread if the task is cancelled, or if
+ * the supplier does not finish before an optional deadline, in which case the task completes with a
+ * {@link Failure} of {@link TimeoutException}.
+ * <p>Deadlines are scheduled on the {@link HashedWheelTimer#shared() shared timer}, so a pending
+ * timeout costs one small object instead of a thread. The interrupt is delivered only while the
+ * supplier is running, and is cleared before the worker thread is given back to the executor; the
+ * {@link InterruptedException} it may cause is discarded instead of being rethrown as fatal.
+ */
+final class InterruptibleTask<T> implements Runnable {
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+    private static final int TIMED_OUT = 3;
+    private static final int INTERRUPTING = 4;
+
+    private final CheckedSupplier<? extends T> supplier;
+    private final Duration timeout;
+    private final CompletableFuture<Try<T>> result = new Result();
+    private final AtomicInteger state = new AtomicInteger(NEW);
+    private volatile HashedWheelTimer.Timeout deadline;
+    private volatile Thread worker;
+
+    private InterruptibleTask(CheckedSupplier<? extends T> supplier, Duration timeout) {
+        this.supplier = supplier;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Starts {@code supplier} on {@code executor}, without deadline.
+     *
+     * @return a future completed with the outcome of {@code supplier}; cancelling it interrupts the
+     * supplier. It is completed exceptionally only if {@code supplier} throws a fatal exception.
+     */
+    static <T> CompletableFuture<Try<T>> start(CheckedSupplier<? extends T> supplier, Executor executor) {
+        return start(supplier, null, executor);
+    }
+
+    /**
+     * Starts {@code supplier} on {@code executor}, with a deadline if {@code timeout} is not
+     * {@code null}.
+     *
+     * @return a future completed with the outcome of {@code supplier} or with the timeout
+     * {@link Failure}; cancelling it interrupts the supplier. It is completed exceptionally only if
+     * {@code supplier} throws a fatal exception.
+     */
+    static <T> CompletableFuture<Try<T>> start(
+            CheckedSupplier<? extends T> supplier, Duration timeout, Executor executor) {
+        var task = new InterruptibleTask<T>(supplier, timeout);
+        if (timeout != null) {
+            task.deadline = HashedWheelTimer.shared().schedule(task::expire, timeout);
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancelDeadline();
+            task.result.complete(new Failure<>(e));
+        }
+        return task.result;
+    }
+
+    /**
+     * Blocks until {@code future} is completed. A fatal exception completing {@code future}, and an
+     * interrupt of the calling thread, are rethrown as-is; in the latter case {@code future} is
+     * cancelled.
+     */
+    static <T> Try<T> await(CompletableFuture<Try<T>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Failure.sneakyThrow(e);
+        } catch (ExecutionException e) {
+            Failure.sneakyThrow(TryExecutors.unwrap(e));
+        }
+        throw new AssertionError("unreachable");
+    }
+
+    @Override
+    public void run() {
+        worker = Thread.currentThread();
+        if (!state.compareAndSet(NEW, RUNNING)) {
+            return;
+        }
+        Try<T> outcome = null;
+        Throwable fatal = null;
+        try {
+            outcome = Success.valueOf(supplier.checkedGet());
+        } catch (Throwable t) {
+            if (Failure.isFatal(t)) {
+                fatal = t;
+            } else {
+                outcome = new Failure<>(t);
+            }
+        }
+        if (state.compareAndSet(RUNNING, DONE)) {
+            cancelDeadline();
+            if (fatal != null) {
+                result.completeExceptionally(fatal);
+                Failure.sneakyThrow(fatal);
+            } else {
+                result.complete(outcome);
+            }
+        } else {
+            // wait for the interrupt to be delivered, then clear it so that the thread can be reused
+            while (state.get() == INTERRUPTING) {
+                Thread.onSpinWait();
+            }
+            Thread.interrupted();
+            if (fatal != null && !(fatal instanceof InterruptedException)) {
+                Failure.sneakyThrow(fatal);
+            }
+        }
+    }
+
+    private void expire() {
+        if (stop()) {
+            result.complete(new Failure<>(new TimeoutException("Supplier did not complete within " + timeout)));
+        }
+    }
+
+    private void cancelDeadline() {
+        var timeout = deadline;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Prevents the supplier from starting, or interrupts it if it is running.
+     *
+     * @return {@code false} if the supplier has already completed
+     */
+    private boolean stop() {
+        if (state.compareAndSet(RUNNING, INTERRUPTING)) {
+            worker.interrupt();
+            state.set(TIMED_OUT);
+            return true;
+        }
+        return state.compareAndSet(NEW, TIMED_OUT);
+    }
+
+    /**
+     * Stops the supplier when cancelled, e.g. because the waiting thread was interrupted.
+     */
+    private final class Result extends CompletableFuture<Try<T>> {
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                cancelDeadline();
+                stop();
+            }
+            return cancelled;
+        }
+    }
+}
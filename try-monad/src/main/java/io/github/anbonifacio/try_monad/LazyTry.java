@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Try} that has not been computed yet.
+ * <p>{@code map}, {@code flatMap} and {@code filter} only record a stage; the supplier and every
+ * stage run when a terminal operation ({@link #run()}, {@link #get()}, {@link #fold(Function, Function)})
+ * is called, inside a single {@code try-catch} and without intermediate {@link Success} instances.
+ * Each terminal operation runs the whole chain again, so a {@link LazyTry} behaves like a
+ * {@link CheckedSupplier} of {@link Try}.
+ *
+ * @param <T> type of the result
+ * @see Try#lazy(CheckedSupplier)
+ */
+public final class LazyTry<T> {
+    private final CheckedSupplier<?> supplier;
+    private final TryPipeline<Object, T> pipeline;
+
+    private LazyTry(CheckedSupplier<?> supplier, TryPipeline<Object, T> pipeline) {
+        this.supplier = supplier;
+        this.pipeline = pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> LazyTry<T> of(CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        return new LazyTry<>(supplier, (TryPipeline<Object, T>) TryPipeline.<T>identity());
+    }
+
+    /**
+     * @see Try#map(Function)
+     */
+    public <U> LazyTry<U> map(Function<? super T, ? extends U> mapper) {
+        return new LazyTry<>(supplier, pipeline.map(mapper));
+    }
+
+    /**
+     * @see Try#flatMap(Function)
+     */
+    public <U> LazyTry<U> flatMap(Function<? super T, ? extends Try<? extends U>> mapper) {
+        return new LazyTry<>(supplier, pipeline.flatMap(mapper));
+    }
+
+    /**
+     * @see Try#filter(Predicate)
+     */
+    public LazyTry<T> filter(Predicate<? super T> p) {
+        return new LazyTry<>(supplier, pipeline.filter(p));
+    }
+
+    /**
+     * Runs the supplier and then every recorded stage.
+     *
+     * @return the same {@link Try} that the equivalent chain of eager calls would return
+     */
+    public Try<T> run() {
+        try {
+            return pipeline.run(supplier.checkedGet());
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    /**
+     * Equivalent to {@code run().get()}.
+     *
+     * @throws NoSuchElementException if the result is a {@link Failure}
+     */
+    public T get() throws NoSuchElementException {
+        return run().get();
+    }
+
+    /**
+     * Equivalent to {@code run().fold(onFailure, onSuccess)}.
+     */
+    public <U> U fold(Function<? super Throwable, ? extends U> onFailure, Function<? super T, ? extends U> onSuccess) {
+        return run().fold(onFailure, onSuccess);
+    }
+}
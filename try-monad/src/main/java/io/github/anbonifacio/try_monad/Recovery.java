@@ -0,0 +1,249 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A set of {@code (exceptionType, handler)} cases recovering a {@link Failure} in a single step,
+ * replacing a chain of {@link Try#recover(Class, Function)} and
+ * {@link Try#recoverWith(Class, Function)} calls.
+ * <p>Cases are tried in declaration order, like {@code catch} clauses, and the first matching case
+ * wins. A case may match the exception itself, its root cause or any exception in its cause chain.
+ * For every concrete exception class, the first matching case of each kind is computed once and
+ * cached in a {@link ClassValue}, so recovering a {@link Failure} costs one lookup per exception in
+ * the cause chain instead of an {@code isInstance} check per case.
+ * <p>A recovery is immutable and can be shared by any number of threads.
+ *
+ * @param <T> the type of the recovered result
+ * @see Try#recover(Recovery)
+ */
+public final class Recovery<T> {
+    private static final int NONE = Integer.MAX_VALUE;
+    private static final int MAX_CAUSE_DEPTH = 1024;
+
+    private final List<Case<T>> cases;
+    private final Function<? super Throwable, ? extends Try<T>> otherwise;
+    private final boolean matchesCauses;
+    private final ClassValue<Dispatch> dispatch = new ClassValue<>() {
+        @Override
+        protected Dispatch computeValue(Class<?> type) {
+            return new Dispatch(first(Match.EXCEPTION, type), first(Match.CAUSE, type), first(Match.ROOT_CAUSE, type));
+        }
+    };
+
+    private Recovery(Builder<T> builder) {
+        this.cases = List.copyOf(builder.cases);
+        this.otherwise = builder.otherwise;
+        this.matchesCauses = cases.stream().anyMatch(c -> c.match != Match.EXCEPTION);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return itself if {@code result} is a {@link Success};
+     * <p>if {@code result} is a {@link Failure}, either:<ul>
+     *     <li>the result of the first matching case, or of the default handler if no case matches.
+     *     <li>{@code result} itself, if a {@link Builder#rethrow(Class[]) rethrow rule} matches first
+     *     or if no case matches and there is no default handler.
+     *     <li>a {@link Failure} containing the caught exception, if the handler throws any.
+     * </ul>
+     */
+    public Try<T> recover(Try<T> result) {
+        Objects.requireNonNull(result, "result is null");
+        if (result.isSuccess()) {
+            return result;
+        }
+        Throwable cause = result.getCause();
+        Throwable matched = cause;
+        int index = dispatch.get(cause.getClass()).exception;
+        if (matchesCauses) {
+            Throwable current = cause;
+            for (int depth = 0; ; depth++) {
+                int candidate = dispatch.get(current.getClass()).cause;
+                if (candidate < index) {
+                    index = candidate;
+                    matched = current;
+                }
+                Throwable next = current.getCause();
+                if (next == null || next == current || depth == MAX_CAUSE_DEPTH) {
+                    break;
+                }
+                current = next;
+            }
+            int candidate = dispatch.get(current.getClass()).rootCause;
+            if (candidate < index) {
+                index = candidate;
+                matched = current;
+            }
+        }
+        Function<? super Throwable, ? extends Try<T>> handler;
+        if (index != NONE) {
+            handler = cases.get(index).handler;
+        } else {
+            handler = otherwise;
+        }
+        if (handler == null) {
+            return result;
+        }
+        Try<T> recovered;
+        try {
+            recovered = Objects.requireNonNull(handler.apply(matched), "handler returned null");
+        } catch (Throwable t) {
+            recovered = new Failure<>(t);
+        }
+        TryEvents.recovered(TryListener.Operation.RECOVER_WITH, cause, recovered);
+        return TryMetrics.listener == null
+                ? recovered
+                : TryMetrics.record(TryListener.Operation.RECOVER_WITH, recovered);
+    }
+
+    private int first(Match match, Class<?> type) {
+        for (int i = 0; i < cases.size(); i++) {
+            var c = cases.get(i);
+            if (c.match == match && c.type.isAssignableFrom(type)) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Indexes of the first case matching a class, as the exception itself, as any exception in the
+     * cause chain and as the root cause.
+     */
+    private record Dispatch(int exception, int cause, int rootCause) {}
+
+    private enum Match {
+        EXCEPTION,
+        CAUSE,
+        ROOT_CAUSE
+    }
+
+    /**
+     * @param handler {@code null} for a rethrow rule
+     */
+    private record Case<T>(
+            Class<? extends Throwable> type, Match match, Function<? super Throwable, ? extends Try<T>> handler) {}
+
+    public static final class Builder<T> {
+        private final List<Case<T>> cases = new ArrayList<>();
+        private Function<? super Throwable, ? extends Try<T>> otherwise;
+
+        private Builder() {}
+
+        /**
+         * Recovers an exception of type {@code X} with the value returned by {@code fn}.
+         */
+        public <X extends Throwable> Builder<T> on(Class<X> exceptionType, Function<? super X, ? extends T> fn) {
+            return add(exceptionType, Match.EXCEPTION, value(exceptionType, fn));
+        }
+
+        /**
+         * Recovers an exception of type {@code X} with the {@link Try} returned by {@code fn}.
+         */
+        public <X extends Throwable> Builder<T> onWith(
+                Class<X> exceptionType, Function<? super X, ? extends Try<T>> fn) {
+            return add(exceptionType, Match.EXCEPTION, with(exceptionType, fn));
+        }
+
+        /**
+         * Recovers an exception whose root cause (the last exception of its cause chain, possibly
+         * itself) is of type {@code X}; {@code fn} is applied to the root cause.
+         */
+        public <X extends Throwable> Builder<T> onRootCause(
+                Class<X> exceptionType, Function<? super X, ? extends T> fn) {
+            return add(exceptionType, Match.ROOT_CAUSE, value(exceptionType, fn));
+        }
+
+        /**
+         * Recovers an exception having an exception of type {@code X} anywhere in its cause chain,
+         * itself included; {@code fn} is applied to the first such exception.
+         */
+        public <X extends Throwable> Builder<T> onCause(Class<X> exceptionType, Function<? super X, ? extends T> fn) {
+            return add(exceptionType, Match.CAUSE, value(exceptionType, fn));
+        }
+
+        /**
+         * Variant of {@link #onCause(Class, Function)} where {@code fn} returns a {@link Try}.
+         */
+        public <X extends Throwable> Builder<T> onCauseWith(
+                Class<X> exceptionType, Function<? super X, ? extends Try<T>> fn) {
+            return add(exceptionType, Match.CAUSE, with(exceptionType, fn));
+        }
+
+        /**
+         * Leaves the {@link Failure} as it is if its cause is of one of the given types, even if a
+         * later case or the default handler would match.
+         */
+        @SafeVarargs
+        public final Builder<T> rethrow(Class<? extends Throwable>... exceptionTypes) {
+            for (var type : exceptionTypes) {
+                add(type, Match.EXCEPTION, null);
+            }
+            return this;
+        }
+
+        /**
+         * Replaces the cause of type {@code X} with the exception returned by {@code fn}, which
+         * becomes the cause of the resulting {@link Failure}.
+         */
+        public <X extends Throwable> Builder<T> rethrowAs(
+                Class<X> exceptionType, Function<? super X, ? extends Throwable> fn) {
+            Objects.requireNonNull(fn, "fn is null");
+            return add(exceptionType, Match.EXCEPTION, t -> new Failure<>(fn.apply(exceptionType.cast(t))));
+        }
+
+        /**
+         * Recovers the exceptions not matched by any case with the value returned by {@code fn}.
+         */
+        public Builder<T> otherwise(Function<? super Throwable, ? extends T> fn) {
+            this.otherwise = value(Throwable.class, fn);
+            return this;
+        }
+
+        /**
+         * Recovers the exceptions not matched by any case with the {@link Try} returned by {@code fn}.
+         */
+        public Builder<T> otherwiseWith(Function<? super Throwable, ? extends Try<T>> fn) {
+            this.otherwise = Objects.requireNonNull(fn, "fn is null");
+            return this;
+        }
+
+        public Recovery<T> build() {
+            return new Recovery<>(this);
+        }
+
+        private Builder<T> add(
+                Class<? extends Throwable> type, Match match, Function<? super Throwable, ? extends Try<T>> handler) {
+            cases.add(new Case<>(Objects.requireNonNull(type, "exceptionType is null"), match, handler));
+            return this;
+        }
+
+        private static <T, X extends Throwable> Function<Throwable, Try<T>> value(
+                Class<X> type, Function<? super X, ? extends T> fn) {
+            Objects.requireNonNull(fn, "fn is null");
+            return t -> Success.valueOf(fn.apply(type.cast(t)));
+        }
+
+        private static <T, X extends Throwable> Function<Throwable, Try<T>> with(
+                Class<X> type, Function<? super X, ? extends Try<T>> fn) {
+            Objects.requireNonNull(fn, "fn is null");
+            return t -> fn.apply(type.cast(t));
+        }
+    }
+}
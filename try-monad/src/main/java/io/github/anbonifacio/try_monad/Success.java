@@ -11,15 +11,23 @@
 
 package io.github.anbonifacio.try_monad;
 
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedConsumer;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedFunction;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedPredicate;
+
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static java.util.concurrent.CompletableFuture.completedStage;
 
@@ -34,6 +42,25 @@ public record Success<T>(T value) implements Try<T>, Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    private static final Success<?> NULL = new Success<>(null);
+    private static final Success<Boolean> TRUE = new Success<>(true);
+    private static final Success<Boolean> FALSE = new Success<>(false);
+
+    /**
+     * @return a shared instance for a {@code null} or {@link Boolean} result, a new {@link Success}
+     * otherwise. Sharing is safe because a {@link Success} is immutable and compared by value.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Success<T> valueOf(T value) {
+        if (value == null) {
+            return (Success<T>) NULL;
+        }
+        if (value instanceof Boolean b) {
+            return (Success<T>) (b ? TRUE : FALSE);
+        }
+        return new Success<>(value);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <U> Try<U> flatMap(Function<? super T, ? extends Try<? extends U>> mapper) {
@@ -48,12 +75,60 @@ public record Success<T>(T value) implements Try<T>, Serializable {
     @Override
     public <U> Try<U> map(Function<? super T, ? extends U> mapper) {
         try {
-            return new Success<>(mapper.apply(get()));
+            return valueOf(mapper.apply(get()));
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    public <U> Try<U> mapChecked(CheckedFunction<? super T, ? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return valueOf(mapper.checkedApply(get()));
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> Try<U> flatMapChecked(CheckedFunction<? super T, ? extends Try<? extends U>> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return (Try<U>) mapper.checkedApply(get());
         } catch (Throwable t) {
             return new Failure<>(t);
         }
     }
 
+    @Override
+    public TryInt mapToInt(ToIntFunction<? super T> mapper) {
+        try {
+            return SuccessInt.valueOf(mapper.applyAsInt(get()));
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryLong mapToLong(ToLongFunction<? super T> mapper) {
+        try {
+            return SuccessLong.valueOf(mapper.applyAsLong(get()));
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public TryDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+        try {
+            return new SuccessDouble(mapper.applyAsDouble(get()));
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
     @Override
     public <U> U fold(Function<? super Throwable, ? extends U> onFailure, Function<? super T, ? extends U> onSuccess) {
         return onSuccess.apply(get());
@@ -65,6 +140,17 @@ public record Success<T>(T value) implements Try<T>, Serializable {
         return this;
     }
 
+    @Override
+    public Try<T> peekChecked(CheckedConsumer<? super T> action) {
+        Objects.requireNonNull(action, "action is null");
+        try {
+            action.checkedAccept(get());
+            return this;
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
     @Override
     public boolean isFailure() {
         return false;
@@ -97,7 +183,7 @@ public record Success<T>(T value) implements Try<T>, Serializable {
 
     @Override
     public Throwable getCause() {
-        return new NoSuchElementException("getCause on Success");
+        return TryExceptions.successGetCause();
     }
 
     @Override
@@ -107,7 +193,51 @@ public record Success<T>(T value) implements Try<T>, Serializable {
             if (p.test(get())) {
                 return this;
             } else {
-                return Try.failure(new NoSuchElementException("Predicate does not hold for " + get()));
+                return new Failure<>(TryExceptions.predicateNotSatisfied(get()));
+            }
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    public Try<T> filter(Predicate<? super T> p, Supplier<? extends Throwable> errorSupplier) {
+        Objects.requireNonNull(p, "predicate is null");
+        Objects.requireNonNull(errorSupplier, "errorSupplier is null");
+        try {
+            if (p.test(get())) {
+                return this;
+            } else {
+                return new Failure<>(errorSupplier.get());
+            }
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    public Try<T> filter(Predicate<? super T> p, Function<? super T, ? extends Throwable> errorProvider) {
+        Objects.requireNonNull(p, "predicate is null");
+        Objects.requireNonNull(errorProvider, "errorProvider is null");
+        try {
+            if (p.test(get())) {
+                return this;
+            } else {
+                return new Failure<>(errorProvider.apply(get()));
+            }
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    public Try<T> filterChecked(CheckedPredicate<? super T> p) {
+        Objects.requireNonNull(p, "predicate is null");
+        try {
+            if (p.checkedTest(get())) {
+                return this;
+            } else {
+                return new Failure<>(TryExceptions.predicateNotSatisfied(get()));
             }
         } catch (Throwable t) {
             return new Failure<>(t);
@@ -124,6 +254,17 @@ public record Success<T>(T value) implements Try<T>, Serializable {
         return this;
     }
 
+    @Override
+    public Try<T> recoverChecked(CheckedFunction<? super Throwable, ? extends T> fn) {
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> Try<T> recoverChecked(
+            Class<X> exceptionType, CheckedFunction<? super X, ? extends T> fn) {
+        return this;
+    }
+
     @Override
     public Try<T> recoverWith(Function<? super Throwable, ? extends Try<T>> fn) {
         return this;
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The successful result of some operation returning a {@code double}.
+ *
+ * @param value the result of the operation
+ * @see Success
+ */
+public record SuccessDouble(double value) implements TryDouble, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public TryDouble map(DoubleUnaryOperator mapper) {
+        try {
+            return new SuccessDouble(mapper.applyAsDouble(value));
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public TryInt mapToInt(DoubleToIntFunction mapper) {
+        try {
+            return SuccessInt.valueOf(mapper.applyAsInt(value));
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryLong mapToLong(DoubleToLongFunction mapper) {
+        try {
+            return SuccessLong.valueOf(mapper.applyAsLong(value));
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(DoubleFunction<? extends U> mapper) {
+        try {
+            return new Success<>(mapper.apply(value));
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    public TryDouble flatMap(DoubleFunction<? extends TryDouble> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public TryInt flatMapToInt(DoubleFunction<? extends TryInt> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryLong flatMapToLong(DoubleFunction<? extends TryLong> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public <U> U fold(Function<? super Throwable, ? extends U> onFailure, DoubleFunction<? extends U> onSuccess) {
+        return onSuccess.apply(value);
+    }
+
+    @Override
+    public TryDouble peek(Consumer<? super Throwable> onFailure, DoubleConsumer onSuccess) {
+        onSuccess.accept(value);
+        return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+        return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    @Override
+    public OptionalDouble getSuccess() {
+        return OptionalDouble.of(value);
+    }
+
+    @Override
+    public Optional<Throwable> getFailure() {
+        return Optional.empty();
+    }
+
+    @Override
+    public double getAsDouble() {
+        return value;
+    }
+
+    @Override
+    public Throwable getCause() {
+        return TryExceptions.successGetCause();
+    }
+
+    @Override
+    public TryDouble filter(DoublePredicate p) {
+        Objects.requireNonNull(p, "predicate is null");
+        try {
+            if (p.test(value)) {
+                return this;
+            } else {
+                return new FailureDouble(TryExceptions.predicateNotSatisfied(value));
+            }
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public TryDouble recover(ToDoubleFunction<? super Throwable> fn) {
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> TryDouble recover(Class<X> exceptionType, ToDoubleFunction<? super X> fn) {
+        return this;
+    }
+
+    @Override
+    public TryDouble recoverWith(Function<? super Throwable, ? extends TryDouble> fn) {
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> TryDouble recoverWith(
+            Class<X> exceptionType, Function<? super X, ? extends TryDouble> fn) {
+        return this;
+    }
+
+    @Override
+    public Try<Double> boxed() {
+        return new Success<>(value);
+    }
+}
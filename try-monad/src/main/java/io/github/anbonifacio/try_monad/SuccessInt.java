@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * The successful result of some operation returning an {@code int}.
+ *
+ * @param value the result of the operation
+ * @see Success
+ */
+public record SuccessInt(int value) implements TryInt, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+    private static final SuccessInt[] CACHE = new SuccessInt[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new SuccessInt(i + CACHE_LOW);
+        }
+    }
+
+    /**
+     * @return a shared instance for a value in {@code [-128, 127]}, like {@link Integer#valueOf(int)};
+     * a new {@link SuccessInt} otherwise
+     */
+    static SuccessInt valueOf(int value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? CACHE[value - CACHE_LOW] : new SuccessInt(value);
+    }
+
+    @Override
+    public TryInt map(IntUnaryOperator mapper) {
+        try {
+            return valueOf(mapper.applyAsInt(value));
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryLong mapToLong(IntToLongFunction mapper) {
+        try {
+            return SuccessLong.valueOf(mapper.applyAsLong(value));
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public TryDouble mapToDouble(IntToDoubleFunction mapper) {
+        try {
+            return new SuccessDouble(mapper.applyAsDouble(value));
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(IntFunction<? extends U> mapper) {
+        try {
+            return new Success<>(mapper.apply(value));
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    public TryInt flatMap(IntFunction<? extends TryInt> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryLong flatMapToLong(IntFunction<? extends TryLong> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public TryDouble flatMapToDouble(IntFunction<? extends TryDouble> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public <U> U fold(Function<? super Throwable, ? extends U> onFailure, IntFunction<? extends U> onSuccess) {
+        return onSuccess.apply(value);
+    }
+
+    @Override
+    public TryInt peek(Consumer<? super Throwable> onFailure, IntConsumer onSuccess) {
+        onSuccess.accept(value);
+        return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+        return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    @Override
+    public OptionalInt getSuccess() {
+        return OptionalInt.of(value);
+    }
+
+    @Override
+    public Optional<Throwable> getFailure() {
+        return Optional.empty();
+    }
+
+    @Override
+    public int getAsInt() {
+        return value;
+    }
+
+    @Override
+    public Throwable getCause() {
+        return TryExceptions.successGetCause();
+    }
+
+    @Override
+    public TryInt filter(IntPredicate p) {
+        Objects.requireNonNull(p, "predicate is null");
+        try {
+            if (p.test(value)) {
+                return this;
+            } else {
+                return new FailureInt(TryExceptions.predicateNotSatisfied(value));
+            }
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryInt recover(ToIntFunction<? super Throwable> fn) {
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> TryInt recover(Class<X> exceptionType, ToIntFunction<? super X> fn) {
+        return this;
+    }
+
+    @Override
+    public TryInt recoverWith(Function<? super Throwable, ? extends TryInt> fn) {
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> TryInt recoverWith(Class<X> exceptionType, Function<? super X, ? extends TryInt> fn) {
+        return this;
+    }
+
+    @Override
+    public Try<Integer> boxed() {
+        return new Success<>(value);
+    }
+}
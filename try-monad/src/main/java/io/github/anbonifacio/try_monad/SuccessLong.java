@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * The successful result of some operation returning a {@code long}.
+ *
+ * @param value the result of the operation
+ * @see Success
+ */
+public record SuccessLong(long value) implements TryLong, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+    private static final SuccessLong[] CACHE = new SuccessLong[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new SuccessLong(i + CACHE_LOW);
+        }
+    }
+
+    /**
+     * @return a shared instance for a value in {@code [-128, 127]}, like {@link Long#valueOf(long)};
+     * a new {@link SuccessLong} otherwise
+     */
+    static SuccessLong valueOf(long value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? CACHE[(int) value - CACHE_LOW] : new SuccessLong(value);
+    }
+
+    @Override
+    public TryLong map(LongUnaryOperator mapper) {
+        try {
+            return valueOf(mapper.applyAsLong(value));
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public TryInt mapToInt(LongToIntFunction mapper) {
+        try {
+            return SuccessInt.valueOf(mapper.applyAsInt(value));
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryDouble mapToDouble(LongToDoubleFunction mapper) {
+        try {
+            return new SuccessDouble(mapper.applyAsDouble(value));
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(LongFunction<? extends U> mapper) {
+        try {
+            return new Success<>(mapper.apply(value));
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    @Override
+    public TryLong flatMap(LongFunction<? extends TryLong> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public TryInt flatMapToInt(LongFunction<? extends TryInt> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    @Override
+    public TryDouble flatMapToDouble(LongFunction<? extends TryDouble> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        try {
+            return mapper.apply(value);
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    @Override
+    public <U> U fold(Function<? super Throwable, ? extends U> onFailure, LongFunction<? extends U> onSuccess) {
+        return onSuccess.apply(value);
+    }
+
+    @Override
+    public TryLong peek(Consumer<? super Throwable> onFailure, LongConsumer onSuccess) {
+        onSuccess.accept(value);
+        return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+        return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    @Override
+    public OptionalLong getSuccess() {
+        return OptionalLong.of(value);
+    }
+
+    @Override
+    public Optional<Throwable> getFailure() {
+        return Optional.empty();
+    }
+
+    @Override
+    public long getAsLong() {
+        return value;
+    }
+
+    @Override
+    public Throwable getCause() {
+        return TryExceptions.successGetCause();
+    }
+
+    @Override
+    public TryLong filter(LongPredicate p) {
+        Objects.requireNonNull(p, "predicate is null");
+        try {
+            if (p.test(value)) {
+                return this;
+            } else {
+                return new FailureLong(TryExceptions.predicateNotSatisfied(value));
+            }
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    @Override
+    public TryLong recover(ToLongFunction<? super Throwable> fn) {
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> TryLong recover(Class<X> exceptionType, ToLongFunction<? super X> fn) {
+        return this;
+    }
+
+    @Override
+    public TryLong recoverWith(Function<? super Throwable, ? extends TryLong> fn) {
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> TryLong recoverWith(
+            Class<X> exceptionType, Function<? super X, ? extends TryLong> fn) {
+        return this;
+    }
+
+    @Override
+    public Try<Long> boxed() {
+        return new Success<>(value);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Implementation of {@link Try#sequence(Iterable)} and {@link Try#traverse(Collection, Function)}.
+ */
+final class Traversals {
+    private Traversals() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> Try<List<T>> sequence(Iterable<? extends Try<? extends T>> tries) {
+        Objects.requireNonNull(tries, "tries is null");
+        List<T> values = tries instanceof Collection<?> c ? new ArrayList<>(c.size()) : new ArrayList<>();
+        for (Try<? extends T> t : tries) {
+            if (t.isFailure()) {
+                return (Try<List<T>>) t;
+            }
+            values.add(t.get());
+        }
+        return new Success<>(Collections.unmodifiableList(values));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A, B> Try<List<B>> traverse(
+            Collection<? extends A> values, Function<? super A, ? extends Try<? extends B>> mapper) {
+        Objects.requireNonNull(values, "values is null");
+        Objects.requireNonNull(mapper, "mapper is null");
+        List<B> results = new ArrayList<>(values.size());
+        try {
+            for (A value : values) {
+                Try<? extends B> result = mapper.apply(value);
+                if (result.isFailure()) {
+                    return (Try<List<B>>) result;
+                }
+                results.add(result.get());
+            }
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+        return new Success<>(Collections.unmodifiableList(results));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <A, B> Try<List<B>> traverseParallel(
+            Collection<? extends A> values, Function<? super A, ? extends Try<? extends B>> mapper, ForkJoinPool pool) {
+        Objects.requireNonNull(values, "values is null");
+        Objects.requireNonNull(mapper, "mapper is null");
+        Objects.requireNonNull(pool, "pool is null");
+        Object[] inputs = values.toArray();
+        Object[] outputs = new Object[inputs.length];
+        var failure = new AtomicReference<Try<?>>();
+        int threshold = Math.max(1, inputs.length / (pool.getParallelism() * 4));
+
+        pool.invoke(new TraverseTask(inputs, outputs, (Function) mapper, failure, 0, inputs.length, threshold));
+
+        if (failure.get() != null) {
+            return (Try<List<B>>) failure.get();
+        }
+        return new Success<>((List<B>) Collections.unmodifiableList(Arrays.asList(outputs)));
+    }
+
+    /**
+     * Applies the mapper to {@code inputs[from, to)}, splitting the range in half until it is
+     * smaller than {@code threshold}.
+     * <p>The first failure is published in {@code failure}; every task checks it before starting
+     * and before each element, so the remaining work is abandoned as soon as any element fails.
+     */
+    private static final class TraverseTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] inputs;
+        private final Object[] outputs;
+        private final Function<Object, Try<?>> mapper;
+        private final AtomicReference<Try<?>> failure;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        TraverseTask(
+                Object[] inputs,
+                Object[] outputs,
+                Function<Object, Try<?>> mapper,
+                AtomicReference<Try<?>> failure,
+                int from,
+                int to,
+                int threshold) {
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.mapper = mapper;
+            this.failure = failure;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (failure.get() != null) {
+                return;
+            }
+            if (to - from <= threshold) {
+                computeDirectly();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new TraverseTask(inputs, outputs, mapper, failure, from, mid, threshold),
+                    new TraverseTask(inputs, outputs, mapper, failure, mid, to, threshold));
+        }
+
+        private void computeDirectly() {
+            for (int i = from; i < to && failure.get() == null; i++) {
+                Try<?> result;
+                try {
+                    result = mapper.apply(inputs[i]);
+                    if (result.isSuccess()) {
+                        outputs[i] = result.get();
+                        continue;
+                    }
+                } catch (Throwable t) {
+                    result = new Failure<>(t);
+                }
+                failure.compareAndSet(null, result);
+                return;
+            }
+        }
+    }
+}
@@ -11,18 +11,35 @@
 
 package io.github.anbonifacio.try_monad;
 
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedConsumer;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedFunction;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedPredicate;
 import io.github.anbonifacio.try_monad.interfaces.checked.CheckedRunnable;
 import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+import io.github.anbonifacio.try_monad.resilience.HedgePolicy;
+import io.github.anbonifacio.try_monad.resilience.RetryPolicy;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Functional version of the imperative {@code try-catch-finally} construct
@@ -46,11 +63,15 @@ public sealed interface Try<T> permits Success, Failure {
      */
     static <T> Try<T> of(Supplier<? extends T> supplier) {
         Objects.requireNonNull(supplier, "supplier is null");
+        var event = TryEvents.begin();
+        Try<T> result;
         try {
-            return new Success<>(supplier.get());
+            result = Success.valueOf(supplier.get());
         } catch (Throwable t) {
-            return new Failure<>(t);
+            result = new Failure<>(t);
         }
+        TryEvents.supplied(event, TryListener.Operation.OF, result);
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.OF, result);
     }
 
     /**
@@ -59,11 +80,15 @@ public sealed interface Try<T> permits Success, Failure {
      */
     static <T> Try<T> of(CheckedSupplier<? extends T> supplier) {
         Objects.requireNonNull(supplier, "supplier is null");
+        var event = TryEvents.begin();
+        Try<T> result;
         try {
-            return new Success<>(supplier.checkedGet());
+            result = Success.valueOf(supplier.checkedGet());
         } catch (Throwable t) {
-            return new Failure<>(t);
+            result = new Failure<>(t);
         }
+        TryEvents.supplied(event, TryListener.Operation.OF, result);
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.OF, result);
     }
 
     /**
@@ -77,11 +102,15 @@ public sealed interface Try<T> permits Success, Failure {
      */
     static <T> Try<T> ofCallable(Callable<? extends T> callable) {
         Objects.requireNonNull(callable, "callable is null");
+        var event = TryEvents.begin();
+        Try<T> result;
         try {
-            return new Success<>(callable.call());
+            result = Success.valueOf(callable.call());
         } catch (Throwable t) {
-            return new Failure<>(t);
+            result = new Failure<>(t);
         }
+        TryEvents.supplied(event, TryListener.Operation.OF_CALLABLE, result);
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.OF_CALLABLE, result);
     }
 
     /**
@@ -94,12 +123,15 @@ public sealed interface Try<T> permits Success, Failure {
      */
     static Try<Void> ofRunnable(Runnable runnable) {
         Objects.requireNonNull(runnable, "runnable is null");
+        Try<Void> result;
         try {
             runnable.run();
-            return new Success<>(null);
+            result = Success.valueOf(null);
         } catch (Throwable t) {
-            return new Failure<>(t);
+            result = new Failure<>(t);
+            TryEvents.failure(TryListener.Operation.OF_RUNNABLE, t, false);
         }
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.OF_RUNNABLE, result);
     }
 
     /**
@@ -108,12 +140,253 @@ public sealed interface Try<T> permits Success, Failure {
      */
     static Try<Void> ofRunnable(CheckedRunnable runnable) {
         Objects.requireNonNull(runnable, "runnable is null");
+        Try<Void> result;
         try {
             runnable.checkedRun();
-            return new Success<>(null);
+            result = Success.valueOf(null);
         } catch (Throwable t) {
-            return new Failure<>(t);
+            result = new Failure<>(t);
+            TryEvents.failure(TryListener.Operation.OF_RUNNABLE, t, false);
         }
+        return TryMetrics.listener == null ? result : TryMetrics.record(TryListener.Operation.OF_RUNNABLE, result);
+    }
+
+    /**
+     * Creates a {@link LazyTry} that will run {@code supplier}, followed by any stage added to it,
+     * only when one of its terminal operations is called.
+     *
+     * @throws NullPointerException if {@code supplier} is null
+     */
+    static <T> LazyTry<T> lazy(Supplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        return LazyTry.of(supplier::get);
+    }
+
+    /**
+     * Variant of {@link #lazy(Supplier)} that allows the given {@code supplier} to throw checked
+     * exceptions.
+     */
+    static <T> LazyTry<T> lazy(CheckedSupplier<? extends T> supplier) {
+        return LazyTry.of(supplier);
+    }
+
+    /**
+     * Runs {@code supplier} asynchronously on a virtual thread, when the runtime supports them, or
+     * on a shared pool of daemon threads otherwise.
+     *
+     * @see AsyncTry#of(CheckedSupplier)
+     */
+    static <T> AsyncTry<T> ofAsync(CheckedSupplier<? extends T> supplier) {
+        return AsyncTry.of(supplier);
+    }
+
+    /**
+     * Runs {@code supplier} asynchronously on the given {@code executor}.
+     *
+     * @see AsyncTry#of(CheckedSupplier, Executor)
+     */
+    static <T> AsyncTry<T> ofAsync(CheckedSupplier<? extends T> supplier, Executor executor) {
+        return AsyncTry.of(supplier, executor);
+    }
+
+    /**
+     * Runs {@code supplier} on a virtual thread, when the runtime supports them, or on a shared pool
+     * of daemon threads otherwise, blocking the caller for at most {@code timeout}.
+     * <p>When the deadline passes, the thread running {@code supplier} is interrupted; the
+     * {@link InterruptedException} this may cause is discarded rather than rethrown as fatal.
+     * Deadlines are tracked by a shared timer, so concurrent calls do not need a thread each.
+     *
+     * @return a {@link Failure} containing a {@link java.util.concurrent.TimeoutException} if
+     * {@code supplier} did not complete within {@code timeout}; otherwise the same result as
+     * {@link #of(CheckedSupplier)}
+     * @throws NullPointerException if {@code timeout} or {@code supplier} is null
+     */
+    static <T> Try<T> ofTimeout(Duration timeout, CheckedSupplier<? extends T> supplier) {
+        return ofTimeout(timeout, supplier, TryExecutors.defaultExecutor());
+    }
+
+    /**
+     * Variant of {@link #ofTimeout(Duration, CheckedSupplier)} running {@code supplier} on the
+     * given {@code executor}.
+     */
+    static <T> Try<T> ofTimeout(Duration timeout, CheckedSupplier<? extends T> supplier, Executor executor) {
+        Objects.requireNonNull(timeout, "timeout is null");
+        Objects.requireNonNull(supplier, "supplier is null");
+        Objects.requireNonNull(executor, "executor is null");
+        return InterruptibleTask.await(InterruptibleTask.start(supplier, timeout, executor));
+    }
+
+    /**
+     * Runs every supplier concurrently, on a virtual thread when the runtime supports them, or on a
+     * shared pool of daemon threads otherwise.
+     *
+     * @return a {@link Success} of the results, in the order of {@code suppliers}, if every supplier
+     * succeeds; otherwise the first {@link Failure} to complete, in which case the suppliers still
+     * running are interrupted
+     * @throws NullPointerException if any supplier is null
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // List.of copies the array, which never escapes
+    static <T> Try<List<T>> all(CheckedSupplier<? extends T>... suppliers) {
+        return all(List.of(suppliers), TryExecutors.defaultExecutor());
+    }
+
+    /**
+     * Variant of {@link #all(CheckedSupplier[])} running the suppliers on the given
+     * {@code executor}.
+     */
+    static <T> Try<List<T>> all(Collection<? extends CheckedSupplier<? extends T>> suppliers, Executor executor) {
+        Objects.requireNonNull(suppliers, "suppliers is null");
+        Objects.requireNonNull(executor, "executor is null");
+        return Concurrently.all(suppliers, executor);
+    }
+
+    /**
+     * Runs every supplier concurrently, on a virtual thread when the runtime supports them, or on a
+     * shared pool of daemon threads otherwise.
+     *
+     * @return the first {@link Success} to complete, in which case the suppliers still running are
+     * interrupted; if every supplier fails, a {@link Failure} of
+     * {@link io.github.anbonifacio.try_monad.exceptions.AllFailedException} holding their causes (or,
+     * for a single supplier, its own {@link Failure})
+     * @throws NullPointerException if any supplier is null
+     * @throws IllegalArgumentException if {@code suppliers} is empty
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // List.of copies the array, which never escapes
+    static <T> Try<T> any(CheckedSupplier<? extends T>... suppliers) {
+        return any(List.of(suppliers), TryExecutors.defaultExecutor());
+    }
+
+    /**
+     * Variant of {@link #any(CheckedSupplier[])} running the suppliers on the given
+     * {@code executor}.
+     */
+    static <T> Try<T> any(Collection<? extends CheckedSupplier<? extends T>> suppliers, Executor executor) {
+        Objects.requireNonNull(suppliers, "suppliers is null");
+        Objects.requireNonNull(executor, "executor is null");
+        return Concurrently.any(suppliers, executor);
+    }
+
+    /**
+     * Runs {@code first} and {@code second} concurrently, as {@link #all(CheckedSupplier[])} does.
+     *
+     * @return a {@link Success} of both results if both succeed, otherwise the first {@link Failure}
+     */
+    static <A, B> Try<Pair<A, B>> zipPar(CheckedSupplier<? extends A> first, CheckedSupplier<? extends B> second) {
+        Objects.requireNonNull(first, "first is null");
+        Objects.requireNonNull(second, "second is null");
+        return Concurrently.zip(first, second, TryExecutors.defaultExecutor());
+    }
+
+    /**
+     * Runs {@code first} and {@code second} concurrently, as {@link #all(CheckedSupplier[])} does,
+     * then combines their results with {@code combiner}.
+     *
+     * @return the result of {@code combiner} if both suppliers succeed, otherwise the first
+     * {@link Failure}
+     */
+    static <A, B, R> Try<R> zipPar(
+            CheckedSupplier<? extends A> first,
+            CheckedSupplier<? extends B> second,
+            BiFunction<? super A, ? super B, ? extends R> combiner) {
+        Objects.requireNonNull(combiner, "combiner is null");
+        return Try.<A, B>zipPar(first, second).map(pair -> combiner.apply(pair.first(), pair.second()));
+    }
+
+    /**
+     * Runs {@code supplier}, starting up to two more attempts in parallel if it is slow, as described
+     * by {@code policy}. Only use with idempotent operations.
+     *
+     * @return the first {@link Success}, or the {@link Failure} of the last attempt to fail
+     * @see HedgePolicy#execute(CheckedSupplier)
+     */
+    static <T> Try<T> hedged(CheckedSupplier<? extends T> supplier, HedgePolicy policy) {
+        Objects.requireNonNull(policy, "policy is null");
+        return policy.execute(supplier);
+    }
+
+    /**
+     * Tries {@code supplier} again, as described by {@code policy}, until it succeeds or the policy
+     * gives up. The calling thread is blocked between attempts.
+     *
+     * @return the first {@link Success}, or the last {@link Failure}
+     * @see RetryPolicy#execute(CheckedSupplier)
+     */
+    static <T> Try<T> retry(RetryPolicy policy, CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(policy, "policy is null");
+        return policy.execute(supplier);
+    }
+
+    /**
+     * Asynchronous variant of {@link #retry(RetryPolicy, CheckedSupplier)}, running every attempt on
+     * the {@link #ofAsync(CheckedSupplier) default executor} without blocking any thread in between.
+     *
+     * @see RetryPolicy#executeAsync(CheckedSupplier)
+     */
+    static <T> AsyncTry<T> retryAsync(RetryPolicy policy, CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(policy, "policy is null");
+        return policy.executeAsync(supplier);
+    }
+
+    /**
+     * Asynchronous variant of {@link #retry(RetryPolicy, CheckedSupplier)}, running every attempt on
+     * {@code executor} without blocking any thread in between.
+     *
+     * @see RetryPolicy#executeAsync(CheckedSupplier, Executor)
+     */
+    static <T> AsyncTry<T> retryAsync(RetryPolicy policy, CheckedSupplier<? extends T> supplier, Executor executor) {
+        Objects.requireNonNull(policy, "policy is null");
+        return policy.executeAsync(supplier, executor);
+    }
+
+    /**
+     * Runs every check on {@code value}, instead of stopping at the first one that throws.
+     *
+     * @return a {@link Success} containing {@code value} if no check throws, otherwise a
+     * {@link Failure} containing a {@link io.github.anbonifacio.try_monad.exceptions.ValidationException}
+     * with every exception thrown
+     * @see Validated
+     */
+    @SafeVarargs
+    static <T> Try<T> validateAll(T value, CheckedConsumer<? super T>... checks) {
+        var validated = Validated.of(value);
+        for (var check : checks) {
+            validated.check(check);
+        }
+        return validated.toTry();
+    }
+
+    /**
+     * Starts the definition of a reusable {@link TryPipeline}, e.g.
+     * <pre>{@code
+     * TryPipeline<String, Integer> parse = Try.<String>pipeline().map(String::trim).map(Integer::parseInt);
+     * Try<Integer> result = parse.apply(" 42 ");
+     * }</pre>
+     */
+    static <A> TryPipeline<A, A> pipeline() {
+        return TryPipeline.identity();
+    }
+
+    /**
+     * Primitive variant of {@link #of(Supplier)}, see {@link TryInt#of(IntSupplier)}.
+     */
+    static TryInt ofInt(IntSupplier supplier) {
+        return TryInt.of(supplier);
+    }
+
+    /**
+     * Primitive variant of {@link #of(Supplier)}, see {@link TryLong#of(LongSupplier)}.
+     */
+    static TryLong ofLong(LongSupplier supplier) {
+        return TryLong.of(supplier);
+    }
+
+    /**
+     * Primitive variant of {@link #of(Supplier)}, see {@link TryDouble#of(DoubleSupplier)}.
+     */
+    static TryDouble ofDouble(DoubleSupplier supplier) {
+        return TryDouble.of(supplier);
     }
 
     /**
@@ -135,11 +408,67 @@ public sealed interface Try<T> permits Success, Failure {
         }
     }
 
+    /**
+     * Turns a sequence of {@link Try} into a single {@link Try} of all their results, stopping at
+     * the first {@link Failure}.
+     *
+     * @return a {@link Success} containing the (unmodifiable) list of results, in iteration order,
+     * if every element is a {@link Success};
+     * <p>otherwise, the first {@link Failure} found.
+     *
+     * @throws NullPointerException if {@code tries} is null
+     */
+    static <T> Try<List<T>> sequence(Iterable<? extends Try<? extends T>> tries) {
+        return Traversals.sequence(tries);
+    }
+
+    /**
+     * Applies {@code mapper} to each element of {@code values}, stopping at the first {@link Failure}.
+     * <p>Equivalent to mapping every element and then calling {@link #sequence(Iterable)}, without
+     * building the intermediate list of {@link Try} nor calling {@code mapper} after a failure.
+     *
+     * @return a {@link Success} containing the (unmodifiable) list of results, in iteration order,
+     * if {@code mapper} returns a {@link Success} for every element;
+     * <p>otherwise, the first {@link Failure} returned by {@code mapper}, or a {@link Failure}
+     * containing the exception thrown by it.
+     *
+     * @throws NullPointerException if {@code values} or {@code mapper} is null
+     */
+    static <A, B> Try<List<B>> traverse(
+            Collection<? extends A> values, Function<? super A, ? extends Try<? extends B>> mapper) {
+        return Traversals.traverse(values, mapper);
+    }
+
+    /**
+     * Parallel variant of {@link #traverse(Collection, Function)} running on the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @see #traverseParallel(Collection, Function, ForkJoinPool)
+     */
+    static <A, B> Try<List<B>> traverseParallel(
+            Collection<? extends A> values, Function<? super A, ? extends Try<? extends B>> mapper) {
+        return Traversals.traverseParallel(values, mapper, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel variant of {@link #traverse(Collection, Function)}: {@code values} are split across
+     * the workers of {@code pool}, and all outstanding work is abandoned as soon as any element fails.
+     * <p>The results keep the iteration order of {@code values}; when several elements fail, the
+     * returned {@link Failure} is the one found first, which is not necessarily the first one in
+     * iteration order.
+     *
+     * @throws NullPointerException if {@code values}, {@code mapper} or {@code pool} is null
+     */
+    static <A, B> Try<List<B>> traverseParallel(
+            Collection<? extends A> values, Function<? super A, ? extends Try<? extends B>> mapper, ForkJoinPool pool) {
+        return Traversals.traverseParallel(values, mapper, pool);
+    }
+
     /**
      * Creates a new {@link Success} with the given {@code value} as result.
      */
     static <T> Try<T> success(T value) {
-        return new Success<>(value);
+        return Success.valueOf(value);
     }
 
     /**
@@ -167,6 +496,37 @@ public sealed interface Try<T> permits Success, Failure {
      */
     <U> Try<U> map(Function<? super T, ? extends U> mapper);
 
+    /**
+     * Variant of {@link #map(Function)} whose {@code mapper} may throw checked exceptions.
+     * <p>The exception thrown by {@code mapper} becomes the {@link Failure} cause as is, instead of
+     * being wrapped by the {@link Function#apply(Object)} bridge of {@link CheckedFunction}.
+     */
+    <U> Try<U> mapChecked(CheckedFunction<? super T, ? extends U> mapper);
+
+    /**
+     * Variant of {@link #flatMap(Function)} whose {@code mapper} may throw checked exceptions,
+     * see {@link #mapChecked(CheckedFunction)}.
+     */
+    <U> Try<U> flatMapChecked(CheckedFunction<? super T, ? extends Try<? extends U>> mapper);
+
+    /**
+     * Variant of {@link #map(Function)} whose {@code mapper} returns an {@code int}, so that the
+     * result is never boxed.
+     */
+    TryInt mapToInt(ToIntFunction<? super T> mapper);
+
+    /**
+     * Variant of {@link #map(Function)} whose {@code mapper} returns a {@code long}, so that the
+     * result is never boxed.
+     */
+    TryLong mapToLong(ToLongFunction<? super T> mapper);
+
+    /**
+     * Variant of {@link #map(Function)} whose {@code mapper} returns a {@code double}, so that the
+     * result is never boxed.
+     */
+    TryDouble mapToDouble(ToDoubleFunction<? super T> mapper);
+
     /**
      * @return the result of applying {@code onFailure} to the caught exception if this is a {@link Failure};
      *         <p>the result of applying {@code onSuccess} to the result if this is a {@link Success}
@@ -186,6 +546,14 @@ public sealed interface Try<T> permits Success, Failure {
      */
     Try<T> peek(Consumer<? super Throwable> onFailure, Consumer<? super T> onSuccess);
 
+    /**
+     * Runs {@code action} on the {@link #get() result} if this is a {@link Success}.
+     *
+     * @return itself, unless {@code action} throws any exception: in that case, a {@link Failure}
+     * containing the caught exception
+     */
+    Try<T> peekChecked(CheckedConsumer<? super T> action);
+
     boolean isFailure();
 
     boolean isSuccess();
@@ -235,6 +603,30 @@ public sealed interface Try<T> permits Success, Failure {
      */
     Try<T> filter(Predicate<? super T> p);
 
+    /**
+     * Variant of {@link #filter(Predicate)} that lets the caller choose the exception used when
+     * the result does <b>NOT</b> satisfy {@code p}.
+     * <p>{@code errorSupplier} is only invoked on rejection, so a supplier returning a shared,
+     * stackless exception makes a rejected value almost free.
+     *
+     * @throws NullPointerException if {@code p} or {@code errorSupplier} is null
+     */
+    Try<T> filter(Predicate<? super T> p, Supplier<? extends Throwable> errorSupplier);
+
+    /**
+     * Variant of {@link #filter(Predicate, Supplier)} where the exception is built from the rejected
+     * result.
+     *
+     * @throws NullPointerException if {@code p} or {@code errorProvider} is null
+     */
+    Try<T> filter(Predicate<? super T> p, Function<? super T, ? extends Throwable> errorProvider);
+
+    /**
+     * Variant of {@link #filter(Predicate)} whose predicate may throw checked exceptions,
+     * see {@link #mapChecked(CheckedFunction)}.
+     */
+    Try<T> filterChecked(CheckedPredicate<? super T> p);
+
     /**
      * @return itself, if this is a {@link Success}
      * <p>{@code fn.get()}, if this is a {@link Failure}
@@ -311,6 +703,18 @@ public sealed interface Try<T> permits Success, Failure {
      */
     <X extends Throwable> Try<T> recover(Class<X> exceptionType, Function<? super X, ? extends T> fn);
 
+    /**
+     * Variant of {@link #recover(Function)} whose {@code fn} may throw checked exceptions,
+     * see {@link #mapChecked(CheckedFunction)}.
+     */
+    Try<T> recoverChecked(CheckedFunction<? super Throwable, ? extends T> fn);
+
+    /**
+     * Variant of {@link #recover(Class, Function)} whose {@code fn} may throw checked exceptions,
+     * see {@link #mapChecked(CheckedFunction)}.
+     */
+    <X extends Throwable> Try<T> recoverChecked(Class<X> exceptionType, CheckedFunction<? super X, ? extends T> fn);
+
     /**
      * Transforms a {@link Failure} into the {@link Try} returned by {@code fn}.
      * <p>If {@code fn} throws any exception, the output will be a {@link Failure} containing that
@@ -325,6 +729,18 @@ public sealed interface Try<T> permits Success, Failure {
      */
     Try<T> recoverWith(Function<? super Throwable, ? extends Try<T>> fn);
 
+    /**
+     * Recovers a {@link Failure} with the first case of {@code recovery} matching the
+     * {@link #getCause() cause}, in a single dispatch.
+     *
+     * @see Recovery#recover(Try)
+     * @throws NullPointerException if {@code recovery} is null
+     */
+    default Try<T> recover(Recovery<T> recovery) {
+        Objects.requireNonNull(recovery, "recovery is null");
+        return recovery.recover(this);
+    }
+
     /**
      * Transforms a {@link Failure} into the {@link Try} returned by {@code fn}, only if the
      * {@link #getCause() cause} is an instance of {@code exceptionType} (i.e. {@code X}).
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache of {@link Try} results, keyed by the loader input.
+ * <p>{@link Success} and {@link Failure} entries expire after separate time-to-live, so a transient
+ * failure is cached for a short while (or not at all) instead of forever. Concurrent lookups of a key
+ * that is being loaded wait for the single in-flight load.
+ * <p>Lookups of a cached entry are lock-free: the entry is read from a {@link ConcurrentHashMap} and
+ * only marked as referenced. When the cache grows over its maximum size, entries are evicted in
+ * insertion order, skipping (once) those referenced since the last pass: the CLOCK approximation of
+ * LRU. Entries removed by expiry or invalidation are swept from the eviction queue once dead ones
+ * outnumber live ones, so the queue stays proportional to the cache size.
+ */
+public final class TryCache<K, V> {
+    private static final long NO_EXPIRY = -1;
+
+    private final int maximumSize;
+    private final long successTtlNanos;
+    private final long failureTtlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, V>> evictionQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private TryCache(Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.successTtlNanos = ttlNanos(builder.successTtl);
+        this.failureTtlNanos = ttlNanos(builder.failureTtl);
+        this.clock = builder.clock;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the cached result for {@code key} if present and not expired, otherwise the result of
+     * {@code loader}, which is cached. A loader throwing an exception, or returning {@code null}, is
+     * treated as a {@link Failure}.
+     */
+    public Try<V> get(K key, Function<? super K, ? extends Try<? extends V>> loader) {
+        Objects.requireNonNull(key, "key is null");
+        Objects.requireNonNull(loader, "loader is null");
+        while (true) {
+            var entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.result.isDone()) {
+                    hits.increment();
+                    return entry.result.join();
+                }
+                if (!entry.isExpired(clock.getAsLong())) {
+                    hits.increment();
+                    entry.referenced = true;
+                    return entry.result.join();
+                }
+                remove(entry);
+            }
+            var loading = new Entry<K, V>(key);
+            if (entries.putIfAbsent(key, loading) == null) {
+                misses.increment();
+                size.incrementAndGet();
+                return load(loading, loader);
+            }
+        }
+    }
+
+    /**
+     * @return the cached result for {@code key}, or {@code null} if absent, expired or still loading
+     */
+    public Try<V> getIfPresent(K key) {
+        var entry = entries.get(key);
+        if (entry == null || !entry.result.isDone() || entry.isExpired(clock.getAsLong())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.referenced = true;
+        return entry.result.join();
+    }
+
+    public void invalidate(K key) {
+        var entry = entries.get(key);
+        if (entry != null) {
+            remove(entry);
+        }
+    }
+
+    public void invalidateAll() {
+        entries.values().forEach(this::remove);
+        sweep();
+    }
+
+    /**
+     * @return the number of entries, including the expired ones not removed yet
+     */
+    public int estimatedSize() {
+        return size.get();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    int queuedEntries() {
+        return evictionQueue.size();
+    }
+
+    private Try<V> load(Entry<K, V> entry, Function<? super K, ? extends Try<? extends V>> loader) {
+        Try<V> result;
+        try {
+            result = Try.of(() -> loader.apply(entry.key))
+                    .flatMap(loaded ->
+                            loaded != null ? loaded : new Failure<>(new NullPointerException("loader returned null")));
+        } catch (Throwable fatal) {
+            // a fatal error escaped Try.of: do not leave waiters hanging on the entry
+            remove(entry);
+            entry.result.completeExceptionally(new IllegalStateException("loader failed for " + entry.key, fatal));
+            throw fatal;
+        }
+        entry.loadedAt = clock.getAsLong();
+        entry.ttlNanos = result.isSuccess() ? successTtlNanos : failureTtlNanos;
+        entry.result.complete(result);
+        if (entry.ttlNanos == 0) {
+            remove(entry);
+        } else {
+            evictionQueue.offer(entry);
+            if (queued.incrementAndGet() > 2 * Math.max(size.get(), maximumSize)) {
+                sweep();
+            }
+            if (size.get() > maximumSize) {
+                evict();
+            }
+        }
+        return result;
+    }
+
+    private void evict() {
+        int budget = 2 * size.get() + 1;
+        while (size.get() > maximumSize && budget-- > 0) {
+            var candidate = evictionQueue.poll();
+            if (candidate == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (entries.get(candidate.key) != candidate) {
+                continue;
+            }
+            if (candidate.isExpired(clock.getAsLong())) {
+                remove(candidate);
+            } else if (candidate.referenced) {
+                candidate.referenced = false;
+                evictionQueue.offer(candidate);
+                queued.incrementAndGet();
+            } else if (remove(candidate)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops the entries no longer in the map (expired, invalidated or replaced) from the eviction
+     * queue. Each live entry is queued at most once, so this runs only when at least half of the queue
+     * is dead and its cost is amortized over the loads that filled it.
+     */
+    private void sweep() {
+        evictionQueue.removeIf(entry -> entries.get(entry.key) != entry);
+        // concurrent offers and polls may be missed, which only makes the next sweep slightly early or late
+        queued.set(evictionQueue.size());
+    }
+
+    private boolean remove(Entry<K, V> entry) {
+        if (entries.remove(entry.key, entry)) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static long ttlNanos(Duration ttl) {
+        return ttl == null ? NO_EXPIRY : ttl.toNanos();
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final CompletableFuture<Try<V>> result = new CompletableFuture<>();
+        private volatile long loadedAt;
+        private volatile long ttlNanos;
+        private volatile boolean referenced;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+
+        private boolean isExpired(long now) {
+            return ttlNanos != NO_EXPIRY && now - loadedAt >= ttlNanos;
+        }
+    }
+
+    /**
+     * Counters accumulated since the cache was created.
+     *
+     * @param hits lookups answered from the cache, including those waiting for an in-flight load
+     * @param misses lookups that found no live entry
+     * @param evictions entries removed to respect the maximum size
+     */
+    public record Stats(long hits, long misses, long evictions) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+
+    public static final class Builder {
+        private int maximumSize = 10_000;
+        private Duration successTtl;
+        private Duration failureTtl = Duration.ofSeconds(1);
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * @param maximumSize the number of entries over which entries are evicted (default: 10 000)
+         */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @param ttl how long a {@link Success} is cached (default: until evicted)
+         */
+        public Builder successTtl(Duration ttl) {
+            this.successTtl = requireNonNegative(ttl);
+            return this;
+        }
+
+        /**
+         * @param ttl how long a {@link Failure} is cached (default: 1s); {@link Duration#ZERO} disables
+         *            negative caching
+         */
+        public Builder failureTtl(Duration ttl) {
+            this.failureTtl = requireNonNegative(ttl);
+            return this;
+        }
+
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public <K, V> TryCache<K, V> build() {
+            return new TryCache<>(this);
+        }
+
+        private static Duration requireNonNegative(Duration ttl) {
+            Objects.requireNonNull(ttl, "ttl is null");
+            if (ttl.isNegative()) {
+                throw new IllegalArgumentException("ttl must not be negative: " + ttl);
+            }
+            return ttl;
+        }
+    }
+}
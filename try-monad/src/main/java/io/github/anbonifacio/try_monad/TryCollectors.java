@@ -0,0 +1,344 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+
+/**
+ * {@link Collector}s aggregating a {@link java.util.stream.Stream} of {@link Try}.
+ * <p>Each collector has a {@code concurrent} variant ({@link Characteristics#CONCURRENT} and
+ * {@link Characteristics#UNORDERED}): with a parallel stream, all threads accumulate into a single
+ * lock-free container instead of building one container per thread and merging them. The concurrent
+ * variants do not preserve the encounter order.
+ */
+public final class TryCollectors {
+    private TryCollectors() {}
+
+    /**
+     * The results of a stream of {@link Try}, split by outcome.
+     *
+     * @param successes the results of every {@link Success}
+     * @param failures the causes of every {@link Failure}
+     */
+    public record Partition<T>(List<T> successes, List<Throwable> failures) {}
+
+    /**
+     * @return a {@link Collector} splitting the results of {@link Success} from the causes of
+     * {@link Failure}, in encounter order
+     */
+    public static <T> Collector<Try<? extends T>, ?, Partition<T>> partitioning() {
+        return Collector.<Try<? extends T>, Partition<T>, Partition<T>>of(
+                () -> new Partition<>(new ArrayList<>(), new ArrayList<>()),
+                (partition, t) -> {
+                    if (t.isSuccess()) {
+                        partition.successes().add(t.get());
+                    } else {
+                        partition.failures().add(t.getCause());
+                    }
+                },
+                (left, right) -> {
+                    left.successes().addAll(right.successes());
+                    left.failures().addAll(right.failures());
+                    return left;
+                },
+                partition -> new Partition<>(
+                        Collections.unmodifiableList(partition.successes()),
+                        Collections.unmodifiableList(partition.failures())));
+    }
+
+    /**
+     * Concurrent variant of {@link #partitioning()}.
+     */
+    public static <T> Collector<Try<? extends T>, ?, Partition<T>> partitioningConcurrent() {
+        return Collector.<Try<? extends T>, ConcurrentPartition<T>, Partition<T>>of(
+                ConcurrentPartition::new,
+                (partition, t) -> {
+                    if (t.isSuccess()) {
+                        partition.successes.add(new Box<>(t.get()));
+                    } else {
+                        partition.failures.add(t.getCause());
+                    }
+                },
+                ConcurrentPartition::combine,
+                partition -> {
+                    List<T> successes = new ArrayList<>(partition.successes.size());
+                    for (Box<T> box : partition.successes) {
+                        successes.add(box.value());
+                    }
+                    return new Partition<>(Collections.unmodifiableList(successes), List.copyOf(partition.failures));
+                },
+                Characteristics.CONCURRENT,
+                Characteristics.UNORDERED);
+    }
+
+    /**
+     * @return a {@link Collector} counting the {@link Failure} elements by the class of their cause
+     * ({@link Success} elements are ignored)
+     */
+    public static Collector<Try<?>, ?, Map<Class<? extends Throwable>, Long>> countingFailuresByType() {
+        return Collector.<Try<?>, Map<Class<? extends Throwable>, Long>, Map<Class<? extends Throwable>, Long>>of(
+                HashMap::new,
+                (counts, t) -> {
+                    if (t.isFailure()) {
+                        counts.merge(t.getCause().getClass(), 1L, Long::sum);
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((type, count) -> left.merge(type, count, Long::sum));
+                    return left;
+                },
+                Collections::unmodifiableMap);
+    }
+
+    /**
+     * Concurrent variant of {@link #countingFailuresByType()}, counting with a {@link LongAdder} per
+     * exception class so that threads failing with the same exception do not contend.
+     */
+    public static Collector<Try<?>, ?, Map<Class<? extends Throwable>, Long>> countingFailuresByTypeConcurrent() {
+        return Collector
+                .<Try<?>, ConcurrentHashMap<Class<? extends Throwable>, LongAdder>,
+                        Map<Class<? extends Throwable>, Long>>
+                        of(
+                                ConcurrentHashMap::new,
+                                (counts, t) -> {
+                                    if (t.isFailure()) {
+                                        counts.computeIfAbsent(t.getCause().getClass(), type -> new LongAdder())
+                                                .increment();
+                                    }
+                                },
+                                TryCollectors::combineCounts,
+                                counts -> {
+                                    Map<Class<? extends Throwable>, Long> result = new HashMap<>();
+                                    counts.forEach((type, count) -> result.put(type, count.sum()));
+                                    return Collections.unmodifiableMap(result);
+                                },
+                                Characteristics.CONCURRENT,
+                                Characteristics.UNORDERED);
+    }
+
+    /**
+     * @return a {@link Collector} keeping the causes of the first {@code limit} {@link Failure}
+     * elements, in encounter order, and discarding the rest
+     *
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    public static Collector<Try<?>, ?, List<Throwable>> firstFailures(int limit) {
+        requireNonNegative(limit);
+        return Collector.<Try<?>, List<Throwable>, List<Throwable>>of(
+                ArrayList::new,
+                (failures, t) -> {
+                    if (t.isFailure() && failures.size() < limit) {
+                        failures.add(t.getCause());
+                    }
+                },
+                (left, right) -> {
+                    left.addAll(right.subList(0, Math.min(right.size(), limit - left.size())));
+                    return left;
+                },
+                Collections::unmodifiableList);
+    }
+
+    /**
+     * Concurrent variant of {@link #firstFailures(int)}: keeps the causes of (at most) {@code limit}
+     * {@link Failure} elements, whichever are accumulated first.
+     * <p>Slots are claimed with a single atomic increment, so threads never wait on each other.
+     *
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    public static Collector<Try<?>, ?, List<Throwable>> firstFailuresConcurrent(int limit) {
+        requireNonNegative(limit);
+        return Collector.<Try<?>, BoundedFailures, List<Throwable>>of(
+                () -> new BoundedFailures(limit),
+                BoundedFailures::add,
+                BoundedFailures::combine,
+                BoundedFailures::toList,
+                Characteristics.CONCURRENT,
+                Characteristics.UNORDERED);
+    }
+
+    /**
+     * @return a {@link Collector} returning a {@link Success} containing the results of all the
+     * elements, in encounter order, if they are all {@link Success};
+     * <p>otherwise, the first {@link Failure}. Elements after the first {@link Failure} are ignored.
+     *
+     * @see Try#sequence(Iterable)
+     */
+    public static <T> Collector<Try<? extends T>, ?, Try<List<T>>> toTryList() {
+        return Collector.<Try<? extends T>, ListOrFailure<T>, Try<List<T>>>of(
+                ListOrFailure::new, ListOrFailure::add, ListOrFailure::combine, ListOrFailure::toTry);
+    }
+
+    /**
+     * Concurrent variant of {@link #toTryList()}: when several elements are {@link Failure}, the one
+     * returned is the first accumulated, which is not necessarily the first in encounter order.
+     */
+    public static <T> Collector<Try<? extends T>, ?, Try<List<T>>> toTryListConcurrent() {
+        return Collector.<Try<? extends T>, ConcurrentListOrFailure<T>, Try<List<T>>>of(
+                ConcurrentListOrFailure::new,
+                ConcurrentListOrFailure::add,
+                ConcurrentListOrFailure::combine,
+                ConcurrentListOrFailure::toTry,
+                Characteristics.CONCURRENT,
+                Characteristics.UNORDERED);
+    }
+
+    private static ConcurrentHashMap<Class<? extends Throwable>, LongAdder> combineCounts(
+            ConcurrentHashMap<Class<? extends Throwable>, LongAdder> left,
+            ConcurrentHashMap<Class<? extends Throwable>, LongAdder> right) {
+        right.forEach((type, count) ->
+                left.computeIfAbsent(type, key -> new LongAdder()).add(count.sum()));
+        return left;
+    }
+
+    private static void requireNonNegative(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+    }
+
+    /**
+     * Wraps possibly {@code null} results, which {@link ConcurrentLinkedQueue} does not accept.
+     */
+    private record Box<T>(T value) {}
+
+    private static final class ConcurrentPartition<T> {
+        private final ConcurrentLinkedQueue<Box<T>> successes = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        ConcurrentPartition<T> combine(ConcurrentPartition<T> right) {
+            successes.addAll(right.successes);
+            failures.addAll(right.failures);
+            return this;
+        }
+    }
+
+    private static final class BoundedFailures {
+        private final AtomicReferenceArray<Throwable> failures;
+        private final AtomicInteger next = new AtomicInteger();
+
+        BoundedFailures(int limit) {
+            this.failures = new AtomicReferenceArray<>(limit);
+        }
+
+        void add(Try<?> t) {
+            // checking first avoids incrementing forever once full
+            if (t.isFailure() && next.get() < failures.length()) {
+                addCause(t.getCause());
+            }
+        }
+
+        BoundedFailures combine(BoundedFailures right) {
+            for (Throwable cause : right.toList()) {
+                addCause(cause);
+            }
+            return this;
+        }
+
+        private void addCause(Throwable cause) {
+            int slot = next.getAndIncrement();
+            if (slot < failures.length()) {
+                failures.set(slot, cause);
+            }
+        }
+
+        List<Throwable> toList() {
+            int size = Math.min(next.get(), failures.length());
+            List<Throwable> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(failures.get(i));
+            }
+            return Collections.unmodifiableList(result);
+        }
+    }
+
+    private static final class ListOrFailure<T> {
+        private final List<T> values = new ArrayList<>();
+        private Try<? extends T> failure;
+
+        void add(Try<? extends T> t) {
+            if (failure != null) {
+                return;
+            }
+            if (t.isSuccess()) {
+                values.add(t.get());
+            } else {
+                failure = t;
+            }
+        }
+
+        ListOrFailure<T> combine(ListOrFailure<T> right) {
+            if (failure == null) {
+                if (right.failure != null) {
+                    failure = right.failure;
+                } else {
+                    values.addAll(right.values);
+                }
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        Try<List<T>> toTry() {
+            return failure != null ? (Try<List<T>>) failure : new Success<>(Collections.unmodifiableList(values));
+        }
+    }
+
+    private static final class ConcurrentListOrFailure<T> {
+        private final ConcurrentLinkedQueue<Box<T>> values = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Try<? extends T>> failure = new AtomicReference<>();
+
+        void add(Try<? extends T> t) {
+            if (failure.get() != null) {
+                return;
+            }
+            if (t.isSuccess()) {
+                values.add(new Box<>(t.get()));
+            } else {
+                failure.compareAndSet(null, t);
+            }
+        }
+
+        ConcurrentListOrFailure<T> combine(ConcurrentListOrFailure<T> right) {
+            if (right.failure.get() != null) {
+                failure.compareAndSet(null, right.failure.get());
+            } else {
+                values.addAll(right.values);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        Try<List<T>> toTry() {
+            Try<? extends T> first = failure.get();
+            if (first != null) {
+                return (Try<List<T>>) first;
+            }
+            List<T> result = new ArrayList<>(values.size());
+            for (Box<T> box : values) {
+                result.add(box.value());
+            }
+            return new Success<>(Collections.unmodifiableList(result));
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Specialization of {@link Try} for {@code double} results, which never boxes the result in a
+ * {@link Double}.
+ * <p>Every operation behaves exactly like its {@link Try} counterpart; use {@link #boxed()} and
+ * {@link #fromTry(Try)} to convert between the two.
+ *
+ * @implNote some <b>fatal</b> exceptions will never be caught by this class and will be thrown
+ * directly back to the caller (see {@link Failure#isFatal(Throwable)} to see which exceptions are
+ * considered fatal).
+ */
+public sealed interface TryDouble permits SuccessDouble, FailureDouble {
+
+    /**
+     * Creates a new {@link TryDouble} containing the result of {@code supplier.getAsDouble()}.
+     *
+     * @return if {@code supplier} does not throw any exception, a {@link SuccessDouble} containing the
+     * value returned by {@code supplier};
+     * <p>otherwise, a {@link FailureDouble} containing the exception thrown by {@code supplier}.
+     *
+     * @throws NullPointerException if {@code supplier} is null
+     */
+    static TryDouble of(DoubleSupplier supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        try {
+            return new SuccessDouble(supplier.getAsDouble());
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    /**
+     * Creates a new {@link SuccessDouble} with the given {@code value} as result.
+     */
+    static TryDouble success(double value) {
+        return new SuccessDouble(value);
+    }
+
+    /**
+     * Creates a new {@link FailureDouble} with the given {@code exception} as cause.
+     */
+    static TryDouble failure(Throwable exception) {
+        return new FailureDouble(exception);
+    }
+
+    /**
+     * Unboxes the given {@link Try}.
+     *
+     * @return a {@link SuccessDouble} if {@code boxed} is a {@link Success} with a non-null result;
+     * <p>a {@link FailureDouble} containing a {@link NullPointerException} if the result is {@code null};
+     * <p>a {@link FailureDouble} with the same cause if {@code boxed} is a {@link Failure}.
+     *
+     * @throws NullPointerException if {@code boxed} is null
+     */
+    static TryDouble fromTry(Try<? extends Double> boxed) {
+        Objects.requireNonNull(boxed, "boxed is null");
+        if (boxed.isFailure()) {
+            return new FailureDouble(boxed.getCause());
+        }
+        Double value = boxed.get();
+        return value == null ? new FailureDouble(new NullPointerException("value is null")) : new SuccessDouble(value);
+    }
+
+    /**
+     * Just like a {@code finally} block, runs the given {@code runnable} regardless of whether this
+     * is a {@link SuccessDouble} or a {@link FailureDouble}.
+     *
+     * @return itself, or a {@link FailureDouble} containing the exception caught while running
+     * {@code runnable}, if any is thrown.
+     *
+     * @throws NullPointerException if {@code runnable} is null
+     */
+    default TryDouble andFinally(Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable is null");
+        try {
+            runnable.run();
+            return this;
+        } catch (Throwable t) {
+            return new FailureDouble(t);
+        }
+    }
+
+    /**
+     * @return itself if this is a {@link FailureDouble};
+     * <p>if this is a {@link SuccessDouble}, either:<ul>
+     *     <li>a {@link SuccessDouble} containing the result of applying the given {@code mapper} to its result
+     *     <li>a {@link FailureDouble} containing the caught exception, if {@code mapper} throws any.
+     * </ul>
+     */
+    TryDouble map(DoubleUnaryOperator mapper);
+
+    /**
+     * Variant of {@link #map(DoubleUnaryOperator)} whose {@code mapper} returns an {@code int}.
+     */
+    TryInt mapToInt(DoubleToIntFunction mapper);
+
+    /**
+     * Variant of {@link #map(DoubleUnaryOperator)} whose {@code mapper} returns a {@code long}.
+     */
+    TryLong mapToLong(DoubleToLongFunction mapper);
+
+    /**
+     * Variant of {@link #map(DoubleUnaryOperator)} that boxes the result of {@code mapper} in a {@link Try}.
+     */
+    <U> Try<U> mapToObj(DoubleFunction<? extends U> mapper);
+
+    /**
+     * @return itself if this is a {@link FailureDouble};
+     * <p>if this is a {@link SuccessDouble}, either:<ul>
+     *     <li>the result of applying the given {@code mapper} to its {@link #getAsDouble() result}.
+     *     <li>a {@link FailureDouble} containing the caught exception, if {@code mapper} throws any.
+     * </ul>
+     */
+    TryDouble flatMap(DoubleFunction<? extends TryDouble> mapper);
+
+    /**
+     * Variant of {@link #flatMap(DoubleFunction)} whose {@code mapper} returns a {@link TryInt}.
+     */
+    TryInt flatMapToInt(DoubleFunction<? extends TryInt> mapper);
+
+    /**
+     * Variant of {@link #flatMap(DoubleFunction)} whose {@code mapper} returns a {@link TryLong}.
+     */
+    TryLong flatMapToLong(DoubleFunction<? extends TryLong> mapper);
+
+    /**
+     * @return the result of applying {@code onFailure} to the caught exception if this is a {@link FailureDouble};
+     *         <p>the result of applying {@code onSuccess} to the result if this is a {@link SuccessDouble}
+     */
+    <U> U fold(Function<? super Throwable, ? extends U> onFailure, DoubleFunction<? extends U> onSuccess);
+
+    /**
+     * Runs either {@code onFailure} or {@code onSuccess}, then returns itself.
+     *
+     * @return itself
+     */
+    TryDouble peek(Consumer<? super Throwable> onFailure, DoubleConsumer onSuccess);
+
+    boolean isFailure();
+
+    boolean isSuccess();
+
+    /**
+     * @return {@link OptionalDouble} containing the result if this is a {@link SuccessDouble};
+     * <p>{@link OptionalDouble#empty()} if this is a {@link FailureDouble}.
+     */
+    OptionalDouble getSuccess();
+
+    /**
+     * @return {@link Optional} containing the caught exception if this is a {@link FailureDouble},
+     * {@link Optional#empty()} if this is a {@link SuccessDouble}
+     */
+    Optional<Throwable> getFailure();
+
+    /**
+     * @return the result if this is a {@link SuccessDouble}
+     *
+     * @throws NoSuchElementException if this is a {@link FailureDouble}; the caught exception
+     * will be set as the cause
+     */
+    double getAsDouble() throws NoSuchElementException;
+
+    /**
+     * @return the caught exception if this is a {@link FailureDouble}
+     * @throws NoSuchElementException if this is a {@link SuccessDouble}
+     */
+    Throwable getCause() throws NoSuchElementException;
+
+    /**
+     * @return itself, it this is a {@link FailureDouble};
+     * <p>if this is a {@link SuccessDouble}:
+     * <ul>
+     *     <li>if the result satisfies {@code p}, returns itself
+     *     <li>if the result does <b>NOT</b> satisfy {@code p},
+     *     returns a {@link FailureDouble} containing a {@link NoSuchElementException}
+     *     <li>if {@code p} throws any exception, returns a {@link FailureDouble} containing the caught
+     *     exception.
+     * </ul>
+     */
+    TryDouble filter(DoublePredicate p);
+
+    /**
+     * @return the {@link #getAsDouble() result}, if this is a {@link SuccessDouble}
+     * <p>{@code other}, if this is a {@link FailureDouble}
+     */
+    default double orElse(double other) {
+        return isSuccess() ? getAsDouble() : other;
+    }
+
+    /**
+     * @return the {@link #getAsDouble() result}, if this is a {@link SuccessDouble}
+     * <p>{@code fn.getAsDouble()}, if this is a {@link FailureDouble}
+     */
+    default double orElseGet(DoubleSupplier fn) {
+        return isSuccess() ? getAsDouble() : fn.getAsDouble();
+    }
+
+    /**
+     * @return itself, if this is a {@link SuccessDouble}
+     * <p>{@code other}, if this is a {@link FailureDouble}
+     */
+    default TryDouble orElseTry(TryDouble other) {
+        return isSuccess() ? this : other;
+    }
+
+    /**
+     * @return the {@link #getAsDouble() result}, if this is a {@link SuccessDouble}.
+     * @throws X if this is a {@link FailureDouble} (throws the result of {@code exceptionMapper.apply(getCause())})
+     */
+    default <X extends Throwable> double orElseThrow(Function<? super Throwable, ? extends X> exceptionMapper)
+            throws X {
+        if (isFailure()) {
+            throw exceptionMapper.apply(getCause());
+        } else {
+            return getAsDouble();
+        }
+    }
+
+    /**
+     * Transforms a {@link FailureDouble} into a {@link SuccessDouble} by using {@code fn}.
+     * <p>If {@code fn} throws any exception, the output will be a {@link FailureDouble} containing that
+     * exception as cause.
+     *
+     * @see Try#recover(Function)
+     */
+    TryDouble recover(ToDoubleFunction<? super Throwable> fn);
+
+    /**
+     * Transforms a {@link FailureDouble} into a {@link SuccessDouble} by using {@code fn}, only if the
+     * {@link #getCause() cause} is an instance of {@code exceptionType} (i.e. {@code X}).
+     *
+     * @see Try#recover(Class, Function)
+     */
+    <X extends Throwable> TryDouble recover(Class<X> exceptionType, ToDoubleFunction<? super X> fn);
+
+    /**
+     * Transforms a {@link FailureDouble} into the {@link TryDouble} returned by {@code fn}.
+     *
+     * @see Try#recoverWith(Function)
+     */
+    TryDouble recoverWith(Function<? super Throwable, ? extends TryDouble> fn);
+
+    /**
+     * Transforms a {@link FailureDouble} into the {@link TryDouble} returned by {@code fn}, only if the
+     * {@link #getCause() cause} is an instance of {@code exceptionType} (i.e. {@code X}).
+     *
+     * @see Try#recoverWith(Class, Function)
+     */
+    <X extends Throwable> TryDouble recoverWith(Class<X> exceptionType, Function<? super X, ? extends TryDouble> fn);
+
+    /**
+     * @return a {@link Success} containing the boxed result if this is a {@link SuccessDouble};
+     * <p>a {@link Failure} with the same cause if this is a {@link FailureDouble}.
+     */
+    Try<Double> boxed();
+}
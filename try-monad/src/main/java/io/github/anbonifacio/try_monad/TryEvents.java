@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+/**
+ * Commits the JFR events of the observed operations.
+ * <p>Whether each event type is enabled is cached in a volatile flag, refreshed by a
+ * {@link FlightRecorderListener} whenever a recording changes state: while an event is disabled,
+ * which it is by default and once every recording enabling it stopped, the calls on the hot path only
+ * read that flag and allocate nothing.
+ */
+final class TryEvents {
+    private static volatile boolean slowSupplierEnabled;
+    private static volatile boolean failureEnabled;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                refresh();
+            }
+
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                refresh();
+            }
+        });
+    }
+
+    private TryEvents() {}
+
+    /**
+     * Only called once the recorder is initialized, so that looking up the event types never
+     * initializes it.
+     */
+    private static void refresh() {
+        slowSupplierEnabled = EventType.getEventType(SlowSupplierEvent.class).isEnabled();
+        failureEnabled = EventType.getEventType(FailureEvent.class).isEnabled();
+    }
+
+    /**
+     * @return a started {@link SlowSupplierEvent}, or {@code null} if the event is not enabled
+     */
+    static SlowSupplierEvent begin() {
+        if (!slowSupplierEnabled) {
+            return null;
+        }
+        var event = new SlowSupplierEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits {@code event} if its duration exceeds the threshold, then a {@link FailureEvent} if
+     * {@code result} is a {@link Failure}.
+     */
+    static void supplied(SlowSupplierEvent event, TryListener.Operation operation, Try<?> result) {
+        if (event != null) {
+            slowSupplier(event, operation, result);
+        }
+        if (result.isFailure()) {
+            failure(operation, result.getCause(), false);
+        }
+    }
+
+    private static void slowSupplier(SlowSupplierEvent event, TryListener.Operation operation, Try<?> result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.label();
+            event.operationName = TryMetrics.operationName();
+            event.failed = result.isFailure();
+            event.commit();
+        }
+    }
+
+    /**
+     * Commits a {@link FailureEvent} for {@code cause} if it was recovered, and one for the new
+     * {@link Failure} if the recovery itself failed.
+     */
+    static void recovered(TryListener.Operation operation, Throwable cause, Try<?> result) {
+        if (result == null || result.isSuccess()) {
+            failure(operation, cause, true);
+        } else {
+            failure(operation, result.getCause(), false);
+        }
+    }
+
+    static void failure(TryListener.Operation operation, Throwable cause, boolean recovered) {
+        if (!failureEnabled) {
+            return;
+        }
+        var event = new FailureEvent();
+        if (event.shouldCommit()) {
+            event.exceptionClass = cause.getClass();
+            event.operation = operation.label();
+            event.operationName = TryMetrics.operationName();
+            event.recovered = recovered;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * File operations returning {@link Try}, built on the NIO channel APIs.
+ * <p>The {@link IOException}s are captured as is in the returned {@link Failure}, without being
+ * wrapped in an {@link UncheckedIOException} first.
+ */
+public final class TryFiles {
+    /**
+     * The largest region of a file that can be mapped in a single {@link MappedByteBuffer}.
+     */
+    public static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    private TryFiles() {}
+
+    /**
+     * Maps the whole file at {@code path} in memory, read-only. The mapping stays valid once the
+     * file is closed, until the buffer is garbage collected.
+     *
+     * @return a {@link Failure} containing an {@link IOException} if the file is larger than
+     * {@value #MAX_CHUNK_SIZE} bytes; use {@link #mapChunks(Path)} instead.
+     */
+    public static Try<MappedByteBuffer> map(Path path) {
+        Objects.requireNonNull(path, "path is null");
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_CHUNK_SIZE) {
+                return new Failure<>(new IOException(path + " is too large to be mapped at once: " + size + " bytes"));
+            }
+            return Success.valueOf(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    /**
+     * Variant of {@link #mapChunks(Path, int)} using the largest possible chunks, so that only files
+     * larger than 2 GB are split.
+     */
+    public static Try<List<MappedByteBuffer>> mapChunks(Path path) {
+        return mapChunks(path, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Maps the file at {@code path} in memory, read-only, as consecutive buffers of
+     * {@code chunkSize} bytes (the last one may be smaller).
+     *
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive
+     */
+    public static Try<List<MappedByteBuffer>> mapChunks(Path path, int chunkSize) {
+        Objects.requireNonNull(path, "path is null");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            var chunks =
+                    new ArrayList<MappedByteBuffer>((int) Math.min(MAX_CHUNK_SIZE, (size + chunkSize - 1) / chunkSize));
+            for (long position = 0; position < size; position += chunkSize) {
+                chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, size - position)));
+            }
+            return Success.valueOf(List.copyOf(chunks));
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    /**
+     * Copies the file at {@code source} to {@code target}, which is created or truncated, with
+     * {@link FileChannel#transferTo}: on most platforms the bytes are copied by the kernel, without
+     * going through the Java heap.
+     *
+     * @return the number of bytes copied
+     */
+    public static TryLong transfer(Path source, Path target) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(target, "target is null");
+        try (var in = FileChannel.open(source, StandardOpenOption.READ);
+                var out = FileChannel.open(
+                        target,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            return SuccessLong.valueOf(transferRemaining(in, out));
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    /**
+     * Copies the bytes of {@code source}, from its current position to its end, to {@code target}
+     * with {@link FileChannel#transferTo}, then moves the position of {@code source} past them.
+     * Neither channel is closed.
+     * <p>The copy stops early if {@code target} does not accept any byte, as a non-blocking channel
+     * may do.
+     *
+     * @return the number of bytes copied
+     */
+    public static TryLong transfer(FileChannel source, WritableByteChannel target) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(target, "target is null");
+        try {
+            return SuccessLong.valueOf(transferRemaining(source, target));
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    /**
+     * Variant of {@link #lines(Path, Charset)} decoding the file as UTF-8.
+     */
+    public static Stream<Try<String>> lines(Path path) {
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return a lazy stream of the lines of the file at {@code path}, read through a buffer: a
+     * {@link Success} per line, then a {@link Failure} ending the stream if the file cannot be opened
+     * or read. The file is closed when the stream is.
+     */
+    public static Stream<Try<String>> lines(Path path, Charset charset) {
+        Objects.requireNonNull(path, "path is null");
+        Objects.requireNonNull(charset, "charset is null");
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(path, charset);
+        } catch (Throwable t) {
+            return Stream.of(new Failure<>(t));
+        }
+        return StreamSupport.stream(new LineSpliterator(reader), false).onClose(() -> closeQuietly(reader));
+    }
+
+    /**
+     * @return a lazy stream of {@code start} and of every file and directory below it, down to
+     * {@code maxDepth} levels; symbolic links are not followed below {@code start}. A {@code start}
+     * that does not exist, or a directory that cannot be read, yields a {@link Failure} in place of
+     * its entries.
+     * <p>The stream splits by directory, so that a {@link Stream#parallel() parallel} stream lists
+     * several directories at once. Directories are closed as soon as they are fully read, and the
+     * remaining ones when the stream is closed.
+     *
+     * @throws IllegalArgumentException if {@code maxDepth} is negative
+     */
+    public static Stream<Try<Path>> walk(Path start, int maxDepth) {
+        Objects.requireNonNull(start, "start is null");
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative: " + maxDepth);
+        }
+        Set<Closeable> open = ConcurrentHashMap.newKeySet();
+        return StreamSupport.stream(new WalkSpliterator(start, maxDepth, open), false)
+                .onClose(() -> open.forEach(TryFiles::closeQuietly));
+    }
+
+    private static long transferRemaining(FileChannel source, WritableByteChannel target) throws IOException {
+        long start = source.position();
+        long position = start;
+        long size = source.size();
+        while (position < size) {
+            long transferred = source.transferTo(position, size - position, target);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+        }
+        source.position(position);
+        return position - start;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // nothing left to read from it
+        }
+    }
+
+    private static final class LineSpliterator extends Spliterators.AbstractSpliterator<Try<String>> {
+        private final BufferedReader reader;
+        private boolean done;
+
+        LineSpliterator(BufferedReader reader) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Try<String>> action) {
+            if (done) {
+                return false;
+            }
+            Try<String> result;
+            try {
+                String line = reader.readLine();
+                if (line == null) {
+                    done = true;
+                    return false;
+                }
+                result = new Success<>(line);
+            } catch (Throwable t) {
+                done = true;
+                result = new Failure<>(t);
+            }
+            action.accept(result);
+            return true;
+        }
+    }
+
+    /**
+     * Lists one directory at a time, queuing the subdirectories it finds; {@link #trySplit()} hands
+     * half of the queued directories over to a new spliterator.
+     */
+    private static final class WalkSpliterator implements Spliterator<Try<Path>> {
+        private record Directory(Path path, int depth) {}
+
+        private final int maxDepth;
+        private final Set<Closeable> open;
+        private final ArrayDeque<Directory> pending = new ArrayDeque<>();
+        private Path start;
+        private DirectoryStream<Path> stream;
+        private Iterator<Path> entries;
+        private int depth;
+
+        WalkSpliterator(Path start, int maxDepth, Set<Closeable> open) {
+            this.start = start;
+            this.maxDepth = maxDepth;
+            this.open = open;
+        }
+
+        private WalkSpliterator(int maxDepth, Set<Closeable> open) {
+            this.maxDepth = maxDepth;
+            this.open = open;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Try<Path>> action) {
+            if (start != null) {
+                var path = start;
+                start = null;
+                Try<Path> result;
+                try {
+                    if (maxDepth > 0
+                            && Files.readAttributes(path, BasicFileAttributes.class)
+                                    .isDirectory()) {
+                        pending.add(new Directory(path, 1));
+                    }
+                    result = new Success<>(path);
+                } catch (Throwable t) {
+                    result = new Failure<>(t);
+                }
+                action.accept(result);
+                return true;
+            }
+            while (true) {
+                if (entries != null) {
+                    Try<Path> result;
+                    try {
+                        if (entries.hasNext()) {
+                            var path = entries.next();
+                            if (depth < maxDepth && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                                pending.add(new Directory(path, depth + 1));
+                            }
+                            action.accept(new Success<>(path));
+                            return true;
+                        }
+                        closeDirectory();
+                        continue;
+                    } catch (DirectoryIteratorException e) {
+                        closeDirectory();
+                        result = new Failure<>(e.getCause());
+                    }
+                    action.accept(result);
+                    return true;
+                }
+                var next = pending.poll();
+                if (next == null) {
+                    return false;
+                }
+                try {
+                    stream = Files.newDirectoryStream(next.path());
+                    open.add(stream);
+                    entries = stream.iterator();
+                    depth = next.depth();
+                } catch (Throwable t) {
+                    action.accept(new Failure<>(t));
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Try<Path>> trySplit() {
+            if (start != null || pending.size() < (entries == null ? 2 : 1)) {
+                return null;
+            }
+            var prefix = new WalkSpliterator(maxDepth, open);
+            for (int i = (pending.size() + 1) / 2; i > 0; i--) {
+                prefix.pending.add(pending.poll());
+            }
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+
+        private void closeDirectory() {
+            open.remove(stream);
+            closeQuietly(stream);
+            stream = null;
+            entries = null;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Adapters between {@link Flow} publishers and {@link Try}.
+ * <p>None of the adapters buffers items: the demand of the downstream subscriber is forwarded
+ * upstream as is, so a fast publisher can never send more items than a slow subscriber requested.
+ */
+public final class TryFlow {
+    private TryFlow() {}
+
+    /**
+     * What a stage does with a {@link Failure}.
+     */
+    public enum Routing {
+        /**
+         * Sends the {@link Failure} downstream like any other item.
+         */
+        EMIT,
+        /**
+         * Drops the {@link Failure} and requests one more item upstream in its place.
+         */
+        SKIP,
+        /**
+         * Cancels the upstream subscription and signals the {@link Failure#getCause() cause} with
+         * {@code onError}.
+         */
+        ON_ERROR
+    }
+
+    /**
+     * @return a {@link Flow.Publisher} applying {@code fn} to every item of {@code source}; each
+     * subscriber gets its own subscription to {@code source}
+     */
+    public static <T, R> Flow.Publisher<Try<R>> map(
+            Flow.Publisher<? extends T> source, CheckedFunction<? super T, ? extends R> fn, Routing routing) {
+        Objects.requireNonNull(fn, "fn is null");
+        return flatMap(
+                source,
+                item -> {
+                    try {
+                        return Success.valueOf(fn.checkedApply(item));
+                    } catch (Throwable t) {
+                        return new Failure<>(t);
+                    }
+                },
+                routing);
+    }
+
+    /**
+     * Variant of {@link #map(Flow.Publisher, CheckedFunction, Routing)} where the stage returns a
+     * {@link Try}, so that stages can be chained over a publisher of {@link Try}.
+     */
+    public static <T, R> Flow.Publisher<Try<R>> flatMap(
+            Flow.Publisher<? extends T> source,
+            Function<? super T, ? extends Try<? extends R>> stage,
+            Routing routing) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(stage, "stage is null");
+        Objects.requireNonNull(routing, "routing is null");
+        return subscriber -> {
+            var processor = new TryProcessor<T, R>(stage, routing);
+            processor.subscribe(subscriber);
+            source.subscribe(processor);
+        };
+    }
+
+    /**
+     * @return a {@link Flow.Processor} applying {@code stage} to every item it receives, for a single
+     * subscriber: a second subscriber is rejected with an {@link IllegalStateException}
+     */
+    public static <T, R> Flow.Processor<T, Try<R>> processor(
+            Function<? super T, ? extends Try<? extends R>> stage, Routing routing) {
+        Objects.requireNonNull(stage, "stage is null");
+        Objects.requireNonNull(routing, "routing is null");
+        return new TryProcessor<>(stage, routing);
+    }
+
+    /**
+     * Subscribes to {@code source} and collects the results of its items, requesting at most
+     * {@code prefetch} items ahead: a new batch is requested once three quarters of the previous
+     * ones were received.
+     * <p>Cancelling the returned {@link AsyncTry}, or one derived from it, cancels the subscription.
+     *
+     * @return an {@link AsyncTry} completed with the results of every item, or with the first
+     * {@link Failure}, in which case the subscription is cancelled, or with the error signalled by
+     * {@code source}
+     * @throws IllegalArgumentException if {@code prefetch} is not positive
+     */
+    public static <T> AsyncTry<List<T>> collect(Flow.Publisher<? extends Try<? extends T>> source, int prefetch) {
+        Objects.requireNonNull(source, "source is null");
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        var subscriber = new CollectingSubscriber<T>(prefetch);
+        source.subscribe(subscriber);
+        return AsyncTry.fromFuture(subscriber.result);
+    }
+
+    /**
+     * Forwards the downstream demand upstream, and the results of {@code stage} downstream. Demand
+     * requested before the upstream subscription arrives is accumulated, and a terminal signal
+     * received before the subscriber arrives is delivered on subscription.
+     */
+    private static final class TryProcessor<T, R> implements Flow.Processor<T, Try<R>>, Flow.Subscription {
+        private final Function<? super T, ? extends Try<? extends R>> stage;
+        private final Routing routing;
+        private final AtomicReference<Flow.Subscriber<? super Try<R>>> downstream = new AtomicReference<>();
+        private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+        private final AtomicLong pendingDemand = new AtomicLong();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private volatile boolean completed;
+        private volatile Throwable error;
+        // volatile as an invalid request ends the stream from the requesting thread
+        private volatile boolean done;
+
+        TryProcessor(Function<? super T, ? extends Try<? extends R>> stage, Routing routing) {
+            this.stage = stage;
+            this.routing = routing;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Try<R>> subscriber) {
+            Objects.requireNonNull(subscriber, "subscriber is null");
+            if (!downstream.compareAndSet(null, subscriber)) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {}
+
+                    @Override
+                    public void cancel() {}
+                });
+                subscriber.onError(new IllegalStateException("This processor only supports one subscriber"));
+                return;
+            }
+            subscriber.onSubscribe(this);
+            signalTerminal();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription, "subscription is null");
+            if (!upstream.compareAndSet(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            if (cancelled || done) {
+                subscription.cancel();
+                return;
+            }
+            long demand = pendingDemand.getAndSet(0);
+            if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Try<R> result;
+            try {
+                // a null result would make onNext throw, which Reactive Streams forbids (rule 2.13)
+                result = Objects.requireNonNull((Try<R>) stage.apply(item), "stage returned null");
+            } catch (Throwable t) {
+                result = new Failure<>(t);
+            }
+            if (result.isFailure()) {
+                if (routing == Routing.SKIP) {
+                    upstream.get().request(1);
+                    return;
+                }
+                if (routing == Routing.ON_ERROR) {
+                    upstream.get().cancel();
+                    onError(result.getCause());
+                    return;
+                }
+            }
+            downstream.get().onNext(result);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            error = Objects.requireNonNull(throwable, "throwable is null");
+            signalTerminal();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            completed = true;
+            signalTerminal();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // only upstream is cancelled: the error is still owed downstream (rule 3.9), and goes
+                // through onError so that it is signalled once, like any upstream terminal signal
+                var subscription = upstream.get();
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                onError(new IllegalArgumentException("request must be positive: " + n));
+                return;
+            }
+            var subscription = upstream.get();
+            if (subscription != null) {
+                subscription.request(n);
+                return;
+            }
+            pendingDemand.getAndAccumulate(
+                    n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            subscription = upstream.get();
+            if (subscription != null) {
+                long demand = pendingDemand.getAndSet(0);
+                if (demand > 0) {
+                    subscription.request(demand);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            var subscription = upstream.get();
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        private void signalTerminal() {
+            var subscriber = downstream.get();
+            if (subscriber == null || !(completed || error != null) || cancelled) {
+                return;
+            }
+            if (terminated.compareAndSet(false, true)) {
+                var throwable = error;
+                if (throwable != null) {
+                    subscriber.onError(throwable);
+                } else {
+                    subscriber.onComplete();
+                }
+            }
+        }
+    }
+
+    private static final class CollectingSubscriber<T> implements Flow.Subscriber<Try<? extends T>> {
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        private final List<T> values = new ArrayList<>();
+        private final int prefetch;
+        private final int limit;
+        private Flow.Subscription subscription;
+        private int received;
+
+        CollectingSubscriber(int prefetch) {
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription, "subscription is null");
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            result.whenComplete((values, error) -> {
+                if (result.isCancelled()) {
+                    subscription.cancel();
+                }
+            });
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(Try<? extends T> item) {
+            if (result.isDone()) {
+                return;
+            }
+            if (item.isFailure()) {
+                subscription.cancel();
+                result.completeExceptionally(item.getCause());
+                return;
+            }
+            values.add(item.get());
+            if (++received == limit) {
+                received = 0;
+                subscription.request(limit);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(values);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Specialization of {@link Try} for {@code int} results, which never boxes the result in an
+ * {@link Integer}.
+ * <p>Every operation behaves exactly like its {@link Try} counterpart; use {@link #boxed()} and
+ * {@link #fromTry(Try)} to convert between the two.
+ *
+ * @implNote some <b>fatal</b> exceptions will never be caught by this class and will be thrown
+ * directly back to the caller (see {@link Failure#isFatal(Throwable)} to see which exceptions are
+ * considered fatal).
+ */
+public sealed interface TryInt permits SuccessInt, FailureInt {
+
+    /**
+     * Creates a new {@link TryInt} containing the result of {@code supplier.getAsInt()}.
+     *
+     * @return if {@code supplier} does not throw any exception, a {@link SuccessInt} containing the
+     * value returned by {@code supplier};
+     * <p>otherwise, a {@link FailureInt} containing the exception thrown by {@code supplier}.
+     *
+     * @throws NullPointerException if {@code supplier} is null
+     */
+    static TryInt of(IntSupplier supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        try {
+            return SuccessInt.valueOf(supplier.getAsInt());
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    /**
+     * Creates a new {@link SuccessInt} with the given {@code value} as result.
+     */
+    static TryInt success(int value) {
+        return SuccessInt.valueOf(value);
+    }
+
+    /**
+     * Creates a new {@link FailureInt} with the given {@code exception} as cause.
+     */
+    static TryInt failure(Throwable exception) {
+        return new FailureInt(exception);
+    }
+
+    /**
+     * Unboxes the given {@link Try}.
+     *
+     * @return a {@link SuccessInt} if {@code boxed} is a {@link Success} with a non-null result;
+     * <p>a {@link FailureInt} containing a {@link NullPointerException} if the result is {@code null};
+     * <p>a {@link FailureInt} with the same cause if {@code boxed} is a {@link Failure}.
+     *
+     * @throws NullPointerException if {@code boxed} is null
+     */
+    static TryInt fromTry(Try<? extends Integer> boxed) {
+        Objects.requireNonNull(boxed, "boxed is null");
+        if (boxed.isFailure()) {
+            return new FailureInt(boxed.getCause());
+        }
+        Integer value = boxed.get();
+        return value == null ? new FailureInt(new NullPointerException("value is null")) : SuccessInt.valueOf(value);
+    }
+
+    /**
+     * Just like a {@code finally} block, runs the given {@code runnable} regardless of whether this
+     * is a {@link SuccessInt} or a {@link FailureInt}.
+     *
+     * @return itself, or a {@link FailureInt} containing the exception caught while running
+     * {@code runnable}, if any is thrown.
+     *
+     * @throws NullPointerException if {@code runnable} is null
+     */
+    default TryInt andFinally(Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable is null");
+        try {
+            runnable.run();
+            return this;
+        } catch (Throwable t) {
+            return new FailureInt(t);
+        }
+    }
+
+    /**
+     * @return itself if this is a {@link FailureInt};
+     * <p>if this is a {@link SuccessInt}, either:<ul>
+     *     <li>a {@link SuccessInt} containing the result of applying the given {@code mapper} to its result
+     *     <li>a {@link FailureInt} containing the caught exception, if {@code mapper} throws any.
+     * </ul>
+     */
+    TryInt map(IntUnaryOperator mapper);
+
+    /**
+     * Variant of {@link #map(IntUnaryOperator)} whose {@code mapper} returns a {@code long}.
+     */
+    TryLong mapToLong(IntToLongFunction mapper);
+
+    /**
+     * Variant of {@link #map(IntUnaryOperator)} whose {@code mapper} returns a {@code double}.
+     */
+    TryDouble mapToDouble(IntToDoubleFunction mapper);
+
+    /**
+     * Variant of {@link #map(IntUnaryOperator)} that boxes the result of {@code mapper} in a {@link Try}.
+     */
+    <U> Try<U> mapToObj(IntFunction<? extends U> mapper);
+
+    /**
+     * @return itself if this is a {@link FailureInt};
+     * <p>if this is a {@link SuccessInt}, either:<ul>
+     *     <li>the result of applying the given {@code mapper} to its {@link #getAsInt() result}.
+     *     <li>a {@link FailureInt} containing the caught exception, if {@code mapper} throws any.
+     * </ul>
+     */
+    TryInt flatMap(IntFunction<? extends TryInt> mapper);
+
+    /**
+     * Variant of {@link #flatMap(IntFunction)} whose {@code mapper} returns a {@link TryLong}.
+     */
+    TryLong flatMapToLong(IntFunction<? extends TryLong> mapper);
+
+    /**
+     * Variant of {@link #flatMap(IntFunction)} whose {@code mapper} returns a {@link TryDouble}.
+     */
+    TryDouble flatMapToDouble(IntFunction<? extends TryDouble> mapper);
+
+    /**
+     * @return the result of applying {@code onFailure} to the caught exception if this is a {@link FailureInt};
+     *         <p>the result of applying {@code onSuccess} to the result if this is a {@link SuccessInt}
+     */
+    <U> U fold(Function<? super Throwable, ? extends U> onFailure, IntFunction<? extends U> onSuccess);
+
+    /**
+     * Runs either {@code onFailure} or {@code onSuccess}, then returns itself.
+     *
+     * @return itself
+     */
+    TryInt peek(Consumer<? super Throwable> onFailure, IntConsumer onSuccess);
+
+    boolean isFailure();
+
+    boolean isSuccess();
+
+    /**
+     * @return {@link OptionalInt} containing the result if this is a {@link SuccessInt};
+     * <p>{@link OptionalInt#empty()} if this is a {@link FailureInt}.
+     */
+    OptionalInt getSuccess();
+
+    /**
+     * @return {@link Optional} containing the caught exception if this is a {@link FailureInt},
+     * {@link Optional#empty()} if this is a {@link SuccessInt}
+     */
+    Optional<Throwable> getFailure();
+
+    /**
+     * @return the result if this is a {@link SuccessInt}
+     *
+     * @throws NoSuchElementException if this is a {@link FailureInt}; the caught exception
+     * will be set as the cause
+     */
+    int getAsInt() throws NoSuchElementException;
+
+    /**
+     * @return the caught exception if this is a {@link FailureInt}
+     * @throws NoSuchElementException if this is a {@link SuccessInt}
+     */
+    Throwable getCause() throws NoSuchElementException;
+
+    /**
+     * @return itself, it this is a {@link FailureInt};
+     * <p>if this is a {@link SuccessInt}:
+     * <ul>
+     *     <li>if the result satisfies {@code p}, returns itself
+     *     <li>if the result does <b>NOT</b> satisfy {@code p},
+     *     returns a {@link FailureInt} containing a {@link NoSuchElementException}
+     *     <li>if {@code p} throws any exception, returns a {@link FailureInt} containing the caught
+     *     exception.
+     * </ul>
+     */
+    TryInt filter(IntPredicate p);
+
+    /**
+     * @return the {@link #getAsInt() result}, if this is a {@link SuccessInt}
+     * <p>{@code other}, if this is a {@link FailureInt}
+     */
+    default int orElse(int other) {
+        return isSuccess() ? getAsInt() : other;
+    }
+
+    /**
+     * @return the {@link #getAsInt() result}, if this is a {@link SuccessInt}
+     * <p>{@code fn.getAsInt()}, if this is a {@link FailureInt}
+     */
+    default int orElseGet(IntSupplier fn) {
+        return isSuccess() ? getAsInt() : fn.getAsInt();
+    }
+
+    /**
+     * @return itself, if this is a {@link SuccessInt}
+     * <p>{@code other}, if this is a {@link FailureInt}
+     */
+    default TryInt orElseTry(TryInt other) {
+        return isSuccess() ? this : other;
+    }
+
+    /**
+     * @return the {@link #getAsInt() result}, if this is a {@link SuccessInt}.
+     * @throws X if this is a {@link FailureInt} (throws the result of {@code exceptionMapper.apply(getCause())})
+     */
+    default <X extends Throwable> int orElseThrow(Function<? super Throwable, ? extends X> exceptionMapper) throws X {
+        if (isFailure()) {
+            throw exceptionMapper.apply(getCause());
+        } else {
+            return getAsInt();
+        }
+    }
+
+    /**
+     * Transforms a {@link FailureInt} into a {@link SuccessInt} by using {@code fn}.
+     * <p>If {@code fn} throws any exception, the output will be a {@link FailureInt} containing that
+     * exception as cause.
+     *
+     * @see Try#recover(Function)
+     */
+    TryInt recover(ToIntFunction<? super Throwable> fn);
+
+    /**
+     * Transforms a {@link FailureInt} into a {@link SuccessInt} by using {@code fn}, only if the
+     * {@link #getCause() cause} is an instance of {@code exceptionType} (i.e. {@code X}).
+     *
+     * @see Try#recover(Class, Function)
+     */
+    <X extends Throwable> TryInt recover(Class<X> exceptionType, ToIntFunction<? super X> fn);
+
+    /**
+     * Transforms a {@link FailureInt} into the {@link TryInt} returned by {@code fn}.
+     *
+     * @see Try#recoverWith(Function)
+     */
+    TryInt recoverWith(Function<? super Throwable, ? extends TryInt> fn);
+
+    /**
+     * Transforms a {@link FailureInt} into the {@link TryInt} returned by {@code fn}, only if the
+     * {@link #getCause() cause} is an instance of {@code exceptionType} (i.e. {@code X}).
+     *
+     * @see Try#recoverWith(Class, Function)
+     */
+    <X extends Throwable> TryInt recoverWith(Class<X> exceptionType, Function<? super X, ? extends TryInt> fn);
+
+    /**
+     * @return a {@link Success} containing the boxed result if this is a {@link SuccessInt};
+     * <p>a {@link Failure} with the same cause if this is a {@link FailureInt}.
+     */
+    Try<Integer> boxed();
+}
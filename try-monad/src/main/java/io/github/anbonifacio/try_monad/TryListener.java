@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+/**
+ * Receives the outcome of the operations that run user code and capture its result in a {@link Try}.
+ * <p>Listeners are registered with {@link TryMetrics#register(TryListener)} and called synchronously
+ * on the thread that ran the operation, so implementations must be thread-safe and cheap. An exception
+ * thrown by a listener is ignored and never changes the outcome of the operation.
+ */
+public interface TryListener {
+
+    /**
+     * Called when {@code operation} produced a {@link Success}.
+     *
+     * @param operationName the name given with {@link TryMetrics#named}, or {@code null}
+     */
+    void onSuccess(Operation operation, String operationName);
+
+    /**
+     * Called when {@code operation} produced a {@link Failure} with the given {@code cause}.
+     *
+     * @param operationName the name given with {@link TryMetrics#named}, or {@code null}
+     */
+    void onFailure(Operation operation, String operationName, Throwable cause);
+
+    /**
+     * The observed operations.
+     */
+    enum Operation {
+        /** {@link Try#of(java.util.function.Supplier)} and its checked variant */
+        OF("of"),
+        /** {@link Try#ofCallable(java.util.concurrent.Callable)} */
+        OF_CALLABLE("ofCallable"),
+        /** {@link Try#ofRunnable(Runnable)} and its checked variant */
+        OF_RUNNABLE("ofRunnable"),
+        /** {@link Try#recover} on a {@link Failure}, when the recovery function runs */
+        RECOVER("recover"),
+        /** {@link Try#recoverWith} on a {@link Failure}, when the recovery function runs */
+        RECOVER_WITH("recoverWith");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return the name of the {@link Try} method
+         */
+        public String label() {
+            return label;
+        }
+    }
+}
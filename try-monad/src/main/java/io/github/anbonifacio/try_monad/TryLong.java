@@ -0,0 +1,282 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Specialization of {@link Try} for {@code long} results, which never boxes the result in a
+ * {@link Long}.
+ * <p>Every operation behaves exactly like its {@link Try} counterpart; use {@link #boxed()} and
+ * {@link #fromTry(Try)} to convert between the two.
+ *
+ * @implNote some <b>fatal</b> exceptions will never be caught by this class and will be thrown
+ * directly back to the caller (see {@link Failure#isFatal(Throwable)} to see which exceptions are
+ * considered fatal).
+ */
+public sealed interface TryLong permits SuccessLong, FailureLong {
+
+    /**
+     * Creates a new {@link TryLong} containing the result of {@code supplier.getAsLong()}.
+     *
+     * @return if {@code supplier} does not throw any exception, a {@link SuccessLong} containing the
+     * value returned by {@code supplier};
+     * <p>otherwise, a {@link FailureLong} containing the exception thrown by {@code supplier}.
+     *
+     * @throws NullPointerException if {@code supplier} is null
+     */
+    static TryLong of(LongSupplier supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        try {
+            return SuccessLong.valueOf(supplier.getAsLong());
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    /**
+     * Creates a new {@link SuccessLong} with the given {@code value} as result.
+     */
+    static TryLong success(long value) {
+        return SuccessLong.valueOf(value);
+    }
+
+    /**
+     * Creates a new {@link FailureLong} with the given {@code exception} as cause.
+     */
+    static TryLong failure(Throwable exception) {
+        return new FailureLong(exception);
+    }
+
+    /**
+     * Unboxes the given {@link Try}.
+     *
+     * @return a {@link SuccessLong} if {@code boxed} is a {@link Success} with a non-null result;
+     * <p>a {@link FailureLong} containing a {@link NullPointerException} if the result is {@code null};
+     * <p>a {@link FailureLong} with the same cause if {@code boxed} is a {@link Failure}.
+     *
+     * @throws NullPointerException if {@code boxed} is null
+     */
+    static TryLong fromTry(Try<? extends Long> boxed) {
+        Objects.requireNonNull(boxed, "boxed is null");
+        if (boxed.isFailure()) {
+            return new FailureLong(boxed.getCause());
+        }
+        Long value = boxed.get();
+        return value == null ? new FailureLong(new NullPointerException("value is null")) : SuccessLong.valueOf(value);
+    }
+
+    /**
+     * Just like a {@code finally} block, runs the given {@code runnable} regardless of whether this
+     * is a {@link SuccessLong} or a {@link FailureLong}.
+     *
+     * @return itself, or a {@link FailureLong} containing the exception caught while running
+     * {@code runnable}, if any is thrown.
+     *
+     * @throws NullPointerException if {@code runnable} is null
+     */
+    default TryLong andFinally(Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable is null");
+        try {
+            runnable.run();
+            return this;
+        } catch (Throwable t) {
+            return new FailureLong(t);
+        }
+    }
+
+    /**
+     * @return itself if this is a {@link FailureLong};
+     * <p>if this is a {@link SuccessLong}, either:<ul>
+     *     <li>a {@link SuccessLong} containing the result of applying the given {@code mapper} to its result
+     *     <li>a {@link FailureLong} containing the caught exception, if {@code mapper} throws any.
+     * </ul>
+     */
+    TryLong map(LongUnaryOperator mapper);
+
+    /**
+     * Variant of {@link #map(LongUnaryOperator)} whose {@code mapper} returns an {@code int}.
+     */
+    TryInt mapToInt(LongToIntFunction mapper);
+
+    /**
+     * Variant of {@link #map(LongUnaryOperator)} whose {@code mapper} returns a {@code double}.
+     */
+    TryDouble mapToDouble(LongToDoubleFunction mapper);
+
+    /**
+     * Variant of {@link #map(LongUnaryOperator)} that boxes the result of {@code mapper} in a {@link Try}.
+     */
+    <U> Try<U> mapToObj(LongFunction<? extends U> mapper);
+
+    /**
+     * @return itself if this is a {@link FailureLong};
+     * <p>if this is a {@link SuccessLong}, either:<ul>
+     *     <li>the result of applying the given {@code mapper} to its {@link #getAsLong() result}.
+     *     <li>a {@link FailureLong} containing the caught exception, if {@code mapper} throws any.
+     * </ul>
+     */
+    TryLong flatMap(LongFunction<? extends TryLong> mapper);
+
+    /**
+     * Variant of {@link #flatMap(LongFunction)} whose {@code mapper} returns a {@link TryInt}.
+     */
+    TryInt flatMapToInt(LongFunction<? extends TryInt> mapper);
+
+    /**
+     * Variant of {@link #flatMap(LongFunction)} whose {@code mapper} returns a {@link TryDouble}.
+     */
+    TryDouble flatMapToDouble(LongFunction<? extends TryDouble> mapper);
+
+    /**
+     * @return the result of applying {@code onFailure} to the caught exception if this is a {@link FailureLong};
+     *         <p>the result of applying {@code onSuccess} to the result if this is a {@link SuccessLong}
+     */
+    <U> U fold(Function<? super Throwable, ? extends U> onFailure, LongFunction<? extends U> onSuccess);
+
+    /**
+     * Runs either {@code onFailure} or {@code onSuccess}, then returns itself.
+     *
+     * @return itself
+     */
+    TryLong peek(Consumer<? super Throwable> onFailure, LongConsumer onSuccess);
+
+    boolean isFailure();
+
+    boolean isSuccess();
+
+    /**
+     * @return {@link OptionalLong} containing the result if this is a {@link SuccessLong};
+     * <p>{@link OptionalLong#empty()} if this is a {@link FailureLong}.
+     */
+    OptionalLong getSuccess();
+
+    /**
+     * @return {@link Optional} containing the caught exception if this is a {@link FailureLong},
+     * {@link Optional#empty()} if this is a {@link SuccessLong}
+     */
+    Optional<Throwable> getFailure();
+
+    /**
+     * @return the result if this is a {@link SuccessLong}
+     *
+     * @throws NoSuchElementException if this is a {@link FailureLong}; the caught exception
+     * will be set as the cause
+     */
+    long getAsLong() throws NoSuchElementException;
+
+    /**
+     * @return the caught exception if this is a {@link FailureLong}
+     * @throws NoSuchElementException if this is a {@link SuccessLong}
+     */
+    Throwable getCause() throws NoSuchElementException;
+
+    /**
+     * @return itself, it this is a {@link FailureLong};
+     * <p>if this is a {@link SuccessLong}:
+     * <ul>
+     *     <li>if the result satisfies {@code p}, returns itself
+     *     <li>if the result does <b>NOT</b> satisfy {@code p},
+     *     returns a {@link FailureLong} containing a {@link NoSuchElementException}
+     *     <li>if {@code p} throws any exception, returns a {@link FailureLong} containing the caught
+     *     exception.
+     * </ul>
+     */
+    TryLong filter(LongPredicate p);
+
+    /**
+     * @return the {@link #getAsLong() result}, if this is a {@link SuccessLong}
+     * <p>{@code other}, if this is a {@link FailureLong}
+     */
+    default long orElse(long other) {
+        return isSuccess() ? getAsLong() : other;
+    }
+
+    /**
+     * @return the {@link #getAsLong() result}, if this is a {@link SuccessLong}
+     * <p>{@code fn.getAsLong()}, if this is a {@link FailureLong}
+     */
+    default long orElseGet(LongSupplier fn) {
+        return isSuccess() ? getAsLong() : fn.getAsLong();
+    }
+
+    /**
+     * @return itself, if this is a {@link SuccessLong}
+     * <p>{@code other}, if this is a {@link FailureLong}
+     */
+    default TryLong orElseTry(TryLong other) {
+        return isSuccess() ? this : other;
+    }
+
+    /**
+     * @return the {@link #getAsLong() result}, if this is a {@link SuccessLong}.
+     * @throws X if this is a {@link FailureLong} (throws the result of {@code exceptionMapper.apply(getCause())})
+     */
+    default <X extends Throwable> long orElseThrow(Function<? super Throwable, ? extends X> exceptionMapper) throws X {
+        if (isFailure()) {
+            throw exceptionMapper.apply(getCause());
+        } else {
+            return getAsLong();
+        }
+    }
+
+    /**
+     * Transforms a {@link FailureLong} into a {@link SuccessLong} by using {@code fn}.
+     * <p>If {@code fn} throws any exception, the output will be a {@link FailureLong} containing that
+     * exception as cause.
+     *
+     * @see Try#recover(Function)
+     */
+    TryLong recover(ToLongFunction<? super Throwable> fn);
+
+    /**
+     * Transforms a {@link FailureLong} into a {@link SuccessLong} by using {@code fn}, only if the
+     * {@link #getCause() cause} is an instance of {@code exceptionType} (i.e. {@code X}).
+     *
+     * @see Try#recover(Class, Function)
+     */
+    <X extends Throwable> TryLong recover(Class<X> exceptionType, ToLongFunction<? super X> fn);
+
+    /**
+     * Transforms a {@link FailureLong} into the {@link TryLong} returned by {@code fn}.
+     *
+     * @see Try#recoverWith(Function)
+     */
+    TryLong recoverWith(Function<? super Throwable, ? extends TryLong> fn);
+
+    /**
+     * Transforms a {@link FailureLong} into the {@link TryLong} returned by {@code fn}, only if the
+     * {@link #getCause() cause} is an instance of {@code exceptionType} (i.e. {@code X}).
+     *
+     * @see Try#recoverWith(Class, Function)
+     */
+    <X extends Throwable> TryLong recoverWith(Class<X> exceptionType, Function<? super X, ? extends TryLong> fn);
+
+    /**
+     * @return a {@link Success} containing the boxed result if this is a {@link SuccessLong};
+     * <p>a {@link Failure} with the same cause if this is a {@link FailureLong}.
+     */
+    Try<Long> boxed();
+}
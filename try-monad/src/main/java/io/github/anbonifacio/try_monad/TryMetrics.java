@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the {@link TryListener}s notified of the outcome of {@link Try} operations.
+ * <p>Metrics are opt-in: while no listener is registered, the only cost added to an operation is one
+ * read of a static field and a {@code null} check.
+ */
+public final class TryMetrics {
+    private static final ThreadLocal<String> OPERATION_NAME = new ThreadLocal<>();
+    private static final TryListener[] NO_LISTENERS = {};
+
+    private static TryListener[] listeners = NO_LISTENERS;
+
+    /**
+     * The listener called by the observed operations, or {@code null} if none is registered.
+     */
+    static volatile TryListener listener;
+
+    private TryMetrics() {}
+
+    /**
+     * Starts notifying {@code listener}; registering the same listener twice has no effect.
+     */
+    public static synchronized void register(TryListener listener) {
+        Objects.requireNonNull(listener, "listener is null");
+        if (Arrays.asList(listeners).contains(listener)) {
+            return;
+        }
+        var updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        install(updated);
+    }
+
+    /**
+     * Stops notifying {@code listener}.
+     */
+    public static synchronized void unregister(TryListener listener) {
+        install(Arrays.stream(listeners).filter(l -> l != listener).toArray(TryListener[]::new));
+    }
+
+    /**
+     * Runs {@code body}, attributing the operations it runs on the current thread to
+     * {@code operationName}.
+     *
+     * @return the result of {@code body}
+     */
+    public static <T> T named(String operationName, Supplier<? extends T> body) {
+        Objects.requireNonNull(body, "body is null");
+        String previous = OPERATION_NAME.get();
+        OPERATION_NAME.set(operationName);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                OPERATION_NAME.remove();
+            } else {
+                OPERATION_NAME.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the name given with {@link #named} on the current thread, or {@code null}
+     */
+    static String operationName() {
+        return OPERATION_NAME.get();
+    }
+
+    /**
+     * Notifies the registered listeners of {@code result}; callers check that {@link #listener} is not
+     * {@code null} first, so that nothing else runs when metrics are disabled.
+     *
+     * @return {@code result}
+     */
+    static <T> Try<T> record(TryListener.Operation operation, Try<T> result) {
+        var current = listener;
+        if (current != null) {
+            try {
+                if (result.isSuccess()) {
+                    current.onSuccess(operation, OPERATION_NAME.get());
+                } else {
+                    current.onFailure(operation, OPERATION_NAME.get(), result.getCause());
+                }
+            } catch (Throwable t) {
+                if (Failure.isFatal(t)) {
+                    throw t;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void install(TryListener[] updated) {
+        listeners = updated;
+        listener = switch (updated.length) {
+            case 0 -> null;
+            case 1 -> updated[0];
+            default -> new Composite(updated);};
+    }
+
+    private record Composite(TryListener[] listeners) implements TryListener {
+        @Override
+        public void onSuccess(Operation operation, String operationName) {
+            for (var listener : listeners) {
+                try {
+                    listener.onSuccess(operation, operationName);
+                } catch (RuntimeException ignored) {
+                    // a failing listener must not prevent the others from being notified
+                }
+            }
+        }
+
+        @Override
+        public void onFailure(Operation operation, String operationName, Throwable cause) {
+            for (var listener : listeners) {
+                try {
+                    listener.onFailure(operation, operationName, cause);
+                } catch (RuntimeException ignored) {
+                    // a failing listener must not prevent the others from being notified
+                }
+            }
+        }
+    }
+}
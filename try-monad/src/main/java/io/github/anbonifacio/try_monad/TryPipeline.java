@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A reusable chain of {@code map}/{@code flatMap}/{@code filter} stages from an input of type
+ * {@code A} to a {@link Try} of {@code T}.
+ * <p>Stages are only recorded when the pipeline is built; {@link #apply(Object)} then runs all of
+ * them in a single {@code try-catch}, without creating an intermediate {@link Success} per stage.
+ * The result is the same {@link Try} that the equivalent chain of eager calls would return.
+ * <p>Pipelines are immutable, so a single definition can be shared and applied to many inputs
+ * (even concurrently, as long as the stages themselves are thread-safe).
+ *
+ * @param <A> type of the input
+ * @param <T> type of the result
+ * @see Try#pipeline()
+ * @see LazyTry
+ */
+public final class TryPipeline<A, T> implements Function<A, Try<T>> {
+    private static final TryPipeline<?, ?> IDENTITY = new TryPipeline<>(new Stage[0]);
+
+    private final Stage[] stages;
+
+    private TryPipeline(Stage[] stages) {
+        this.stages = stages;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A> TryPipeline<A, A> identity() {
+        return (TryPipeline<A, A>) IDENTITY;
+    }
+
+    /**
+     * @see Try#map(Function)
+     */
+    public <U> TryPipeline<A, U> map(Function<? super T, ? extends U> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return append(new MapStage(mapper));
+    }
+
+    /**
+     * @see Try#flatMap(Function)
+     */
+    public <U> TryPipeline<A, U> flatMap(Function<? super T, ? extends Try<? extends U>> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return append(new FlatMapStage(mapper));
+    }
+
+    /**
+     * @see Try#filter(Predicate)
+     */
+    public TryPipeline<A, T> filter(Predicate<? super T> p) {
+        Objects.requireNonNull(p, "predicate is null");
+        return append(new FilterStage(p));
+    }
+
+    /**
+     * Runs every stage against {@code input}.
+     *
+     * @return a {@link Success} containing the result of the last stage, or a {@link Failure}
+     * containing the exception thrown by the first failing stage.
+     */
+    @Override
+    public Try<T> apply(A input) {
+        try {
+            return run(input);
+        } catch (Throwable t) {
+            return new Failure<>(t);
+        }
+    }
+
+    /**
+     * Runs every stage against {@code input}, letting exceptions propagate to the caller so that
+     * {@link LazyTry} can use a single {@code try-catch} around both its source and the stages.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Try<T> run(Object input) throws Throwable {
+        Object value = input;
+        for (Stage stage : stages) {
+            if (stage instanceof MapStage map) {
+                value = ((Function) map.mapper()).apply(value);
+            } else if (stage instanceof FlatMapStage flatMap) {
+                Try<?> result = (Try<?>) ((Function) flatMap.mapper()).apply(value);
+                if (result.isFailure()) {
+                    return (Try<T>) result;
+                }
+                value = result.get();
+            } else if (!((Predicate) ((FilterStage) stage).predicate()).test(value)) {
+                return new Failure<>(TryExceptions.predicateNotSatisfied(value));
+            }
+        }
+        return Success.valueOf((T) value);
+    }
+
+    private <U> TryPipeline<A, U> append(Stage stage) {
+        Stage[] appended = Arrays.copyOf(stages, stages.length + 1);
+        appended[stages.length] = stage;
+        return new TryPipeline<>(appended);
+    }
+
+    private sealed interface Stage permits MapStage, FlatMapStage, FilterStage {}
+
+    private record MapStage(Function<?, ?> mapper) implements Stage {}
+
+    private record FlatMapStage(Function<?, ?> mapper) implements Stage {}
+
+    private record FilterStage(Predicate<?> predicate) implements Stage {}
+}
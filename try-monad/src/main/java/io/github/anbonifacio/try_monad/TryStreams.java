@@ -0,0 +1,271 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedFunction;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy {@link Stream}s of {@link Try}, applying a {@link CheckedFunction} to every element of a
+ * source as it is consumed.
+ * <p>Elements are pulled from the source one at a time, so memory use does not depend on the size
+ * of the input. The returned streams split as well as their source, and an {@link Iterator} is split
+ * by copying batches of {@value #BATCH_SIZE} elements: besides what the source itself buffers, these
+ * batches are the only elements held by a parallel stream.
+ * <p>A {@link Mode} decides what happens to a {@link Failure}: it can be kept in the stream, dropped,
+ * or end the stream once a number of failures is reached.
+ */
+public final class TryStreams {
+    static final int BATCH_SIZE = 1024;
+
+    private TryStreams() {}
+
+    /**
+     * What a stream of {@link Try} does with a {@link Failure}.
+     *
+     * @param emitFailures {@code false} if failures are dropped from the stream
+     * @param maxFailures the number of failures after which the stream ends (the last one included)
+     */
+    public record Mode(boolean emitFailures, long maxFailures) {
+        /**
+         * Keeps every {@link Failure} in the stream.
+         */
+        public static final Mode CONTINUE = new Mode(true, Long.MAX_VALUE);
+
+        /**
+         * Drops every {@link Failure}, so that the stream only contains {@link Success} instances.
+         */
+        public static final Mode SKIP = new Mode(false, Long.MAX_VALUE);
+
+        /**
+         * Ends the stream with the first {@link Failure}, see {@link #stopAfter(long)} for parallel
+         * streams.
+         */
+        public static final Mode STOP_ON_FIRST_FAILURE = stopAfter(1);
+
+        public Mode {
+            if (maxFailures < 1) {
+                throw new IllegalArgumentException("maxFailures must be positive: " + maxFailures);
+            }
+        }
+
+        /**
+         * Ends the stream with its {@code n}-th {@link Failure}. In a parallel stream the failures
+         * are counted across all threads, in the order they are found rather than in encounter
+         * order: a failure found late in encounter order may cut off earlier elements that another
+         * thread had not reached yet, and the elements being processed when the limit is reached may
+         * still be emitted. The stream is therefore not {@link Spliterator#ORDERED ORDERED}.
+         *
+         * @throws IllegalArgumentException if {@code n} is not positive
+         */
+        public static Mode stopAfter(long n) {
+            return new Mode(true, n);
+        }
+
+        private boolean stops() {
+            return maxFailures != Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return a lazy stream of the results of applying {@code fn} to every element of {@code source}
+     */
+    public static <T, R> Stream<Try<R>> map(
+            Spliterator<T> source, CheckedFunction<? super T, ? extends R> fn, Mode mode, boolean parallel) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(fn, "fn is null");
+        Objects.requireNonNull(mode, "mode is null");
+        return StreamSupport.stream(new TrySpliterator<>(source, fn, mode, new AtomicLong()), parallel);
+    }
+
+    /**
+     * Variant of {@link #map(Spliterator, CheckedFunction, Mode, boolean)} pulling the elements from
+     * {@code source}, in order.
+     */
+    public static <T, R> Stream<Try<R>> map(
+            Iterator<T> source, CheckedFunction<? super T, ? extends R> fn, Mode mode, boolean parallel) {
+        Objects.requireNonNull(source, "source is null");
+        return map(new IteratorSpliterator<>(source), fn, mode, parallel);
+    }
+
+    /**
+     * Variant of {@link #map(Spliterator, CheckedFunction, Mode, boolean)} consuming {@code source}:
+     * the returned stream is parallel if {@code source} is, and closing it closes {@code source}.
+     */
+    public static <T, R> Stream<Try<R>> map(Stream<T> source, CheckedFunction<? super T, ? extends R> fn, Mode mode) {
+        Objects.requireNonNull(source, "source is null");
+        return TryStreams.<T, R>map(source.spliterator(), fn, mode, source.isParallel())
+                .onClose(source::close);
+    }
+
+    /**
+     * Applies {@code fn} to the elements of {@code source}, filtering and stopping according to
+     * {@code mode}. It is also the {@link Consumer} receiving the elements of {@code source}, so that
+     * advancing does not allocate a lambda.
+     */
+    private static final class TrySpliterator<T, R> implements Spliterator<Try<R>>, Consumer<T> {
+        private final Spliterator<T> source;
+        private final CheckedFunction<? super T, ? extends R> fn;
+        private final Mode mode;
+        private final AtomicLong failures;
+        private T element;
+
+        TrySpliterator(
+                Spliterator<T> source, CheckedFunction<? super T, ? extends R> fn, Mode mode, AtomicLong failures) {
+            this.source = source;
+            this.fn = fn;
+            this.mode = mode;
+            this.failures = failures;
+        }
+
+        @Override
+        public void accept(T t) {
+            element = t;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Try<R>> action) {
+            Objects.requireNonNull(action, "action is null");
+            while (!stopped() && source.tryAdvance(this)) {
+                T t = element;
+                element = null;
+                Try<R> result = apply(t);
+                if (result.isSuccess()) {
+                    action.accept(result);
+                    return true;
+                }
+                if (emit()) {
+                    action.accept(result);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Try<R>> action) {
+            Objects.requireNonNull(action, "action is null");
+            if (mode.stops()) {
+                while (tryAdvance(action)) {}
+            } else if (mode.emitFailures()) {
+                source.forEachRemaining(t -> action.accept(apply(t)));
+            } else {
+                source.forEachRemaining(t -> {
+                    var result = apply(t);
+                    if (result.isSuccess()) {
+                        action.accept(result);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public Spliterator<Try<R>> trySplit() {
+            if (stopped()) {
+                return null;
+            }
+            var prefix = source.trySplit();
+            return prefix == null ? null : new TrySpliterator<>(prefix, fn, mode, failures);
+        }
+
+        @Override
+        public long estimateSize() {
+            return stopped() ? 0 : source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            // with a stopping mode, a parallel stream does not emit a prefix of the encounter order
+            int kept = mode.stops() ? IMMUTABLE | CONCURRENT : ORDERED | IMMUTABLE | CONCURRENT;
+            int characteristics = source.characteristics() & kept;
+            if (mode.emitFailures() && !mode.stops()) {
+                characteristics |= source.characteristics() & (SIZED | SUBSIZED);
+            }
+            return characteristics | NONNULL;
+        }
+
+        private Try<R> apply(T t) {
+            try {
+                return Success.valueOf(fn.checkedApply(t));
+            } catch (Throwable e) {
+                return new Failure<>(e);
+            }
+        }
+
+        /**
+         * Counts a new failure.
+         *
+         * @return {@code true} if the failure should be emitted
+         */
+        private boolean emit() {
+            if (!mode.stops()) {
+                return mode.emitFailures();
+            }
+            return failures.incrementAndGet() <= mode.maxFailures() && mode.emitFailures();
+        }
+
+        private boolean stopped() {
+            return mode.stops() && failures.get() >= mode.maxFailures();
+        }
+    }
+
+    /**
+     * Pulls the elements of an {@link Iterator} and splits off batches of {@value #BATCH_SIZE}
+     * elements: unlike {@link Spliterators#spliteratorUnknownSize(Iterator, int)}, whose batches grow
+     * with every split, the memory held by a parallel stream stays bounded.
+     */
+    private static final class IteratorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Iterator<T> source;
+
+        IteratorSpliterator(Iterator<T> source) {
+            super(Long.MAX_VALUE, ORDERED);
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action, "action is null");
+            if (!source.hasNext()) {
+                return false;
+            }
+            action.accept(source.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action, "action is null");
+            source.forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (!source.hasNext()) {
+                return null;
+            }
+            var batch = new Object[BATCH_SIZE];
+            int size = 0;
+            do {
+                batch[size++] = source.next();
+            } while (size < BATCH_SIZE && source.hasNext());
+            return Spliterators.spliterator(batch, 0, size, ORDERED);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.InvalidValueException;
+import io.github.anbonifacio.try_monad.exceptions.TryExceptions;
+import io.github.anbonifacio.try_monad.exceptions.ValidationException;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedConsumer;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedPredicate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs independent checks on a value and accumulates every error, where {@link Try} stops at the
+ * first {@link Failure}; {@link #toTry()} converts the outcome back to a {@link Try}.
+ * <p>Errors are appended to a growable array, up to {@code maxErrors}; the errors found past that
+ * bound are only counted. Checks given as a predicate and a message create an
+ * {@link InvalidValueException}, without a stack trace if {@code stackless} is {@code true}, and
+ * only if the error is kept.
+ * <p>Like a {@link StringBuilder}, a {@link Validated} is meant to be used by a single thread.
+ *
+ * @param <T> the type of the validated value
+ * @see Try#validateAll(Object, CheckedConsumer[])
+ */
+public final class Validated<T> {
+    public static final int DEFAULT_MAX_ERRORS = 1024;
+
+    private static final Throwable[] EMPTY = {};
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final T value;
+    private final int maxErrors;
+    private final boolean stackless;
+    private Throwable[] errors = EMPTY;
+    private int size;
+    private int dropped;
+
+    private Validated(T value, int maxErrors, boolean stackless) {
+        this.value = value;
+        this.maxErrors = maxErrors;
+        this.stackless = stackless;
+    }
+
+    /**
+     * @return a validation of {@code value} keeping up to {@value #DEFAULT_MAX_ERRORS} errors,
+     * stackless if {@link TryExceptions#isStackless()}
+     */
+    public static <T> Validated<T> of(T value) {
+        return new Validated<>(value, DEFAULT_MAX_ERRORS, TryExceptions.isStackless());
+    }
+
+    /**
+     * @param maxErrors the maximum number of errors kept
+     * @param stackless {@code true} if the errors created from a message should not capture a stack
+     *                  trace
+     *
+     * @throws IllegalArgumentException if {@code maxErrors} is negative
+     */
+    public static <T> Validated<T> of(T value, int maxErrors, boolean stackless) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative: " + maxErrors);
+        }
+        return new Validated<>(value, maxErrors, stackless);
+    }
+
+    /**
+     * Runs {@code check} on the value, recording the exception it throws, if any, as an error.
+     */
+    public Validated<T> check(CheckedConsumer<? super T> check) {
+        Objects.requireNonNull(check, "check is null");
+        try {
+            check.checkedAccept(value);
+        } catch (Throwable t) {
+            add(t);
+        }
+        return this;
+    }
+
+    /**
+     * Records an {@link InvalidValueException} with the given {@code message} if the value does not
+     * satisfy {@code p}, or the exception thrown by {@code p}, if any.
+     */
+    public Validated<T> check(CheckedPredicate<? super T> p, String message) {
+        Objects.requireNonNull(p, "predicate is null");
+        try {
+            if (!p.checkedTest(value)) {
+                if (size < maxErrors) {
+                    append(new InvalidValueException(message, !stackless));
+                } else {
+                    dropped++;
+                }
+            }
+        } catch (Throwable t) {
+            add(t);
+        }
+        return this;
+    }
+
+    /**
+     * Records the {@link Failure#getCause() cause} of {@code result} as an error, if it is a
+     * {@link Failure}. If the cause is a {@link ValidationException}, its errors are recorded one by
+     * one.
+     */
+    public Validated<T> check(Try<?> result) {
+        Objects.requireNonNull(result, "result is null");
+        if (result.isFailure()) {
+            add(result.getCause());
+        }
+        return this;
+    }
+
+    public boolean isValid() {
+        return size == 0 && dropped == 0;
+    }
+
+    /**
+     * @return the total number of errors found, kept or not
+     */
+    public int errorCount() {
+        return size + dropped;
+    }
+
+    /**
+     * @return the kept errors, in the order they were found
+     */
+    public List<Throwable> errors() {
+        return Collections.unmodifiableList(Arrays.asList(errors).subList(0, size));
+    }
+
+    /**
+     * @return a {@link Success} containing the value if no error was found, otherwise a
+     * {@link Failure} containing a {@link ValidationException} with every kept error
+     */
+    public Try<T> toTry() {
+        return isValid() ? Success.valueOf(value) : new Failure<>(new ValidationException(errors, size, dropped));
+    }
+
+    private void add(Throwable error) {
+        if (Failure.isFatal(error)) {
+            Failure.sneakyThrow(error);
+        }
+        if (error instanceof ValidationException nested) {
+            for (var e : nested.getErrors()) {
+                add(e);
+            }
+            dropped += nested.getDroppedCount();
+        } else if (size < maxErrors) {
+            append(error);
+        } else {
+            dropped++;
+        }
+    }
+
+    private void append(Throwable error) {
+        if (size == errors.length) {
+            errors = Arrays.copyOf(errors, Math.min(maxErrors, Math.max(INITIAL_CAPACITY, size * 2)));
+        }
+        errors[size++] = error;
+    }
+}
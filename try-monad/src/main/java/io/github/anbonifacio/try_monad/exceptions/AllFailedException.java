@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.exceptions;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cause of the {@link io.github.anbonifacio.try_monad.Failure} returned by
+ * {@link io.github.anbonifacio.try_monad.Try#any} when every supplier failed.
+ * <p>The causes are held in an array rather than added as suppressed exceptions to one of them: they
+ * may be shared, preallocated exceptions that must not be modified. Like
+ * {@link ValidationException}, this exception never captures a stack trace of its own; its own
+ * {@link #getCause() cause} is the one of the last supplier.
+ */
+public class AllFailedException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Throwable[] causes;
+
+    /**
+     * @param causes the causes of the failed suppliers, in the order the suppliers were given
+     * @throws IllegalArgumentException if {@code causes} is empty
+     */
+    public AllFailedException(List<? extends Throwable> causes) {
+        super(null, last(causes), false, false);
+        this.causes = causes.toArray(new Throwable[0]);
+    }
+
+    /**
+     * @return the causes of the failed suppliers, in the order the suppliers were given
+     */
+    public List<Throwable> getCauses() {
+        return Collections.unmodifiableList(Arrays.asList(causes));
+    }
+
+    @Override
+    public String getMessage() {
+        return causes.length + " supplier(s) failed, last: " + causes[causes.length - 1];
+    }
+
+    private static Throwable last(List<? extends Throwable> causes) {
+        if (causes.isEmpty()) {
+            throw new IllegalArgumentException("causes is empty");
+        }
+        return causes.get(causes.size() - 1);
+    }
+}
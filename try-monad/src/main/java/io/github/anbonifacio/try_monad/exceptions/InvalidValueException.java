@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.exceptions;
+
+import java.io.Serial;
+
+/**
+ * An error found by a validation check given as a predicate and a message, see
+ * {@link io.github.anbonifacio.try_monad.Validated#check(io.github.anbonifacio.try_monad.interfaces.checked.CheckedPredicate, String)}.
+ * <p>The stack trace is only captured if {@code writableStackTrace} is {@code true}.
+ */
+public class InvalidValueException extends IllegalArgumentException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final boolean writableStackTrace;
+
+    public InvalidValueException(String message, boolean writableStackTrace) {
+        super(message);
+        this.writableStackTrace = writableStackTrace;
+        if (writableStackTrace) {
+            super.fillInStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // called by the Throwable constructor before writableStackTrace is assigned
+        return writableStackTrace ? super.fillInStackTrace() : this;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.exceptions;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.NoSuchElementException;
+
+/**
+ * Thrown when the result of a {@link io.github.anbonifacio.try_monad.Success} does not satisfy the
+ * predicate given to {@link io.github.anbonifacio.try_monad.Try#filter(java.util.function.Predicate)}.
+ * <p>The message is only built (calling {@code toString()} on the rejected value) the first time
+ * it is read, and the stack trace is only captured if {@code writableStackTrace} is {@code true}.
+ */
+public class PredicateNotSatisfiedException extends NoSuchElementException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object value;
+    private final boolean writableStackTrace;
+    private String message;
+
+    public PredicateNotSatisfiedException(Object value, boolean writableStackTrace) {
+        this.value = value;
+        this.writableStackTrace = writableStackTrace;
+        if (writableStackTrace) {
+            super.fillInStackTrace();
+        }
+    }
+
+    /**
+     * @return the value that did not satisfy the predicate ({@code null} after deserialization)
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = "Predicate does not hold for " + value;
+        }
+        return message;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // called by the Throwable constructor before writableStackTrace is assigned
+        return writableStackTrace ? super.fillInStackTrace() : this;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
+}
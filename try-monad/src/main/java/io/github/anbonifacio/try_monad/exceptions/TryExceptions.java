@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.exceptions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Factory for the exceptions created by the library itself (as opposed to the ones thrown by user
+ * code and captured in a {@link io.github.anbonifacio.try_monad.Failure}).
+ * <p>By default these exceptions capture a stack trace like any other exception. Setting the
+ * {@value #STACKLESS_PROPERTY} system property to {@code true} disables it, which makes
+ * {@code filter} rejections and {@code get()} on a {@code Failure} much cheaper when they are used as
+ * regular control flow.
+ */
+public final class TryExceptions {
+    public static final String STACKLESS_PROPERTY = "io.github.anbonifacio.try_monad.stackless";
+
+    private static final boolean STACKLESS = Boolean.getBoolean(STACKLESS_PROPERTY);
+
+    private TryExceptions() {}
+
+    /**
+     * @return {@code true} if library-generated exceptions are created without a stack trace
+     */
+    public static boolean isStackless() {
+        return STACKLESS;
+    }
+
+    /**
+     * @return the exception thrown by {@code get()} on a {@code Failure} with the given {@code cause}
+     */
+    public static NoSuchElementException failureGet(Throwable cause) {
+        return STACKLESS
+                ? new StacklessNoSuchElementException("Try is Failure", cause)
+                : new NoSuchElementException("Try is Failure", cause);
+    }
+
+    /**
+     * @return the exception returned by {@code getCause()} on a {@code Success}
+     */
+    public static NoSuchElementException successGetCause() {
+        return STACKLESS
+                ? new StacklessNoSuchElementException("getCause on Success")
+                : new NoSuchElementException("getCause on Success");
+    }
+
+    /**
+     * @return the exception used when {@code value} does not satisfy a {@code filter} predicate
+     */
+    public static NoSuchElementException predicateNotSatisfied(Object value) {
+        return new PredicateNotSatisfiedException(value, !STACKLESS);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.exceptions;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cause of the {@link io.github.anbonifacio.try_monad.Failure} returned by a validation that found
+ * one or more errors, see {@link io.github.anbonifacio.try_monad.Validated}.
+ * <p>The errors are held in an array rather than recorded as suppressed exceptions, and this
+ * exception never captures a stack trace of its own: it would only point at the end of the
+ * validation, while each error keeps its own.
+ */
+public class ValidationException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Throwable[] errors;
+    private final int droppedCount;
+
+    /**
+     * @param errors the array holding the errors, of which only the first {@code size} are copied
+     * @param droppedCount the number of errors found but not kept, once the bound was reached
+     */
+    public ValidationException(Throwable[] errors, int size, int droppedCount) {
+        super(null, null, false, false);
+        this.errors = Arrays.copyOf(errors, size);
+        this.droppedCount = droppedCount;
+    }
+
+    /**
+     * @return the kept errors, in the order they were found
+     */
+    public List<Throwable> getErrors() {
+        return Collections.unmodifiableList(Arrays.asList(errors));
+    }
+
+    /**
+     * @return the number of errors found but not kept, once the bound was reached
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * @return the total number of errors found, kept or not
+     */
+    public int getErrorCount() {
+        return errors.length + droppedCount;
+    }
+
+    @Override
+    public String getMessage() {
+        var message = new StringBuilder().append(getErrorCount()).append(" validation error(s)");
+        if (errors.length > 0) {
+            message.append(", first: ").append(errors[0]);
+        }
+        return message.toString();
+    }
+}
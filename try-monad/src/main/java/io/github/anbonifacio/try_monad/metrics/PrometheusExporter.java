@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serves the counters of a {@link StripedTryMetrics} in the Prometheus text exposition format, on the
+ * {@code /metrics} path of the JDK built-in HTTP server.
+ */
+public final class PrometheusExporter implements AutoCloseable {
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StripedTryMetrics metrics;
+    private final HttpServer server;
+
+    private PrometheusExporter(StripedTryMetrics metrics, HttpServer server) {
+        this.metrics = metrics;
+        this.server = server;
+    }
+
+    /**
+     * Starts serving {@code metrics} on {@code address}; use port {@code 0} to pick a free port.
+     *
+     * @throws UncheckedIOException if the server cannot be bound
+     */
+    public static PrometheusExporter start(StripedTryMetrics metrics, InetSocketAddress address) {
+        Objects.requireNonNull(metrics, "metrics is null");
+        Objects.requireNonNull(address, "address is null");
+        try {
+            var server = HttpServer.create(address, 0);
+            var exporter = new PrometheusExporter(metrics, server);
+            server.createContext("/metrics", exporter::handle);
+            server.start();
+            return exporter;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return the counters of {@code metrics} in the Prometheus text exposition format
+     */
+    public static String render(StripedTryMetrics metrics) {
+        var successes = new ArrayList<String>();
+        var failures = new ArrayList<String>();
+        metrics.forEach(new StripedTryMetrics.CounterVisitor() {
+            @Override
+            public void success(StripedTryMetrics.Key key, long count) {
+                successes.add(sample(
+                        "try_monad_success_total",
+                        "operation=\"" + key.operation().label() + "\",name=\"" + escape(key.operationName()) + "\"",
+                        count));
+            }
+
+            @Override
+            public void failure(StripedTryMetrics.FailureKey key, long count) {
+                failures.add(sample(
+                        "try_monad_failure_total",
+                        "operation=\"" + key.operation().label() + "\",name=\"" + escape(key.operationName())
+                                + "\",exception=\"" + key.exceptionType().getName() + "\"",
+                        count));
+            }
+        });
+        var out = new StringBuilder();
+        family(out, "try_monad_success_total", "Try operations that produced a Success.", successes);
+        family(out, "try_monad_failure_total", "Try operations that produced a Failure.", failures);
+        return out.toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render(metrics).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private static void family(StringBuilder out, String name, String help, List<String> samples) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        samples.sort(Comparator.naturalOrder());
+        samples.forEach(out::append);
+    }
+
+    private static String sample(String name, String labels, long count) {
+        return name + '{' + labels + "} " + count + '\n';
+    }
+
+    private static String escape(String labelValue) {
+        if (labelValue == null) {
+            return "";
+        }
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.metrics;
+
+import io.github.anbonifacio.try_monad.TryListener;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TryListener} counting outcomes by operation, operation name and, for failures, exception
+ * class.
+ * <p>Each counter is a {@link LongAdder}, so threads recording the same outcome do not contend on a
+ * single memory location. Counters are found through an array indexed by operation, then maps keyed
+ * by operation name and exception class, so recording an outcome allocates nothing once its counter
+ * exists.
+ */
+public final class StripedTryMetrics implements TryListener {
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private volatile OperationCounters[] counters = newCounters();
+
+    /**
+     * A success counter.
+     *
+     * @param operationName the name given with {@code TryMetrics.named}, or {@code null}
+     */
+    public record Key(Operation operation, String operationName) {
+        public Key {
+            Objects.requireNonNull(operation, "operation is null");
+        }
+    }
+
+    /**
+     * A failure counter.
+     *
+     * @param operationName the name given with {@code TryMetrics.named}, or {@code null}
+     */
+    public record FailureKey(Operation operation, String operationName, Class<? extends Throwable> exceptionType) {
+        public FailureKey {
+            Objects.requireNonNull(operation, "operation is null");
+            Objects.requireNonNull(exceptionType, "exceptionType is null");
+        }
+    }
+
+    /**
+     * Callback receiving the value of every counter.
+     */
+    public interface CounterVisitor {
+        void success(Key key, long count);
+
+        void failure(FailureKey key, long count);
+    }
+
+    @Override
+    public void onSuccess(Operation operation, String operationName) {
+        counters[operation.ordinal()].named(operationName).successes.increment();
+    }
+
+    @Override
+    public void onFailure(Operation operation, String operationName, Throwable cause) {
+        counters[operation.ordinal()]
+                .named(operationName)
+                .failures(cause.getClass())
+                .increment();
+    }
+
+    public long successCount(Operation operation, String operationName) {
+        var named = counters[operation.ordinal()].find(operationName);
+        return named == null ? 0 : named.successes.sum();
+    }
+
+    public long failureCount(Operation operation, String operationName, Class<? extends Throwable> exceptionType) {
+        var named = counters[operation.ordinal()].find(operationName);
+        var counter = named == null ? null : named.failures.get(exceptionType);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Passes the current value of every counter to {@code visitor}; counters updated concurrently may
+     * or may not include the latest increments.
+     */
+    public void forEach(CounterVisitor visitor) {
+        var current = counters;
+        for (var operation : OPERATIONS) {
+            current[operation.ordinal()].forEach(operation, visitor);
+        }
+    }
+
+    public void reset() {
+        counters = newCounters();
+    }
+
+    private static OperationCounters[] newCounters() {
+        var counters = new OperationCounters[OPERATIONS.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new OperationCounters();
+        }
+        return counters;
+    }
+
+    private static final class OperationCounters {
+        // ConcurrentHashMap does not accept null keys: calls without a name have their own counters
+        private final NamedCounters unnamed = new NamedCounters();
+        private final ConcurrentHashMap<String, NamedCounters> byName = new ConcurrentHashMap<>();
+
+        private NamedCounters named(String operationName) {
+            if (operationName == null) {
+                return unnamed;
+            }
+            var named = byName.get(operationName);
+            return named != null ? named : byName.computeIfAbsent(operationName, n -> new NamedCounters());
+        }
+
+        private NamedCounters find(String operationName) {
+            return operationName == null ? unnamed : byName.get(operationName);
+        }
+
+        private void forEach(Operation operation, CounterVisitor visitor) {
+            unnamed.forEach(operation, null, visitor);
+            byName.forEach((name, named) -> named.forEach(operation, name, visitor));
+        }
+    }
+
+    private static final class NamedCounters {
+        private final LongAdder successes = new LongAdder();
+        private final ConcurrentHashMap<Class<? extends Throwable>, LongAdder> failures = new ConcurrentHashMap<>();
+
+        private LongAdder failures(Class<? extends Throwable> exceptionType) {
+            var counter = failures.get(exceptionType);
+            return counter != null ? counter : failures.computeIfAbsent(exceptionType, t -> new LongAdder());
+        }
+
+        private void forEach(Operation operation, String operationName, CounterVisitor visitor) {
+            long count = successes.sum();
+            if (count > 0) {
+                visitor.success(new Key(operation, operationName), count);
+            }
+            failures.forEach(
+                    (type, counter) -> visitor.failure(new FailureKey(operation, operationName, type), counter.sum()));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes how long a {@link RetryPolicy} waits before the next attempt.
+ */
+public sealed interface Backoff permits Backoff.Fixed, Backoff.Exponential, Backoff.DecorrelatedJitter {
+
+    /**
+     * @param attempt the number of attempts made so far (starting from 1)
+     * @param previousDelayNanos the delay used before the previous attempt ({@code 0} before the
+     *                           first retry)
+     * @return the delay before the next attempt, in nanoseconds
+     */
+    long delayNanos(int attempt, long previousDelayNanos);
+
+    /**
+     * @return a {@link Backoff} that always waits {@code delay}
+     */
+    static Backoff fixed(Duration delay) {
+        return new Fixed(requireNonNegative(delay, "delay").toNanos());
+    }
+
+    /**
+     * @return a {@link Backoff} waiting {@code initial}, then multiplying the delay by
+     * {@code multiplier} after every attempt, up to {@code max}
+     *
+     * @throws IllegalArgumentException if {@code multiplier} is less than 1
+     */
+    static Backoff exponential(Duration initial, double multiplier, Duration max) {
+        if (!(multiplier >= 1)) {
+            throw new IllegalArgumentException("multiplier must be >= 1: " + multiplier);
+        }
+        return new Exponential(
+                requireNonNegative(initial, "initial").toNanos(),
+                multiplier,
+                requireNonNegative(max, "max").toNanos());
+    }
+
+    /**
+     * @return the "decorrelated jitter" {@link Backoff}: each delay is a random value between
+     * {@code base} and three times the previous delay, capped at {@code max}. It spreads the retries
+     * of concurrent callers better than a plain exponential backoff.
+     */
+    static Backoff decorrelatedJitter(Duration base, Duration max) {
+        return new DecorrelatedJitter(
+                requireNonNegative(base, "base").toNanos(),
+                requireNonNegative(max, "max").toNanos());
+    }
+
+    private static Duration requireNonNegative(Duration duration, String name) {
+        Objects.requireNonNull(duration, name + " is null");
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must not be negative: " + duration);
+        }
+        return duration;
+    }
+
+    record Fixed(long delayNanos) implements Backoff {
+        @Override
+        public long delayNanos(int attempt, long previousDelayNanos) {
+            return delayNanos;
+        }
+    }
+
+    record Exponential(long initialNanos, double multiplier, long maxNanos) implements Backoff {
+        @Override
+        public long delayNanos(int attempt, long previousDelayNanos) {
+            double delay = initialNanos * Math.pow(multiplier, attempt - 1);
+            return delay >= maxNanos ? maxNanos : (long) delay;
+        }
+    }
+
+    record DecorrelatedJitter(long baseNanos, long maxNanos) implements Backoff {
+        @Override
+        public long delayNanos(int attempt, long previousDelayNanos) {
+            long upper = Math.min(maxNanos, Math.max(baseNanos, previousDelayNanos) * 3);
+            long delay = upper > baseNanos ? ThreadLocalRandom.current().nextLong(baseNanos, upper + 1) : baseNanos;
+            return Math.min(delay, maxNanos);
+        }
+    }
+}
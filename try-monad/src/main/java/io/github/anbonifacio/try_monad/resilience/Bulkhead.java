@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.Failure;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.exceptions.BulkheadFullException;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Limits the number of concurrent calls to an operation, so that a slow dependency cannot take every
+ * thread of the application.
+ * <p>A call over the limit waits in a bounded queue for at most the configured time; when the queue
+ * is full, or the wait times out, the call is not attempted and a shared {@link Failure} whose cause
+ * is a stackless {@link BulkheadFullException} is returned immediately.
+ * <p>Two flavours are available: a {@link SemaphoreBulkhead} runs the calls on the calling threads,
+ * a {@link ThreadPoolBulkhead} on a dedicated pool of threads.
+ */
+public sealed interface Bulkhead permits SemaphoreBulkhead, ThreadPoolBulkhead {
+
+    static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Runs {@code supplier} when the bulkhead has capacity for it, blocking the calling thread while
+     * the call is queued and, for a {@link ThreadPoolBulkhead}, while it runs.
+     *
+     * @return the result of {@code supplier}, or the shared rejection {@link Failure}
+     */
+    <T> Try<T> execute(CheckedSupplier<? extends T> supplier);
+
+    String name();
+
+    /**
+     * @return the number of calls currently running
+     */
+    int inFlight();
+
+    /**
+     * @return the number of calls currently waiting for capacity
+     */
+    int queued();
+
+    final class Builder {
+        private final String name;
+        private int maxConcurrentCalls = 25;
+        private int maxQueuedCalls;
+        private Duration maxWait = Duration.ZERO;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "name is null");
+        }
+
+        /**
+         * @param maxConcurrentCalls the number of calls allowed to run at the same time (default: 25)
+         */
+        public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+            if (maxConcurrentCalls <= 0) {
+                throw new IllegalArgumentException("maxConcurrentCalls must be positive: " + maxConcurrentCalls);
+            }
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        /**
+         * @param maxQueuedCalls the number of calls allowed to wait for capacity (default: 0)
+         */
+        public Builder maxQueuedCalls(int maxQueuedCalls) {
+            if (maxQueuedCalls < 0) {
+                throw new IllegalArgumentException("maxQueuedCalls must not be negative: " + maxQueuedCalls);
+            }
+            this.maxQueuedCalls = maxQueuedCalls;
+            return this;
+        }
+
+        /**
+         * @param maxWait how long a queued call waits for capacity before being rejected (default: 0)
+         */
+        public Builder maxWait(Duration maxWait) {
+            Objects.requireNonNull(maxWait, "maxWait is null");
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait must not be negative: " + maxWait);
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * @return a bulkhead running the calls on the calling threads
+         */
+        public SemaphoreBulkhead buildSemaphore() {
+            return new SemaphoreBulkhead(name, maxConcurrentCalls, maxQueuedCalls, maxWait, rejection());
+        }
+
+        /**
+         * @return a bulkhead running the calls on {@code maxConcurrentCalls} dedicated daemon threads,
+         * to be {@link ThreadPoolBulkhead#close() closed} when no longer used
+         */
+        public ThreadPoolBulkhead buildThreadPool() {
+            return new ThreadPoolBulkhead(
+                    name, maxConcurrentCalls, maxQueuedCalls, maxWait, HashedWheelTimer.shared(), rejection());
+        }
+
+        private Failure<?> rejection() {
+            return new Failure<>(new BulkheadFullException("Bulkhead '" + name + "' is full"));
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.Failure;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.exceptions.CallNotPermittedException;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Stops calling an operation that keeps failing, and fails fast instead.
+ * <p>While {@link State#CLOSED CLOSED}, calls go through and their outcome is recorded in a sliding
+ * window. When the failure rate in the window reaches the threshold, the breaker becomes
+ * {@link State#OPEN OPEN}: calls are not attempted and immediately return a shared {@link Failure}
+ * whose cause is a stackless {@link CallNotPermittedException}. After the configured wait, the
+ * breaker becomes {@link State#HALF_OPEN HALF_OPEN} and lets a limited number of trial calls through:
+ * if they all succeed it closes again, and the first failure opens it again.
+ * <p>State transitions are made by a single CAS on an immutable phase object, and outcomes are
+ * recorded with atomic increments and striped counters: the breaker never takes a lock.
+ */
+public final class CircuitBreaker {
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumNumberOfCalls;
+    private final long waitDurationInOpenStateNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final Predicate<? super Throwable> recordFailure;
+    private final Supplier<SlidingWindow> slidingWindow;
+    private final LongSupplier clock;
+    private final Failure<?> rejection;
+    private final AtomicReference<Phase> phase;
+
+    private CircuitBreaker(Builder builder) {
+        this.name = builder.name;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.minimumNumberOfCalls = builder.minimumNumberOfCalls;
+        this.waitDurationInOpenStateNanos = builder.waitDurationInOpenState.toNanos();
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+        this.recordFailure = builder.recordFailure;
+        this.clock = builder.clock;
+        this.slidingWindow = builder.slidingWindow();
+        this.rejection =
+                new Failure<>(new CallNotPermittedException("CircuitBreaker '" + name + "' does not permit calls"));
+        this.phase = new AtomicReference<>(Phase.closed(slidingWindow.get()));
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * @return the result of {@code supplier}, or the shared rejection {@link Failure} if the breaker
+     * does not permit the call
+     */
+    public <T> Try<T> execute(CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        Phase acquired = acquirePermission();
+        if (acquired == null) {
+            return rejected();
+        }
+        Try<T> result;
+        try {
+            result = Try.of(supplier);
+        } catch (Throwable fatal) {
+            onFatal(acquired);
+            throw fatal;
+        }
+        onResult(acquired, result);
+        return result;
+    }
+
+    /**
+     * Variant of {@link #execute(CheckedSupplier)} for a {@link Callable}.
+     */
+    public <T> Try<T> executeCallable(Callable<? extends T> callable) {
+        Objects.requireNonNull(callable, "callable is null");
+        Phase acquired = acquirePermission();
+        if (acquired == null) {
+            return rejected();
+        }
+        Try<T> result;
+        try {
+            result = Try.ofCallable(callable);
+        } catch (Throwable fatal) {
+            onFatal(acquired);
+            throw fatal;
+        }
+        onResult(acquired, result);
+        return result;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public State state() {
+        return phase.get().state;
+    }
+
+    /**
+     * @return the percentage of failed calls in the sliding window, or {@code -1} if the breaker is
+     * not {@link State#CLOSED CLOSED} or not enough calls have been recorded yet
+     */
+    public double failureRate() {
+        var current = phase.get();
+        if (current.state != State.CLOSED) {
+            return -1;
+        }
+        long calls = current.window.calls();
+        return calls < minimumNumberOfCalls ? -1 : current.window.failures() * 100.0 / calls;
+    }
+
+    /**
+     * Forces the breaker back to {@link State#CLOSED CLOSED}, with an empty sliding window.
+     */
+    public void reset() {
+        phase.set(Phase.closed(slidingWindow.get()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Try<T> rejected() {
+        return (Try<T>) rejection;
+    }
+
+    /**
+     * @return the phase the permission was acquired in, or {@code null} if the call is not permitted
+     */
+    private Phase acquirePermission() {
+        while (true) {
+            Phase current = phase.get();
+            if (current.state == State.CLOSED) {
+                return current;
+            }
+            if (current.state == State.OPEN) {
+                if (clock.getAsLong() - current.openedAt < waitDurationInOpenStateNanos) {
+                    return null;
+                }
+                var halfOpen = Phase.halfOpen(permittedCallsInHalfOpenState);
+                if (!phase.compareAndSet(current, halfOpen)) {
+                    continue;
+                }
+                current = halfOpen;
+            }
+            return current.permits.getAndDecrement() > 0 ? current : null;
+        }
+    }
+
+    private void onResult(Phase acquired, Try<?> result) {
+        boolean failure = result.isFailure() && recordFailure.test(result.getCause());
+        if (acquired.state == State.CLOSED) {
+            var window = acquired.window;
+            window.record(failure);
+            if (failure) {
+                long calls = window.calls();
+                if (calls >= minimumNumberOfCalls && window.failures() * 100.0 >= failureRateThreshold * calls) {
+                    phase.compareAndSet(acquired, Phase.open(clock.getAsLong()));
+                }
+            }
+        } else if (failure) {
+            phase.compareAndSet(acquired, Phase.open(clock.getAsLong()));
+        } else if (acquired.successes.incrementAndGet() >= permittedCallsInHalfOpenState) {
+            phase.compareAndSet(acquired, Phase.closed(slidingWindow.get()));
+        }
+    }
+
+    /**
+     * A fatal error (see {@link Failure#isFatal(Throwable)}) escaped the call: it says nothing about
+     * the operation while {@link State#CLOSED CLOSED}, but a trial call that did not complete must not
+     * keep its permit, or the breaker would stay {@link State#HALF_OPEN HALF_OPEN} forever once every
+     * permit is lost. The breaker opens again instead.
+     */
+    private void onFatal(Phase acquired) {
+        if (acquired.state == State.HALF_OPEN) {
+            phase.compareAndSet(acquired, Phase.open(clock.getAsLong()));
+        }
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Immutable snapshot of the breaker state; a new instance is installed on every transition, so
+     * outcomes of calls made in a previous phase can never affect the current one.
+     */
+    private static final class Phase {
+        private final State state;
+        private final SlidingWindow window;
+        private final long openedAt;
+        private final AtomicInteger permits;
+        private final AtomicInteger successes;
+
+        private Phase(
+                State state, SlidingWindow window, long openedAt, AtomicInteger permits, AtomicInteger successes) {
+            this.state = state;
+            this.window = window;
+            this.openedAt = openedAt;
+            this.permits = permits;
+            this.successes = successes;
+        }
+
+        static Phase closed(SlidingWindow window) {
+            return new Phase(State.CLOSED, window, 0, null, null);
+        }
+
+        static Phase open(long openedAt) {
+            return new Phase(State.OPEN, null, openedAt, null, null);
+        }
+
+        static Phase halfOpen(int permits) {
+            return new Phase(State.HALF_OPEN, null, 0, new AtomicInteger(permits), new AtomicInteger());
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private double failureRateThreshold = 50;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(60);
+        private int permittedCallsInHalfOpenState = 10;
+        private Predicate<? super Throwable> recordFailure = t -> true;
+        private int slidingWindowSize = 100;
+        private Duration slidingWindowDuration;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "name is null");
+        }
+
+        /**
+         * @param percentage the failure rate, in {@code (0, 100]}, at which the breaker opens
+         *                   (default: 50)
+         */
+        public Builder failureRateThreshold(double percentage) {
+            if (!(percentage > 0 && percentage <= 100)) {
+                throw new IllegalArgumentException("failureRateThreshold must be in (0, 100]: " + percentage);
+            }
+            this.failureRateThreshold = percentage;
+            return this;
+        }
+
+        /**
+         * @param minimumNumberOfCalls the number of calls that must be recorded before the failure rate
+         *                             is evaluated (default: 10)
+         */
+        public Builder minimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = requirePositive(minimumNumberOfCalls, "minimumNumberOfCalls");
+            return this;
+        }
+
+        /**
+         * @param waitDuration how long the breaker stays open before letting trial calls through
+         *                     (default: 60s)
+         */
+        public Builder waitDurationInOpenState(Duration waitDuration) {
+            this.waitDurationInOpenState = Objects.requireNonNull(waitDuration, "waitDuration is null");
+            return this;
+        }
+
+        /**
+         * @param permittedCalls the number of trial calls in the half-open state (default: 10)
+         */
+        public Builder permittedCallsInHalfOpenState(int permittedCalls) {
+            this.permittedCallsInHalfOpenState = requirePositive(permittedCalls, "permittedCallsInHalfOpenState");
+            return this;
+        }
+
+        /**
+         * @param predicate which failure causes count as failures (default: all); the others count as
+         *                  successes
+         */
+        public Builder recordFailure(Predicate<? super Throwable> predicate) {
+            this.recordFailure = Objects.requireNonNull(predicate, "predicate is null");
+            return this;
+        }
+
+        /**
+         * Evaluates the failure rate over the last {@code size} calls (default: 100).
+         */
+        public Builder countBasedSlidingWindow(int size) {
+            this.slidingWindowSize = requirePositive(size, "size");
+            this.slidingWindowDuration = null;
+            return this;
+        }
+
+        /**
+         * Evaluates the failure rate over the calls made during the last {@code duration}, split in
+         * {@code buckets} buckets.
+         */
+        public Builder timeBasedSlidingWindow(Duration duration, int buckets) {
+            Objects.requireNonNull(duration, "duration is null");
+            requirePositive(buckets, "buckets");
+            if (duration.toNanos() < buckets) {
+                throw new IllegalArgumentException("duration is too short for " + buckets + " buckets");
+            }
+            this.slidingWindowDuration = duration;
+            this.slidingWindowSize = buckets;
+            return this;
+        }
+
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+
+        private Supplier<SlidingWindow> slidingWindow() {
+            int size = slidingWindowSize;
+            if (slidingWindowDuration == null) {
+                return () -> new SlidingWindow.CountBased(size);
+            }
+            long bucketNanos = slidingWindowDuration.toNanos() / size;
+            LongSupplier windowClock = clock;
+            return () -> new SlidingWindow.TimeBased(size, bucketNanos, windowClock);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A timer for a very large number of short, approximate delays, based on a hashed timing wheel.
+ * <p>Scheduled tasks are appended to a lock-free queue and moved by a single worker thread into one
+ * of the {@code wheelSize} buckets of the wheel, according to their deadline. Every {@code tick} the
+ * worker advances to the next bucket and runs the tasks that have expired. Scheduling and cancelling
+ * are O(1), a pending task costs a single small object, and any number of pending tasks is served
+ * by the same thread.
+ * <p>Tasks run on the worker thread, so they must be short: typically they just hand the real work
+ * over to an {@link java.util.concurrent.Executor}. Deadlines are only as precise as the tick.
+ */
+public final class HashedWheelTimer implements AutoCloseable {
+    private final long tickNanos;
+    private final List<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+    private final Thread worker;
+    private volatile boolean stopped;
+
+    /**
+     * Creates and starts a timer.
+     *
+     * @param tick the time between two steps of the wheel, i.e. the precision of the timer
+     * @param wheelSize the number of buckets (rounded up to a power of two)
+     * @param threadFactory used to create the worker thread
+     *
+     * @throws IllegalArgumentException if {@code tick} or {@code wheelSize} is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(Duration tick, int wheelSize, ThreadFactory threadFactory) {
+        Objects.requireNonNull(tick, "tick is null");
+        Objects.requireNonNull(threadFactory, "threadFactory is null");
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("tick must be positive: " + tick);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be in (0, 2^30]: " + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = tick.toNanos();
+        // generic arrays cannot be created: the buckets are only ever filled with List<Timeout>
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Timeout>[] buckets = new List[Math.max(size, 1)];
+        this.wheel = buckets;
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = wheel.length - 1;
+        this.startTime = System.nanoTime();
+        this.worker = threadFactory.newThread(this::run);
+        this.worker.start();
+    }
+
+    /**
+     * @return the timer shared by the library, with a 10ms tick and 512 buckets, running on a daemon
+     * thread that is started on first use
+     */
+    public static HashedWheelTimer shared() {
+        return SharedTimerHolder.INSTANCE;
+    }
+
+    /**
+     * Runs {@code task} on the worker thread once {@code delay} has elapsed.
+     *
+     * @return a handle that can be used to cancel the task
+     *
+     * @throws IllegalStateException if the timer has been {@link #close() closed}
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task is null");
+        Objects.requireNonNull(unit, "unit is null");
+        if (stopped) {
+            throw new IllegalStateException("timer is closed");
+        }
+        long elapsed = System.nanoTime() - startTime;
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        // saturate, so that delays close to Long.MAX_VALUE mean "never" instead of overflowing to "now"
+        long deadline = delayNanos > Long.MAX_VALUE - elapsed ? Long.MAX_VALUE : elapsed + delayNanos;
+        var timeout = new Timeout(task, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @see #schedule(Runnable, long, TimeUnit)
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        Objects.requireNonNull(delay, "delay is null");
+        return schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the worker thread; tasks that have not run yet never will.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!stopped) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep;
+            while (!stopped && (sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            transferPending(tick);
+            expire(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    private void transferPending(long currentTick) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - currentTick) / wheel.length;
+            // already expired timeouts go to the current bucket
+            long bucket = Math.max(expirationTick, currentTick);
+            wheel[(int) (bucket & mask)].add(timeout);
+        }
+    }
+
+    private static void expire(List<Timeout> bucket, long deadline) {
+        int kept = 0;
+        for (int i = 0, size = bucket.size(); i < size; i++) {
+            var timeout = bucket.get(i);
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    /**
+     * Handle to a task scheduled on a {@link HashedWheelTimer}.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile int state;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Prevents the task from running, if it has not run yet.
+         *
+         * @return {@code true} if the task will never run because of this call
+         */
+        public boolean cancel() {
+            return STATE.compareAndSet(this, PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        private void expire() {
+            if (STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    // a failing task must not stop the timer
+                    var thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                }
+            }
+        }
+    }
+
+    private static final class SharedTimerHolder {
+        private static final HashedWheelTimer INSTANCE = new HashedWheelTimer(Duration.ofMillis(10), 512, runnable -> {
+            var thread = new Thread(runnable, "try-monad-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
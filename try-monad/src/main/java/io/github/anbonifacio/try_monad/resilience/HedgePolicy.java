@@ -0,0 +1,269 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.AsyncTry;
+import io.github.anbonifacio.try_monad.Failure;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Describes when a slow, idempotent operation is started again in parallel ("hedged"), to cut tail
+ * latency: the first {@link io.github.anbonifacio.try_monad.Success} wins, and the other attempts are
+ * cancelled.
+ * <p>A hedge is started when no attempt has completed after a delay, which is either fixed or a
+ * percentile of the latencies recently observed by this policy. Every hedge is paid for from a
+ * {@link RetryBudget} (by default 5% of the calls, with a burst of 10), so that hedging cannot
+ * multiply the load on a dependency that is slow because it is overloaded.
+ * <p>A policy is thread-safe and meant to be shared by all the calls to the same operation, so that
+ * it learns their latency distribution.
+ *
+ * @see Try#hedged(CheckedSupplier, HedgePolicy)
+ */
+public final class HedgePolicy {
+    private static final int MIN_SAMPLES = 100;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final long DECAY_INTERVAL = 10_000;
+
+    private final int maxAttempts;
+    private final long fixedDelayNanos;
+    private final double percentile;
+    private final RetryBudget budget;
+    private final Executor executor;
+    private final HashedWheelTimer timer;
+    private final LatencyHistogram latencies = new LatencyHistogram(DECAY_INTERVAL);
+    private final LongAdder hedges = new LongAdder();
+    private volatile long delayNanos;
+
+    private HedgePolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.fixedDelayNanos = builder.delay.toNanos();
+        this.percentile = builder.percentile;
+        this.budget = builder.budget != null ? builder.budget : RetryBudget.of(0.05, 10);
+        this.executor = builder.executor;
+        this.timer = builder.timer;
+        this.delayNanos = fixedDelayNanos;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs {@code supplier}, hedging it as described by this policy, and blocks until an attempt
+     * succeeds or every started attempt has failed.
+     * <p>If the calling thread is interrupted while waiting, every attempt is cancelled and the
+     * {@link InterruptedException} is rethrown, as for any fatal exception.
+     *
+     * @return the first {@link io.github.anbonifacio.try_monad.Success}, or the {@link Failure} of the
+     * last attempt to fail
+     */
+    public <T> Try<T> execute(CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        budget.deposit();
+        var call = new Call<T>(supplier);
+        call.launch(0);
+        try {
+            return AsyncTry.fromCompletionStage(call.decided).await();
+        } finally {
+            call.cancel();
+        }
+    }
+
+    /**
+     * @return the delay after which a hedge is currently started
+     */
+    public Duration currentDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * @return the number of hedges started since this policy was created
+     */
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    private void recordLatency(long nanos) {
+        latencies.record(nanos);
+        long samples = latencies.samples();
+        if (percentile > 0 && samples >= MIN_SAMPLES && samples % RECOMPUTE_EVERY == 0) {
+            long estimate = latencies.percentile(percentile);
+            if (estimate >= 0) {
+                delayNanos = estimate;
+            }
+        }
+    }
+
+    /**
+     * The attempts of one {@link #execute(CheckedSupplier)} call.
+     */
+    private final class Call<T> {
+        private final CheckedSupplier<? extends T> supplier;
+        private final CompletableFuture<T> decided = new CompletableFuture<>();
+        private final AtomicReferenceArray<AsyncTry<T>> attempts = new AtomicReferenceArray<>(maxAttempts);
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<HashedWheelTimer.Timeout> nextHedge = new AtomicReference<>();
+
+        private Call(CheckedSupplier<? extends T> supplier) {
+            this.supplier = supplier;
+        }
+
+        private void launch(int attempt) {
+            running.incrementAndGet();
+            long start = System.nanoTime();
+            AsyncTry<T> call = executor == null ? AsyncTry.of(supplier) : AsyncTry.of(supplier, executor);
+            attempts.set(attempt, call);
+            if (decided.isDone()) {
+                // decided while this attempt was being started: cancel() may not have seen it
+                call.cancel();
+                return;
+            }
+            call.toCompletionStage().whenComplete((value, error) -> {
+                if (error == null) {
+                    recordLatency(System.nanoTime() - start);
+                    decided.complete(value);
+                    return;
+                }
+                Throwable cause =
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (Failure.isFatal(cause) || running.decrementAndGet() == 0) {
+                    decided.completeExceptionally(cause);
+                }
+            });
+            if (attempt + 1 < maxAttempts) {
+                nextHedge.set(timer.schedule(() -> hedge(attempt + 1), delayNanos, TimeUnit.NANOSECONDS));
+                if (decided.isDone()) {
+                    nextHedge.get().cancel();
+                }
+            }
+        }
+
+        private void hedge(int attempt) {
+            if (!decided.isDone() && budget.tryWithdraw()) {
+                hedges.increment();
+                launch(attempt);
+            }
+        }
+
+        private void cancel() {
+            var hedge = nextHedge.get();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+            for (int i = 0; i < maxAttempts; i++) {
+                var attempt = attempts.get(i);
+                if (attempt != null) {
+                    attempt.cancel();
+                }
+            }
+        }
+    }
+
+    public static final class Builder {
+        private int maxAttempts = 2;
+        private Duration delay = Duration.ofMillis(50);
+        private double percentile;
+        private RetryBudget budget;
+        private Executor executor;
+        private HashedWheelTimer timer = HashedWheelTimer.shared();
+
+        private Builder() {}
+
+        /**
+         * @param maxAttempts the total number of attempts, including the first one: 2 or 3
+         *                    (default: 2)
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 2 || maxAttempts > 3) {
+                throw new IllegalArgumentException("maxAttempts must be 2 or 3: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Starts a hedge when no attempt has completed after {@code delay} (default: 50ms).
+         */
+        public Builder delay(Duration delay) {
+            this.delay = requireNonNegative(delay);
+            this.percentile = 0;
+            return this;
+        }
+
+        /**
+         * Starts a hedge when no attempt has completed after the given percentile of the latencies
+         * recently observed by this policy (e.g. {@code 95}); {@code initialDelay} is used until
+         * enough latencies have been observed.
+         */
+        public Builder percentileDelay(double percentile, Duration initialDelay) {
+            if (!(percentile > 0 && percentile < 100)) {
+                throw new IllegalArgumentException("percentile must be in (0, 100): " + percentile);
+            }
+            this.delay = requireNonNegative(initialDelay);
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * @param budget the budget paying for hedges (default: 5% of the calls, with a burst of 10)
+         */
+        public Builder budget(RetryBudget budget) {
+            this.budget = Objects.requireNonNull(budget, "budget is null");
+            return this;
+        }
+
+        /**
+         * @param executor the executor running the attempts (default: the
+         *                 {@link AsyncTry#of(CheckedSupplier) default executor})
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor is null");
+            return this;
+        }
+
+        /**
+         * @param timer the timer holding the hedge delays (default: {@link HashedWheelTimer#shared()})
+         */
+        public Builder timer(HashedWheelTimer timer) {
+            this.timer = Objects.requireNonNull(timer, "timer is null");
+            return this;
+        }
+
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+
+        private static Duration requireNonNegative(Duration delay) {
+            Objects.requireNonNull(delay, "delay is null");
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("delay must not be negative: " + delay);
+            }
+            return delay;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.AsyncTry;
+import io.github.anbonifacio.try_monad.Failure;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.exceptions.RateLimitExceededException;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting the rate of calls to an operation.
+ * <p>The bucket holds up to {@code burst} permits and is refilled with {@code limitForPeriod} permits
+ * every {@code period}. A call needing more permits than available either waits, for at most
+ * {@code maxWait}, or is rejected at once with a shared {@link Failure} whose cause is a stackless
+ * {@link RateLimitExceededException}.
+ * <p>The bucket is stored as the single instant at which it will be full again (the "theoretical
+ * arrival time" of the generic cell rate algorithm), refilled lazily from {@link System#nanoTime()}
+ * and updated with one CAS per call: there is no lock and no refill thread. Permits are reserved
+ * ahead of time, so a waiting call knows its exact slot: {@link #execute} parks until then, and
+ * {@link #executeAsync} schedules the call on a {@link HashedWheelTimer} without holding any thread.
+ */
+public final class RateLimiter {
+    private final String name;
+    private final long nanosPerPermit;
+    private final int burst;
+    private final long burstNanos;
+    private final long maxWaitNanos;
+    private final LongSupplier clock;
+    private final HashedWheelTimer timer;
+    private final Failure<?> rejection;
+    private final AtomicLong fullAt;
+
+    private RateLimiter(Builder builder) {
+        this.name = builder.name;
+        this.nanosPerPermit = Math.max(1, builder.period.toNanos() / builder.limitForPeriod);
+        this.burst = builder.burst > 0 ? builder.burst : builder.limitForPeriod;
+        this.burstNanos = burst * nanosPerPermit;
+        this.maxWaitNanos = builder.maxWait.toNanos();
+        this.clock = builder.clock;
+        this.timer = builder.timer;
+        this.rejection = new Failure<>(new RateLimitExceededException("RateLimiter '" + name + "' has no permits"));
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Variant of {@link #execute(int, CheckedSupplier)} taking a single permit.
+     */
+    public <T> Try<T> execute(CheckedSupplier<? extends T> supplier) {
+        return execute(1, supplier);
+    }
+
+    /**
+     * Runs {@code supplier} once {@code permits} permits are available, blocking the calling thread
+     * for at most {@code maxWait}.
+     * <p>If the calling thread is interrupted while waiting, the interrupt flag is restored and the
+     * rejection {@link Failure} is returned.
+     *
+     * @return the result of {@code supplier}, or the shared rejection {@link Failure}
+     * @throws IllegalArgumentException if {@code permits} is not in {@code [1, burst]}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Try<T> execute(int permits, CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        if (!tryAcquire(permits, maxWaitNanos)) {
+            return (Try<T>) rejection;
+        }
+        return Try.of(supplier);
+    }
+
+    /**
+     * Variant of {@link #executeAsync(int, CheckedSupplier, Executor)} running {@code supplier} on the
+     * {@link AsyncTry#of(CheckedSupplier) default executor}.
+     */
+    public <T> AsyncTry<T> executeAsync(int permits, CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        return reserveAsync(permits, supplier, null);
+    }
+
+    /**
+     * Reserves {@code permits} permits, available within {@code maxWait}, and runs {@code supplier} on
+     * {@code executor} when they are; no thread is blocked in the meantime.
+     *
+     * @return an {@link AsyncTry} completed with the result of {@code supplier}, or already failed
+     * with the shared rejection cause
+     * @throws IllegalArgumentException if {@code permits} is not in {@code [1, burst]}
+     */
+    public <T> AsyncTry<T> executeAsync(int permits, CheckedSupplier<? extends T> supplier, Executor executor) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        Objects.requireNonNull(executor, "executor is null");
+        return reserveAsync(permits, supplier, executor);
+    }
+
+    /**
+     * @return {@code true} if {@code permits} permits were available and have been taken
+     * @throws IllegalArgumentException if {@code permits} is not in {@code [1, burst]}
+     */
+    public boolean tryAcquire(int permits) {
+        return reserve(permits, 0) == 0;
+    }
+
+    /**
+     * Takes {@code permits} permits, blocking the calling thread for at most {@code timeout} until
+     * they are available.
+     *
+     * @return {@code false} if the permits cannot be available within {@code timeout} (nothing is
+     * taken then), or if the calling thread was interrupted while waiting
+     * @throws IllegalArgumentException if {@code permits} is not in {@code [1, burst]}
+     */
+    public boolean tryAcquire(int permits, Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout is null");
+        return tryAcquire(permits, timeout.toNanos());
+    }
+
+    /**
+     * @return the number of permits that can currently be taken without waiting
+     */
+    public int availablePermits() {
+        long debt = fullAt.get() - clock.getAsLong();
+        return debt <= 0 ? burst : (int) ((burstNanos - debt) / nanosPerPermit);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    private boolean tryAcquire(int permits, long timeoutNanos) {
+        long wait = reserve(permits, timeoutNanos);
+        if (wait < 0) {
+            return false;
+        }
+        long deadline = System.nanoTime() + wait;
+        for (long remaining = wait; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> AsyncTry<T> reserveAsync(int permits, CheckedSupplier<? extends T> supplier, Executor executor) {
+        long wait = reserve(permits, maxWaitNanos);
+        if (wait < 0) {
+            return AsyncTry.fromTry((Try<T>) rejection);
+        }
+        if (wait == 0) {
+            return executor == null ? AsyncTry.of(supplier) : AsyncTry.of(supplier, executor);
+        }
+        var promise = new CompletableFuture<T>();
+        timer.schedule(
+                () -> {
+                    AsyncTry<? extends T> call =
+                            executor == null ? AsyncTry.of(supplier) : AsyncTry.of(supplier, executor);
+                    call.toCompletionStage().whenComplete((value, error) -> {
+                        if (error == null) {
+                            promise.complete(value);
+                        } else {
+                            promise.completeExceptionally(
+                                    error instanceof CompletionException && error.getCause() != null
+                                            ? error.getCause()
+                                            : error);
+                        }
+                    });
+                },
+                wait,
+                TimeUnit.NANOSECONDS);
+        return AsyncTry.fromCompletionStage(promise);
+    }
+
+    /**
+     * Reserves {@code permits} permits if they are available within {@code timeoutNanos}.
+     *
+     * @return how long to wait for the reserved permits, or {@code -1} if none were reserved
+     */
+    private long reserve(int permits, long timeoutNanos) {
+        if (permits < 1 || permits > burst) {
+            throw new IllegalArgumentException("permits must be in [1, " + burst + "]: " + permits);
+        }
+        long cost = permits * nanosPerPermit;
+        while (true) {
+            long current = fullAt.get();
+            long now = clock.getAsLong();
+            long next = (current - now > 0 ? current : now) + cost;
+            long wait = next - now - burstNanos;
+            if (wait > timeoutNanos) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private int limitForPeriod = 50;
+        private Duration period = Duration.ofSeconds(1);
+        private int burst;
+        private Duration maxWait = Duration.ZERO;
+        private LongSupplier clock = System::nanoTime;
+        private HashedWheelTimer timer = HashedWheelTimer.shared();
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "name is null");
+        }
+
+        /**
+         * @param permits the number of permits added to the bucket every {@code period}
+         *                (default: 50 per second)
+         */
+        public Builder limitForPeriod(int permits, Duration period) {
+            if (permits <= 0) {
+                throw new IllegalArgumentException("permits must be positive: " + permits);
+            }
+            Objects.requireNonNull(period, "period is null");
+            if (period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("period must be positive: " + period);
+            }
+            this.limitForPeriod = permits;
+            this.period = period;
+            return this;
+        }
+
+        /**
+         * @param burst the capacity of the bucket, i.e. the number of permits that can be taken at once
+         *              after a quiet period (default: {@code limitForPeriod})
+         */
+        public Builder burst(int burst) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("burst must be positive: " + burst);
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * @param maxWait how long a call may wait for permits before being rejected (default: 0, i.e.
+         *                fail fast)
+         */
+        public Builder maxWait(Duration maxWait) {
+            Objects.requireNonNull(maxWait, "maxWait is null");
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait must not be negative: " + maxWait);
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * @param timer the timer holding the reservations of asynchronous calls
+         *              (default: {@link HashedWheelTimer#shared()})
+         */
+        public Builder timer(HashedWheelTimer timer) {
+            this.timer = Objects.requireNonNull(timer, "timer is null");
+            return this;
+        }
+
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public RateLimiter build() {
+            return new RateLimiter(this);
+        }
+    }
+}
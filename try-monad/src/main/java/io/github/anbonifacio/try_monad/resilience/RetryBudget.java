@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of retries relative to the number of calls, so that retries cannot multiply
+ * the load on a dependency that is already failing.
+ * <p>Every call deposits {@code retryRatio} tokens and every retry withdraws one; the balance never
+ * exceeds {@code maxTokens}, which is also the initial balance. With a ratio of {@code 0.1}, at most
+ * one call in ten can be retried once the initial tokens have been spent.
+ * <p>A single budget is usually shared by all the {@link RetryPolicy policies} calling the same
+ * dependency. The balance is updated with CAS only.
+ */
+public final class RetryBudget {
+    private static final long TOKEN = 1_000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    private RetryBudget(double retryRatio, int maxTokens) {
+        this.deposit = Math.round(retryRatio * TOKEN);
+        this.maxBalance = maxTokens * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * @param retryRatio the number of retries allowed per call (e.g. {@code 0.1} for 10%)
+     * @param maxTokens the maximum number of retries that can be accumulated, and spent in a burst
+     *
+     * @throws IllegalArgumentException if {@code retryRatio} or {@code maxTokens} is negative
+     */
+    public static RetryBudget of(double retryRatio, int maxTokens) {
+        if (!(retryRatio >= 0)) {
+            throw new IllegalArgumentException("retryRatio must not be negative: " + retryRatio);
+        }
+        if (maxTokens < 0) {
+            throw new IllegalArgumentException("maxTokens must not be negative: " + maxTokens);
+        }
+        return new RetryBudget(retryRatio, maxTokens);
+    }
+
+    /**
+     * Records a new call (not a retry), depositing {@code retryRatio} tokens.
+     */
+    void deposit() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + deposit)));
+    }
+
+    /**
+     * @return {@code true} if a token was available (and has been withdrawn) for a retry
+     */
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * @return the number of retries currently available
+     */
+    public long availableRetries() {
+        return balance.get() / TOKEN;
+    }
+}
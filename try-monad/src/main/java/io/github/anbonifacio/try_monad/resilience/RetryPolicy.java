@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.AsyncTry;
+import io.github.anbonifacio.try_monad.Failure;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Describes when and how often an operation returning a {@link Failure} is tried again.
+ * <p>A policy is immutable and can be shared by any number of concurrent calls. Delays between
+ * asynchronous attempts are held in a {@link HashedWheelTimer}, so that a large number of pending
+ * retries costs neither threads nor per-retry timers.
+ *
+ * @see Try#retry(RetryPolicy, CheckedSupplier)
+ * @see Try#retryAsync(RetryPolicy, CheckedSupplier, Executor)
+ */
+public final class RetryPolicy {
+    private final int maxAttempts;
+    private final Backoff backoff;
+    private final Predicate<? super Throwable> retryOn;
+    private final RetryBudget budget;
+    private final HashedWheelTimer timer;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.backoff = builder.backoff;
+        this.retryOn = builder.retryOn();
+        this.budget = builder.budget;
+        this.timer = builder.timer;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Tries {@code supplier} until it succeeds or this policy gives up, blocking the calling thread
+     * between attempts.
+     * <p>If the calling thread is interrupted while waiting, the interrupt flag is restored and
+     * the last {@link Failure} is returned.
+     *
+     * @return the first {@link io.github.anbonifacio.try_monad.Success}, or the last {@link Failure}
+     * if this policy gives up
+     */
+    public <T> Try<T> execute(CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        deposit();
+        long delay = 0;
+        for (int attempt = 1; ; attempt++) {
+            Try<T> result = Try.of(supplier);
+            if (result.isSuccess() || !shouldRetry(attempt, result.getCause())) {
+                return result;
+            }
+            delay = backoff.delayNanos(attempt, delay);
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute(CheckedSupplier)}: every attempt runs on
+     * {@code executor}, and no thread is blocked between attempts.
+     */
+    public <T> AsyncTry<T> executeAsync(CheckedSupplier<? extends T> supplier, Executor executor) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        Objects.requireNonNull(executor, "executor is null");
+        return start(supplier, executor);
+    }
+
+    /**
+     * Variant of {@link #executeAsync(CheckedSupplier, Executor)} running every attempt on the
+     * {@link AsyncTry#of(CheckedSupplier) default executor}.
+     */
+    public <T> AsyncTry<T> executeAsync(CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        return start(supplier, null);
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public Backoff backoff() {
+        return backoff;
+    }
+
+    private <T> AsyncTry<T> start(CheckedSupplier<? extends T> supplier, Executor executor) {
+        deposit();
+        var promise = new CompletableFuture<T>();
+        attempt(supplier, executor, promise, 1, 0);
+        return AsyncTry.fromCompletionStage(promise);
+    }
+
+    private <T> void attempt(
+            CheckedSupplier<? extends T> supplier,
+            Executor executor,
+            CompletableFuture<T> promise,
+            int attempt,
+            long previousDelay) {
+        AsyncTry<? extends T> call = executor == null ? AsyncTry.of(supplier) : AsyncTry.of(supplier, executor);
+        call.toCompletableFuture().whenComplete((value, error) -> {
+            if (error == null) {
+                promise.complete(value);
+                return;
+            }
+            Throwable cause =
+                    error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (Failure.isFatal(cause) || !shouldRetry(attempt, cause)) {
+                promise.completeExceptionally(cause);
+                return;
+            }
+            long delay = backoff.delayNanos(attempt, previousDelay);
+            try {
+                timer.schedule(
+                        () -> attempt(supplier, executor, promise, attempt + 1, delay), delay, TimeUnit.NANOSECONDS);
+            } catch (Throwable t) {
+                promise.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private void deposit() {
+        if (budget != null) {
+            budget.deposit();
+        }
+    }
+
+    private boolean shouldRetry(int attempt, Throwable cause) {
+        return attempt < maxAttempts && retryOn.test(cause) && (budget == null || budget.tryWithdraw());
+    }
+
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Backoff backoff = Backoff.fixed(Duration.ofMillis(100));
+        private final List<Class<? extends Throwable>> retryOnTypes = new ArrayList<>();
+        private Predicate<? super Throwable> retryIf;
+        private RetryBudget budget;
+        private HashedWheelTimer timer = HashedWheelTimer.shared();
+
+        private Builder() {}
+
+        /**
+         * @param maxAttempts the total number of attempts, including the first one (default: 3)
+         *
+         * @throws IllegalArgumentException if {@code maxAttempts} is less than 1
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param backoff the delay between attempts (default: fixed, 100ms)
+         */
+        public Builder backoff(Backoff backoff) {
+            this.backoff = Objects.requireNonNull(backoff, "backoff is null");
+            return this;
+        }
+
+        /**
+         * Only retries failures whose cause is an instance of one of the given types (may be called
+         * more than once). By default every failure is retried.
+         */
+        @SafeVarargs
+        public final Builder retryOn(Class<? extends Throwable>... exceptionTypes) {
+            for (var type : exceptionTypes) {
+                retryOnTypes.add(Objects.requireNonNull(type, "exceptionType is null"));
+            }
+            return this;
+        }
+
+        /**
+         * Only retries failures whose cause satisfies {@code predicate}; combined with
+         * {@link #retryOn(Class[])}, both conditions must hold.
+         */
+        public Builder retryIf(Predicate<? super Throwable> predicate) {
+            this.retryIf = Objects.requireNonNull(predicate, "predicate is null");
+            return this;
+        }
+
+        /**
+         * @param budget a budget shared with other policies, limiting the overall number of retries
+         *               (default: none)
+         */
+        public Builder budget(RetryBudget budget) {
+            this.budget = Objects.requireNonNull(budget, "budget is null");
+            return this;
+        }
+
+        /**
+         * @param timer the timer holding the delays between asynchronous attempts
+         *              (default: {@link HashedWheelTimer#shared()})
+         */
+        public Builder timer(HashedWheelTimer timer) {
+            this.timer = Objects.requireNonNull(timer, "timer is null");
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+
+        private Predicate<? super Throwable> retryOn() {
+            List<Class<? extends Throwable>> types = List.copyOf(retryOnTypes);
+            Predicate<? super Throwable> predicate = retryIf;
+            return cause -> (types.isEmpty() || types.stream().anyMatch(type -> type.isInstance(cause)))
+                    && (predicate == null || predicate.test(cause));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.Failure;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Bulkhead} running the calls on the calling threads.
+ * <p>Permits are taken from a non-fair {@link Semaphore}, whose uncontended acquire and release are
+ * a single CAS; only calls that have to wait are parked, and the number of waiting calls is bounded
+ * by a CAS on a counter.
+ * <p>If the calling thread is interrupted while waiting, the interrupt flag is restored and the
+ * rejection {@link Failure} is returned.
+ */
+public final class SemaphoreBulkhead implements Bulkhead {
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int maxQueuedCalls;
+    private final long maxWaitNanos;
+    private final Failure<?> rejection;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    SemaphoreBulkhead(String name, int maxConcurrentCalls, int maxQueuedCalls, Duration maxWait, Failure<?> rejection) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxQueuedCalls = maxQueuedCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rejection = rejection;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Try<T> execute(CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        if (!permits.tryAcquire() && !awaitPermit()) {
+            return (Try<T>) rejection;
+        }
+        try {
+            return Try.of(supplier);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int inFlight() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    @Override
+    public int queued() {
+        return queued.get();
+    }
+
+    private boolean awaitPermit() {
+        if (maxWaitNanos == 0 || !enqueue()) {
+            return false;
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private boolean enqueue() {
+        int current;
+        do {
+            current = queued.get();
+            if (current >= maxQueuedCalls) {
+                return false;
+            }
+        } while (!queued.compareAndSet(current, current + 1));
+        return true;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Outcomes of the most recent calls, used by {@link CircuitBreaker} to compute the failure rate.
+ * <p>Implementations only use atomic increments and striped counters: recording an outcome never
+ * blocks and never retries, so concurrent callers do not contend on a lock. Totals are therefore
+ * approximate while outcomes are being recorded concurrently.
+ */
+sealed interface SlidingWindow permits SlidingWindow.CountBased, SlidingWindow.TimeBased {
+
+    void record(boolean failure);
+
+    long calls();
+
+    long failures();
+
+    /**
+     * Keeps the outcomes of the last {@code size} calls in a ring buffer.
+     */
+    final class CountBased implements SlidingWindow {
+        private static final int EMPTY = 0;
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        CountBased(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        @Override
+        public void record(boolean failure) {
+            int slot = (int) Math.floorMod(cursor.getAndIncrement(), (long) outcomes.length());
+            int previous = outcomes.getAndSet(slot, failure ? FAILURE : SUCCESS);
+            if (previous == EMPTY) {
+                calls.increment();
+            }
+            if (failure && previous != FAILURE) {
+                failures.increment();
+            } else if (!failure && previous == FAILURE) {
+                failures.decrement();
+            }
+        }
+
+        @Override
+        public long calls() {
+            return calls.sum();
+        }
+
+        @Override
+        public long failures() {
+            return failures.sum();
+        }
+    }
+
+    /**
+     * Keeps the outcomes of the calls made during the last {@code buckets * bucketNanos}
+     * nanoseconds, in {@code buckets} buckets that are reused as time goes by.
+     */
+    final class TimeBased implements SlidingWindow {
+        private final Bucket[] buckets;
+        private final long bucketNanos;
+        private final LongSupplier clock;
+
+        TimeBased(int buckets, long bucketNanos, LongSupplier clock) {
+            this.buckets = new Bucket[buckets];
+            for (int i = 0; i < buckets; i++) {
+                this.buckets[i] = new Bucket();
+            }
+            this.bucketNanos = bucketNanos;
+            this.clock = clock;
+        }
+
+        @Override
+        public void record(boolean failure) {
+            long epoch = clock.getAsLong() / bucketNanos;
+            var bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+            long bucketEpoch = bucket.epoch.get();
+            if (bucketEpoch != epoch && bucket.epoch.compareAndSet(bucketEpoch, epoch)) {
+                // only the thread winning the CAS resets the bucket it is reusing
+                bucket.calls.reset();
+                bucket.failures.reset();
+            }
+            bucket.calls.increment();
+            if (failure) {
+                bucket.failures.increment();
+            }
+        }
+
+        @Override
+        public long calls() {
+            return sum(false);
+        }
+
+        @Override
+        public long failures() {
+            return sum(true);
+        }
+
+        private long sum(boolean failures) {
+            long oldest = clock.getAsLong() / bucketNanos - buckets.length + 1;
+            long sum = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.epoch.get() >= oldest) {
+                    sum += failures ? bucket.failures.sum() : bucket.calls.sum();
+                }
+            }
+            return sum;
+        }
+
+        private static final class Bucket {
+            private final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+            private final LongAdder calls = new LongAdder();
+            private final LongAdder failures = new LongAdder();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.AsyncTry;
+import io.github.anbonifacio.try_monad.Failure;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.interfaces.checked.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Bulkhead} running the calls on {@code maxConcurrentCalls} dedicated daemon threads, so
+ * that callers can wait for the result asynchronously.
+ * <p>Calls are admitted by a CAS on a counter and handed to the pool through a lock-free queue;
+ * the deadline of a queued call is held by the {@link HashedWheelTimer#shared() shared timer}, and
+ * whichever of the pool and the timer claims the call first decides whether it runs or is rejected.
+ */
+public final class ThreadPoolBulkhead implements Bulkhead, AutoCloseable {
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int maxAdmittedCalls;
+    private final long maxWaitNanos;
+    private final HashedWheelTimer timer;
+    private final Failure<?> rejection;
+    private final ThreadPoolExecutor pool;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    ThreadPoolBulkhead(
+            String name,
+            int maxConcurrentCalls,
+            int maxQueuedCalls,
+            Duration maxWait,
+            HashedWheelTimer timer,
+            Failure<?> rejection) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxAdmittedCalls = maxConcurrentCalls + (maxWaitNanos == 0 ? 0 : maxQueuedCalls);
+        this.timer = timer;
+        this.rejection = rejection;
+        var counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(
+                maxConcurrentCalls,
+                maxConcurrentCalls,
+                0,
+                TimeUnit.MILLISECONDS,
+                new LinkedTransferQueue<>(),
+                runnable -> {
+                    var thread = new Thread(runnable, "try-monad-bulkhead-" + name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public <T> Try<T> execute(CheckedSupplier<? extends T> supplier) {
+        return this.<T>executeAsync(supplier).await();
+    }
+
+    /**
+     * Runs {@code supplier} on the pool of this bulkhead when it has capacity for it.
+     *
+     * @return an {@link AsyncTry} completed with the result of {@code supplier}, or already failed
+     * with the shared rejection cause
+     */
+    @SuppressWarnings("unchecked")
+    public <T> AsyncTry<T> executeAsync(CheckedSupplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier is null");
+        if (!admit()) {
+            return AsyncTry.fromTry((Try<T>) rejection);
+        }
+        var call = new Call<T>(supplier);
+        queued.incrementAndGet();
+        // admitted counts the calls not started yet too: inFlight would miss a call queued just before
+        if (maxWaitNanos > 0 && admitted.get() > maxConcurrentCalls) {
+            call.deadline = timer.schedule(call::expire, maxWaitNanos, TimeUnit.NANOSECONDS);
+        }
+        try {
+            pool.execute(call);
+        } catch (Throwable t) {
+            // e.g. RejectedExecutionException once closed
+            if (call.claim()) {
+                queued.decrementAndGet();
+                admitted.decrementAndGet();
+                call.promise.completeExceptionally(t);
+            }
+        }
+        return AsyncTry.fromCompletionStage(call.promise);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int queued() {
+        return queued.get();
+    }
+
+    /**
+     * Stops accepting calls; the calls already admitted still run.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private boolean admit() {
+        int current;
+        do {
+            current = admitted.get();
+            if (current >= maxAdmittedCalls) {
+                return false;
+            }
+        } while (!admitted.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private final class Call<T> implements Runnable {
+        private final CheckedSupplier<? extends T> supplier;
+        private final CompletableFuture<T> promise = new CompletableFuture<>();
+        private final AtomicInteger claimed = new AtomicInteger();
+        private volatile HashedWheelTimer.Timeout deadline;
+
+        private Call(CheckedSupplier<? extends T> supplier) {
+            this.supplier = supplier;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(0, 1);
+        }
+
+        @Override
+        public void run() {
+            if (!claim()) {
+                return;
+            }
+            var timeout = deadline;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            queued.decrementAndGet();
+            inFlight.incrementAndGet();
+            try {
+                Try<? extends T> result = Try.of(supplier);
+                if (result.isSuccess()) {
+                    promise.complete(result.get());
+                } else {
+                    promise.completeExceptionally(result.getCause());
+                }
+            } catch (Throwable fatal) {
+                promise.completeExceptionally(fatal);
+                throw fatal;
+            } finally {
+                inFlight.decrementAndGet();
+                admitted.decrementAndGet();
+            }
+        }
+
+        private void expire() {
+            if (claim()) {
+                queued.decrementAndGet();
+                admitted.decrementAndGet();
+                promise.completeExceptionally(rejection.getCause());
+            }
+        }
+    }
+}
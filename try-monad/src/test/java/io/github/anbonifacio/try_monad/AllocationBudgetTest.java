@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import jdk.jfr.Recording;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of bytes allocated by the operations on the hot path. The budgets leave room
+ * for a single object header at most, so that a regression reintroducing a wrapper, a lambda or a
+ * boxed value is caught.
+ * <p>Tagged {@code allocation}, these tests run in a JVM of their own (see the
+ * {@code allocation-budget} execution of the surefire plugin), so that the call-site profiles
+ * gathered by other tests cannot defeat the escape analysis the budgets rely on.
+ */
+@Tag("allocation")
+class AllocationBudgetTest {
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int ROUNDS = 5;
+
+    private static final Failure<Boolean> FAILURE = new Failure<>(new IOException("boom"));
+    private static final Try<Boolean> FALLBACK = Try.success(false);
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    static volatile Object sink;
+
+    @BeforeAll
+    static void threadAllocatedBytes() {
+        assertThat(ManagementFactory.getThreadMXBean()).isInstanceOf(com.sun.management.ThreadMXBean.class);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertThat(threads.isThreadAllocatedMemorySupported()).isTrue();
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void ofRunnableShouldNotAllocate() {
+        Runnable noop = () -> {};
+        assertThat(bytesPerOp(() -> Try.ofRunnable(noop))).isLessThan(8);
+    }
+
+    @Test
+    void ofReturningBooleanShouldNotAllocate() {
+        assertThat(bytesPerOp(() -> Try.of(() -> true))).isLessThan(8);
+    }
+
+    @Test
+    void ofReturningSmallIntShouldNotAllocate() {
+        assertThat(bytesPerOp(() -> TryInt.of(() -> 42))).isLessThan(8);
+    }
+
+    @Test
+    void failureMapShouldNotAllocate() {
+        assertThat(bytesPerOp(() -> FAILURE.map(b -> !b))).isLessThan(8);
+    }
+
+    @Test
+    void recoverToBooleanShouldNotAllocate() {
+        assertThat(bytesPerOp(() -> FAILURE.recover(t -> false))).isLessThan(8);
+    }
+
+    @Test
+    void recoverWithTypeShouldNotAllocate() {
+        assertThat(bytesPerOp(() -> FAILURE.recoverWith(IOException.class, e -> FALLBACK)))
+                .isLessThan(8);
+    }
+
+    @Test
+    void recoverToNewValueShouldAllocateOnlyTheSuccess() {
+        var value = new Object();
+        Failure<Object> failure = new Failure<>(new IOException("boom"));
+        // created once: a capturing lambda per op would only be eliminated if the JIT inlines it
+        Function<Throwable, Object> fn = t -> value;
+        assertThat(bytesPerOp(() -> failure.recover(fn))).isLessThanOrEqualTo(24);
+    }
+
+    @Test
+    void ofShouldNotAllocateWhileTheJfrEventsAreDisabled() {
+        try (var recording = new Recording()) {
+            recording.start();
+            assertThat(bytesPerOp(() -> Try.of(() -> true))).isLessThan(8);
+            recording.stop();
+        }
+        try (var recording = new Recording()) {
+            recording.enable(SlowSupplierEvent.class);
+            recording.start();
+            recording.stop();
+        }
+
+        assertThat(bytesPerOp(() -> Try.of(() -> true))).isLessThan(8);
+        assertThat(bytesPerOp(() -> FAILURE.recover(t -> false))).isLessThan(8);
+    }
+
+    @Test
+    void canonicalInstancesShouldBeShared() {
+        assertThat(Try.ofRunnable(() -> {})).isSameAs(Try.ofRunnable(() -> {}));
+        assertThat(Try.of(() -> true)).isSameAs(Try.success(true));
+        assertThat(Try.of(() -> false)).isSameAs(Try.success(false));
+        assertThat(Try.success(null)).isSameAs(Try.of(() -> null));
+        assertThat(TryInt.success(-128)).isSameAs(TryInt.of(() -> -128));
+        assertThat(TryLong.success(127L)).isSameAs(TryLong.of(() -> 127L));
+        assertThat(TryInt.success(128)).isNotSameAs(TryInt.success(128)).isEqualTo(TryInt.success(128));
+        assertThat(Try.success(true)).isEqualTo(new Success<>(true));
+    }
+
+    /**
+     * @return the lowest average number of bytes allocated by {@code op} over {@link #ROUNDS} rounds,
+     * once the JIT compiler had a chance to eliminate the allocations that do not escape
+     */
+    private static long bytesPerOp(Supplier<?> op) {
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            sink = op.get();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink = op.get();
+            }
+            best = Math.min(best, (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.PredicateNotSatisfiedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncTryTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunSupplierOnTheGivenExecutor() {
+        var thread = new AtomicReference<Thread>();
+        var result = Try.ofAsync(
+                        () -> {
+                            thread.set(Thread.currentThread());
+                            return 42;
+                        },
+                        executor)
+                .await(TIMEOUT);
+
+        assertThat(result).isEqualTo(Try.success(42));
+        assertThat(thread.get()).isNotEqualTo(Thread.currentThread());
+    }
+
+    @Test
+    void shouldRunSupplierOnTheDefaultExecutor() {
+        assertThat(Try.ofAsync(() -> 42).await(TIMEOUT)).isEqualTo(Try.success(42));
+    }
+
+    @Test
+    void shouldReturnFailureWithTheExceptionThrownBySupplier() {
+        var cause = new IOException("test");
+        var result = Try.ofAsync(
+                        () -> {
+                            throw cause;
+                        },
+                        executor)
+                .await(TIMEOUT);
+
+        assertThat(result).isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void shouldReturnFailureIfTheExecutorRejectsTheTask() {
+        executor.shutdown();
+
+        var result = Try.ofAsync(() -> 42, executor).await(TIMEOUT);
+
+        assertThat(result.getCause()).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenCallingOfAsyncWithNullSupplier() {
+        assertThatThrownBy(() -> Try.ofAsync(null, executor))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("supplier is null");
+    }
+
+    @Test
+    void awaitShouldReturnTimeoutFailureIfNotCompletedInTime() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var async = Try.ofAsync(
+                () -> {
+                    latch.await();
+                    return 42;
+                },
+                executor);
+
+        assertThat(async.await(Duration.ofMillis(10)).getCause()).isInstanceOf(TimeoutException.class);
+        assertThat(async.isDone()).isFalse();
+
+        latch.countDown();
+        assertThat(async.await(TIMEOUT)).isEqualTo(Try.success(42));
+    }
+
+    @Test
+    void mapAndFlatMapShouldNotBlock() {
+        var latch = new CountDownLatch(1);
+        var async = Try.ofAsync(
+                        () -> {
+                            latch.await();
+                            return 2;
+                        },
+                        executor)
+                .map(v -> v * 2)
+                .flatMap(v -> Try.ofAsync(() -> v + 1, executor))
+                .flatMapTry(v -> Try.success(Integer.toBinaryString(v)));
+
+        assertThat(async.isDone()).isFalse();
+        latch.countDown();
+        assertThat(async.await(TIMEOUT)).isEqualTo(Try.success("101"));
+    }
+
+    @Test
+    void mapShouldReturnFailureWithUnwrappedCauseIfTheMappingFunctionFails() {
+        var cause = new IllegalStateException();
+        var result = AsyncTry.fromTry(Try.success(1))
+                .map(v -> {
+                    throw cause;
+                })
+                .map(v -> "ignored")
+                .await();
+
+        assertThat(result).isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void flatMapTryShouldReturnTheFailureReturnedByTheMapper() {
+        var cause = new NumberFormatException();
+        var result = AsyncTry.fromTry(Try.success(1))
+                .flatMapTry(v -> Try.failure(cause))
+                .await();
+
+        assertThat(result).isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void filterShouldFailWithPredicateNotSatisfiedException() {
+        var result = AsyncTry.fromTry(Try.success(2)).filter(v -> v == 0).await();
+
+        assertThat(result.getCause()).isInstanceOf(PredicateNotSatisfiedException.class);
+        assertThat(AsyncTry.fromTry(Try.success(2)).filter(v -> v == 2).await()).isEqualTo(Try.success(2));
+    }
+
+    @Test
+    void recoverShouldReceiveTheUnwrappedCause() {
+        var received = new AtomicReference<Throwable>();
+        var cause = new IOException();
+        var result = AsyncTry.<Integer>fromTry(Try.failure(cause))
+                .map(v -> v + 1)
+                .recover(t -> {
+                    received.set(t);
+                    return 0;
+                })
+                .await();
+
+        assertThat(result).isEqualTo(Try.success(0));
+        assertThat(received.get()).isSameAs(cause);
+    }
+
+    @Test
+    void typedRecoverShouldApplyOnlyGivenCauseTypeMatches() {
+        var cause = new IOException();
+        var failure = AsyncTry.<Integer>fromTry(Try.failure(cause));
+
+        assertThat(failure.recover(IllegalStateException.class, e -> 0).await()).isEqualTo(Try.failure(cause));
+        assertThat(failure.recover(IOException.class, e -> 0).await()).isEqualTo(Try.success(0));
+    }
+
+    @Test
+    void recoverWithShouldComposeTheRecoveryOperation() {
+        var cause = new IOException();
+        var failure = AsyncTry.<Integer>fromTry(Try.failure(cause));
+
+        assertThat(failure.recoverWith(t -> Try.ofAsync(() -> 1, executor)).await())
+                .isEqualTo(Try.success(1));
+        assertThat(failure.recoverWith(IllegalStateException.class, e -> Try.ofAsync(() -> 1, executor))
+                        .await())
+                .isEqualTo(Try.failure(cause));
+        assertThat(failure.recoverWith(IOException.class, e -> Try.ofAsync(() -> 2, executor))
+                        .await())
+                .isEqualTo(Try.success(2));
+    }
+
+    @Test
+    void recoverOnSuccessShouldJustReturnSuccess() {
+        var result = AsyncTry.fromTry(Try.success(2))
+                .recover(t -> 0)
+                .recoverWith(t -> null)
+                .await();
+
+        assertThat(result).isEqualTo(Try.success(2));
+    }
+
+    @Test
+    void fromCompletionStageShouldMirrorTheStageOutcome() {
+        var cause = new IOException();
+
+        assertThat(AsyncTry.fromCompletionStage(CompletableFuture.completedStage(1))
+                        .await())
+                .isEqualTo(Try.success(1));
+        assertThat(AsyncTry.fromCompletionStage(CompletableFuture.failedStage(cause))
+                        .await())
+                .isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void toCompletableFutureShouldNotAffectThisAsyncTry() {
+        var async = Try.ofAsync(() -> 1, executor);
+
+        async.toCompletableFuture().cancel(true);
+
+        assertThat(async.await(TIMEOUT)).isEqualTo(Try.success(1));
+    }
+
+    @Test
+    void awaitShouldRethrowFatalErrors() {
+        var error = new OutOfMemoryError();
+        var async = AsyncTry.fromTry(Try.success(1)).map(v -> {
+            throw error;
+        });
+
+        assertThatExceptionOfType(OutOfMemoryError.class).isThrownBy(async::await);
+    }
+
+    @Test
+    void recoverShouldNotReceiveFatalErrors() {
+        var error = new StackOverflowError();
+        var async = AsyncTry.fromTry(Try.success(1)).map(v -> {
+            throw error;
+        });
+
+        assertThatExceptionOfType(StackOverflowError.class)
+                .isThrownBy(() -> async.recover(t -> 0).await());
+        assertThatExceptionOfType(StackOverflowError.class)
+                .isThrownBy(() -> async.recover(Error.class, t -> 0).await());
+        assertThatExceptionOfType(StackOverflowError.class)
+                .isThrownBy(() ->
+                        async.recoverWith(t -> AsyncTry.fromTry(Try.success(0))).await());
+        assertThatExceptionOfType(StackOverflowError.class)
+                .isThrownBy(() -> async.recoverWith(Error.class, t -> AsyncTry.fromTry(Try.success(0)))
+                        .await());
+    }
+
+    @Test
+    void awaitShouldRethrowInterruptOfTheWaitingThread() {
+        var pending = AsyncTry.fromCompletionStage(new CompletableFuture<Integer>());
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatExceptionOfType(InterruptedException.class).isThrownBy(pending::await);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void cancelShouldInterruptRunningSupplier() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        var async = Try.ofAsync(
+                () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                        return 1;
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                },
+                executor);
+        started.await();
+
+        assertThat(async.cancel()).isTrue();
+
+        assertThat(async.await(TIMEOUT).getCause()).isInstanceOf(CancellationException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelShouldPropagateFromDerivedAsyncTry() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        var source = Try.ofAsync(
+                () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                        return 1;
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                },
+                executor);
+
+        started.await();
+
+        source.map(v -> v + 1).cancel();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(source.await(TIMEOUT).getCause()).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void cancelShouldNotAffectCompletedAsyncTry() {
+        var async = Try.ofAsync(() -> 1, executor);
+        assertThat(async.await(TIMEOUT)).isEqualTo(Try.success(1));
+
+        assertThat(async.cancel()).isFalse();
+        assertThat(async.await(TIMEOUT)).isEqualTo(Try.success(1));
+    }
+}
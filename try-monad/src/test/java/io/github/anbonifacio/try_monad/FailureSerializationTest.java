@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.DeserializedException;
+import io.github.anbonifacio.try_monad.exceptions.PredicateNotSatisfiedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class FailureSerializationTest {
+    private static final int FRAMES = 5;
+
+    private final int defaultFrames = FailureProxy.frames;
+
+    @AfterEach
+    void restoreDefault() {
+        FailureProxy.frames = defaultFrames;
+    }
+
+    private static byte[] serialize(Object object) {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        return deserialize(bytes, null);
+    }
+
+    private static Object deserialize(byte[] bytes, ObjectInputFilter filter) {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            if (filter != null) {
+                in.setObjectInputFilter(filter);
+            }
+            return in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Throwable deepException(int depth) {
+        if (depth > 0) {
+            return deepException(depth - 1);
+        }
+        var exception = new IOException("outer", new IllegalStateException("inner", new IllegalArgumentException()));
+        exception.addSuppressed(new RuntimeException("suppressed"));
+        return exception;
+    }
+
+    @Test
+    void compactFormShouldRebuildTheCauseChain() {
+        FailureProxy.frames = FRAMES;
+        var cause = deepException(50);
+
+        var failure = (Failure<?>) deserialize(serialize(new Failure<>(cause)));
+
+        var rebuilt = failure.getCause();
+        assertThat(rebuilt).isExactlyInstanceOf(IOException.class).hasMessage("outer");
+        assertThat(rebuilt.getSuppressed()).isEmpty();
+        assertThat(rebuilt.getStackTrace())
+                .extracting(
+                        StackTraceElement::getClassName,
+                        StackTraceElement::getMethodName,
+                        StackTraceElement::getLineNumber)
+                .containsExactlyElementsOf(Arrays.stream(cause.getStackTrace())
+                        .limit(FRAMES)
+                        .map(frame -> tuple(frame.getClassName(), frame.getMethodName(), frame.getLineNumber()))
+                        .toList());
+        assertThat(rebuilt.getCause())
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("inner");
+        assertThat(rebuilt.getCause().getCause())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage(null)
+                .hasNoCause();
+    }
+
+    @Test
+    void compactFormShouldFallBackIfTheExceptionCannotBeRebuilt() {
+        FailureProxy.frames = FRAMES;
+        var cause = new PredicateNotSatisfiedException("value", true);
+
+        var rebuilt = ((Failure<?>) deserialize(serialize(new Failure<>(cause)))).getCause();
+
+        assertThat(rebuilt).isExactlyInstanceOf(DeserializedException.class).hasMessage(cause.getMessage());
+        assertThat(((DeserializedException) rebuilt).getClassName())
+                .isEqualTo(cause.getClass().getName());
+        assertThat(rebuilt.toString()).isEqualTo(cause.toString());
+    }
+
+    @Test
+    void compactFormShouldStopAtCyclicCauseChains() {
+        FailureProxy.frames = FRAMES;
+        var first = new IllegalStateException("first");
+        var second = new IllegalStateException("second", first);
+        first.initCause(second);
+
+        var rebuilt = ((Failure<?>) deserialize(serialize(new Failure<>(first)))).getCause();
+
+        assertThat(rebuilt).hasMessage("first");
+        assertThat(rebuilt.getCause()).hasMessage("second").hasNoCause();
+    }
+
+    @Test
+    void compactFormShouldNotRebuildClassesRejectedByTheStreamFilter() {
+        FailureProxy.frames = FRAMES;
+        var cause = new IllegalStateException("rejected");
+        var filter = ObjectInputFilter.Config.createFilter("!java.lang.IllegalStateException");
+
+        var rebuilt = ((Failure<?>) deserialize(serialize(new Failure<>(cause)), filter)).getCause();
+
+        assertThat(rebuilt).isExactlyInstanceOf(DeserializedException.class).hasMessage("rejected");
+        assertThat(((DeserializedException) rebuilt).getClassName()).isEqualTo(IllegalStateException.class.getName());
+        assertThat(((Failure<?>) deserialize(serialize(new Failure<>(cause)))).getCause())
+                .isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void compactFormShouldOnlyRebuildOtherClassesAllowedByTheStreamFilter() {
+        FailureProxy.frames = FRAMES;
+        var cause = new CustomException("custom");
+        int constructed = CustomException.constructed.get();
+
+        var rebuilt = ((Failure<?>) deserialize(serialize(new Failure<>(cause)))).getCause();
+
+        assertThat(rebuilt).isExactlyInstanceOf(DeserializedException.class).hasMessage("custom");
+        assertThat(CustomException.constructed).hasValue(constructed);
+
+        var filter = ObjectInputFilter.Config.createFilter(CustomException.class.getName());
+        assertThat(((Failure<?>) deserialize(serialize(new Failure<>(cause)), filter)).getCause())
+                .isExactlyInstanceOf(CustomException.class)
+                .hasMessage("custom");
+    }
+
+    @Test
+    void compactFormShouldNotRebuildFatalExceptions() {
+        var fatal = new OutOfMemoryError("crafted");
+        fatal.initCause(new InterruptedException());
+        var bytes = serialize(new FailureProxy(fatal, FRAMES));
+
+        var rebuilt = ((Failure<?>) deserialize(bytes)).getCause();
+
+        assertThat(rebuilt).isExactlyInstanceOf(DeserializedException.class).hasMessage("crafted");
+        assertThat(rebuilt.getCause()).isExactlyInstanceOf(DeserializedException.class);
+    }
+
+    @Test
+    void compactFormShouldClampTheNumberOfFrames() {
+        FailureProxy.frames = Integer.MAX_VALUE;
+        var cause = new IllegalStateException("deep");
+        var frame = new StackTraceElement("Deep", "recurse", "Deep.java", 1);
+        var stackTrace = new StackTraceElement[70_000];
+        Arrays.fill(stackTrace, frame);
+        cause.setStackTrace(stackTrace);
+
+        var rebuilt = ((Failure<?>) deserialize(serialize(new Failure<>(cause)))).getCause();
+
+        assertThat(rebuilt).isExactlyInstanceOf(IllegalStateException.class).hasMessage("deep");
+        assertThat(rebuilt.getStackTrace()).hasSize(0xFFFF);
+    }
+
+    @Test
+    void defaultFormShouldKeepTheWholeGraph() {
+        FailureProxy.frames = -1;
+        var cause = deepException(50);
+
+        var rebuilt = ((Failure<?>) deserialize(serialize(new Failure<>(cause)))).getCause();
+
+        assertThat(rebuilt.getSuppressed()).hasSize(1);
+        assertThat(rebuilt.getStackTrace()).hasSameSizeAs(cause.getStackTrace());
+    }
+
+    @Test
+    void compactFormShouldBeMuchSmaller() {
+        var failure = new Failure<>(deepException(100));
+
+        FailureProxy.frames = -1;
+        int full = serialize(failure).length;
+        FailureProxy.frames = FRAMES;
+        int compact = serialize(failure).length;
+
+        assertThat(compact).isLessThan(full / 5);
+    }
+
+    public static class CustomException extends Exception {
+        static final AtomicInteger constructed = new AtomicInteger();
+
+        public CustomException(String message) {
+            super(message);
+            constructed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.PredicateNotSatisfiedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class LazyTryTest {
+    private static Stream<Arguments> fatal_errors() {
+        return Stream.of(
+                arguments(new InternalError()),
+                arguments(new LinkageError()),
+                arguments(new ClassFormatError()),
+                arguments(new OutOfMemoryError()));
+    }
+
+    @Test
+    void shouldNotRunAnythingUntilATerminalOperationIsCalled() {
+        var calls = new AtomicInteger();
+        var lazy = Try.lazy(calls::incrementAndGet).map(v -> calls.incrementAndGet());
+
+        assertThat(calls).hasValue(0);
+        assertThat(lazy.run()).isEqualTo(Try.success(2));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldRunTheWholeChainAgainOnEveryTerminalOperation() {
+        var calls = new AtomicInteger();
+        var lazy = Try.lazy(calls::incrementAndGet);
+
+        assertThat(lazy.get()).isEqualTo(1);
+        assertThat(lazy.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenCallingTryLazyNullSupplier() {
+        assertThatThrownBy(() -> Try.lazy((java.util.function.Supplier<?>) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("supplier is null");
+    }
+
+    @Test
+    void mapFlatMapAndFilterShouldBehaveLikeTheEagerChain() {
+        var lazy = Try.lazy(() -> 2)
+                .map(v -> v * 2)
+                .filter(v -> v == 4)
+                .flatMap(v -> Try.of(() -> Integer.toBinaryString(v)));
+
+        assertThat(lazy.run())
+                .isEqualTo(Try.of(() -> 2)
+                        .map(v -> v * 2)
+                        .filter(v -> v == 4)
+                        .flatMap(v -> Try.of(() -> Integer.toBinaryString(v))));
+    }
+
+    @Test
+    void shouldReturnFailureWithCheckedExceptionThrownBySupplier() {
+        var cause = new IOException("test");
+        var result = Try.lazy(() -> {
+                    throw cause;
+                })
+                .map(v -> "ignored")
+                .run();
+
+        assertThat(result).isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void shouldStopAtTheFirstFailingStage() {
+        var cause = new IllegalStateException();
+        var calls = new AtomicInteger();
+        var result = Try.lazy(() -> 1)
+                .<Integer>map(v -> {
+                    throw cause;
+                })
+                .map(calls::addAndGet)
+                .run();
+
+        assertThat(result).isEqualTo(Try.failure(cause));
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void flatMapShouldReturnTheFailureReturnedByTheMapper() {
+        var failure = Try.<Integer>failure(new NumberFormatException());
+        var result = Try.lazy(() -> 1).flatMap(v -> failure).map(v -> v + 1).run();
+
+        assertThat(result).isSameAs(failure);
+    }
+
+    @Test
+    void filterShouldFailWithPredicateNotSatisfiedException() {
+        var result = Try.lazy(() -> 2).filter(v -> v == 0).run();
+
+        assertThat(result.getCause())
+                .isInstanceOf(PredicateNotSatisfiedException.class)
+                .hasMessage("Predicate does not hold for 2");
+    }
+
+    @Test
+    void getOnFailureShouldThrowNoSuchElementException() {
+        var lazy = Try.lazy(() -> {
+            throw new NumberFormatException();
+        });
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(lazy::get)
+                .withMessage("Try is Failure")
+                .withCauseInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void foldShouldApplyTheMatchingFunction() {
+        assertThat(Try.lazy(() -> 42).<String>fold(t -> "failure", v -> "success " + v))
+                .isEqualTo("success 42");
+        assertThat(Try.lazy(() -> {
+                            throw new IllegalStateException();
+                        })
+                        .<String>fold(t -> "failure", v -> "success " + v))
+                .isEqualTo("failure");
+    }
+
+    @ParameterizedTest
+    @MethodSource("fatal_errors")
+    void shouldThrowIfFatalError(Error ex) {
+        var lazy = Try.lazy(() -> 1).map(v -> {
+            throw ex;
+        });
+
+        assertThatExceptionOfType(ex.getClass()).isThrownBy(lazy::run);
+    }
+
+    // -- TryPipeline
+
+    @Test
+    void pipelineShouldBeReusableAcrossInputs() {
+        TryPipeline<String, Integer> parse =
+                Try.<String>pipeline().map(String::trim).map(Integer::parseInt).filter(v -> v > 0);
+
+        assertThat(parse.apply(" 42 ")).isEqualTo(Try.success(42));
+        assertThat(parse.apply("x").getCause()).isInstanceOf(NumberFormatException.class);
+        assertThat(parse.apply("-1").getCause()).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void addingStagesShouldNotModifyTheOriginalPipeline() {
+        TryPipeline<Integer, Integer> increment = Try.<Integer>pipeline().map(v -> v + 1);
+        var twice = increment.map(v -> v + 1);
+
+        assertThat(increment.apply(0)).isEqualTo(Try.success(1));
+        assertThat(twice.apply(0)).isEqualTo(Try.success(2));
+    }
+
+    @Test
+    void emptyPipelineShouldReturnTheInput() {
+        assertThat(Try.<String>pipeline().apply("input")).isEqualTo(Try.success("input"));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecoveryTest {
+    private final Recovery<String> recovery = Recovery.<String>builder()
+            .rethrow(FileNotFoundException.class)
+            .on(IOException.class, e -> "io")
+            .onWith(TimeoutException.class, e -> Try.success("timeout"))
+            .onCause(SQLException.class, e -> "sql:" + e.getSQLState())
+            .onRootCause(ConnectException.class, e -> "connect")
+            .rethrowAs(IllegalStateException.class, e -> new IllegalArgumentException(e))
+            .build();
+
+    @Test
+    void shouldReturnSuccessAsIs() {
+        var success = Try.success("value");
+        assertThat(success.recover(recovery)).isSameAs(success);
+    }
+
+    @Test
+    void shouldRecoverWithTheFirstMatchingCase() {
+        assertThat(Try.<String>failure(new IOException()).recover(recovery)).isEqualTo(Try.success("io"));
+        assertThat(Try.<String>failure(new TimeoutException()).recover(recovery))
+                .isEqualTo(Try.success("timeout"));
+    }
+
+    @Test
+    void shouldMatchSubclassesOfTheCaseType() {
+        assertThat(Try.<String>failure(new ConnectException()).recover(recovery))
+                .isEqualTo(Try.success("io"));
+    }
+
+    @Test
+    void rethrowShouldLeaveTheFailureAsIs() {
+        var failure = Try.<String>failure(new FileNotFoundException());
+        assertThat(failure.recover(recovery)).isSameAs(failure);
+    }
+
+    @Test
+    void rethrowAsShouldReplaceTheCause() {
+        var cause = new IllegalStateException();
+
+        var result = Try.<String>failure(cause).recover(recovery);
+
+        assertThat(result.getCause())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasCause(cause);
+    }
+
+    @Test
+    void shouldMatchAnywhereInTheCauseChain() {
+        var failure = new ExecutionException(new RuntimeException(new SQLException("reason", "08001")));
+        assertThat(Try.<String>failure(failure).recover(recovery)).isEqualTo(Try.success("sql:08001"));
+    }
+
+    @Test
+    void shouldMatchTheRootCause() {
+        var failure = new ExecutionException(new RuntimeException(new ConnectException()));
+        assertThat(Try.<String>failure(failure).recover(recovery)).isEqualTo(Try.success("connect"));
+    }
+
+    @Test
+    void shouldPreferTheEarliestDeclaredCase() {
+        var failure = new UncheckedIOException(new IOException(new SQLException()));
+        var recovery = Recovery.<String>builder()
+                .onCause(SQLException.class, e -> "sql")
+                .on(UncheckedIOException.class, e -> "unchecked")
+                .build();
+
+        assertThat(Try.<String>failure(failure).recover(recovery)).isEqualTo(Try.success("sql"));
+    }
+
+    @Test
+    void shouldReturnTheFailureIfNoCaseMatches() {
+        var failure = Try.<String>failure(new UnsupportedOperationException());
+        assertThat(failure.recover(recovery)).isSameAs(failure);
+    }
+
+    @Test
+    void shouldUseTheDefaultHandlerIfNoCaseMatches() {
+        var recovery = Recovery.<String>builder()
+                .rethrow(IllegalStateException.class)
+                .otherwise(t -> t.getClass().getSimpleName())
+                .build();
+
+        assertThat(Try.<String>failure(new UnsupportedOperationException()).recover(recovery))
+                .isEqualTo(Try.success("UnsupportedOperationException"));
+        assertThat(Try.<String>failure(new IllegalStateException()).recover(recovery))
+                .matches(Try::isFailure);
+    }
+
+    @Test
+    void shouldReturnFailureIfTheHandlerThrows() {
+        var exception = new IllegalStateException();
+        var recovery = Recovery.<String>builder()
+                .on(IOException.class, e -> {
+                    throw exception;
+                })
+                .build();
+
+        assertThat(Try.<String>failure(new IOException()).recover(recovery).getCause())
+                .isSameAs(exception);
+    }
+
+    @Test
+    void shouldStopAtCyclicCauseChains() {
+        var first = new RuntimeException();
+        var second = new RuntimeException(first);
+        first.initCause(second);
+        var calls = new AtomicInteger();
+        var recovery = Recovery.<String>builder()
+                .onCause(SQLException.class, e -> "sql")
+                .otherwise(t -> "cycle:" + calls.incrementAndGet())
+                .build();
+
+        assertThat(Try.<String>failure(first).recover(recovery)).isEqualTo(Try.success("cycle:1"));
+    }
+}
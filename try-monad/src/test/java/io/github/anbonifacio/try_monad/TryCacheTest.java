@@ -0,0 +1,220 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class TryCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Try<String> load(Integer key) {
+        loads.incrementAndGet();
+        return Try.success("v" + key);
+    }
+
+    private Try<String> fail(Integer key) {
+        loads.incrementAndGet();
+        return Try.failure(new IOException("no " + key));
+    }
+
+    @Test
+    void shouldLoadOnceAndCountHitsAndMisses() {
+        TryCache<Integer, String> cache = TryCache.builder().build();
+
+        assertThat(cache.get(1, this::load)).isEqualTo(Try.success("v1"));
+        assertThat(cache.get(1, this::load)).isEqualTo(Try.success("v1"));
+        assertThat(cache.get(2, this::load)).isEqualTo(Try.success("v2"));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats()).isEqualTo(new TryCache.Stats(1, 2, 0));
+        assertThat(cache.estimatedSize()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExpireFailuresSooner() {
+        TryCache<Integer, String> cache = TryCache.builder()
+                .successTtl(Duration.ofSeconds(10))
+                .failureTtl(Duration.ofSeconds(1))
+                .clock(now::get)
+                .build();
+        cache.get(1, this::load);
+        cache.get(2, this::fail);
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.get(1, this::load);
+        cache.get(2, this::fail);
+        assertThat(loads).hasValue(3);
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        cache.get(1, this::load);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void shouldNotCacheFailuresWithZeroTtl() {
+        TryCache<Integer, String> cache =
+                TryCache.builder().failureTtl(Duration.ZERO).build();
+
+        assertThat(cache.get(1, this::fail).getCause()).isInstanceOf(IOException.class);
+        assertThat(cache.get(1, this::fail).getCause()).isInstanceOf(IOException.class);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.estimatedSize()).isZero();
+        assertThat(cache.getIfPresent(1)).isNull();
+    }
+
+    @Test
+    void shouldCaptureThrowingLoader() {
+        TryCache<Integer, String> cache = TryCache.builder().build();
+
+        var result = cache.get(1, key -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(result.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldTreatNullLoaderResultAsFailure() {
+        TryCache<Integer, String> cache = TryCache.builder().build();
+
+        var result = cache.get(1, key -> null);
+
+        assertThat(result.getCause()).isInstanceOf(NullPointerException.class).hasMessage("loader returned null");
+        assertThat(cache.getIfPresent(1)).isEqualTo(result);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyReferencedEntries() {
+        TryCache<Integer, String> cache = TryCache.builder().maximumSize(3).build();
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(3, this::load);
+        cache.get(1, this::load);
+
+        cache.get(4, this::load);
+
+        assertThat(cache.estimatedSize()).isEqualTo(3);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.getIfPresent(1)).isNotNull();
+        assertThat(cache.getIfPresent(2)).isNull();
+        assertThat(cache.getIfPresent(4)).isNotNull();
+    }
+
+    @Test
+    void shouldInvalidateEntries() {
+        TryCache<Integer, String> cache = TryCache.builder().build();
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+
+        cache.invalidate(1);
+        assertThat(cache.getIfPresent(1)).isNull();
+        cache.invalidateAll();
+
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void shouldKeepEvictionQueueBoundedUnderExpiryAndInvalidation() {
+        TryCache<Integer, String> cache = TryCache.builder()
+                .maximumSize(100)
+                .failureTtl(Duration.ofSeconds(1))
+                .clock(now::get)
+                .build();
+
+        for (int i = 0; i < 50_000; i++) {
+            cache.get(i % 10, this::load);
+            cache.invalidate(i % 10);
+        }
+        assertThat(cache.estimatedSize()).isZero();
+        assertThat(cache.queuedEntries()).isLessThanOrEqualTo(200);
+
+        for (int i = 0; i < 50_000; i++) {
+            cache.get(i % 10, this::fail);
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+        }
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(10);
+        assertThat(cache.queuedEntries()).isLessThanOrEqualTo(200);
+
+        cache.invalidateAll();
+        assertThat(cache.estimatedSize()).isZero();
+        assertThat(cache.queuedEntries()).isZero();
+    }
+
+    @Test
+    void shouldShareInFlightLoad() throws Exception {
+        TryCache<Integer, String> cache = TryCache.builder().build();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Try<String>> first = executor.submit(() -> cache.get(1, key -> {
+                started.countDown();
+                Try.ofRunnable(release::await);
+                return load(key);
+            }));
+            started.await();
+            Future<Try<String>> second = executor.submit(() -> cache.get(1, this::load));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(Try.success("v1"));
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(Try.success("v1"));
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldStayBoundedUnderConcurrentLoads() throws Exception {
+        TryCache<Integer, String> cache = TryCache.builder().maximumSize(64).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        cache.get((i * 31 + offset) % 512, this::load);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(64);
+        var stats = cache.stats();
+        assertThat(stats.hits() + stats.misses()).isEqualTo(16_000);
+        assertThat(stats.evictions()).isPositive();
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatIllegalArgumentException().isThrownBy(() -> TryCache.builder().maximumSize(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> TryCache.builder().failureTtl(Duration.ofSeconds(-1)));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class TryCollectorsTest {
+    private static final IOException IO_EXCEPTION = new IOException();
+    private static final IllegalStateException ILLEGAL_STATE = new IllegalStateException();
+
+    private static Stream<Try<Integer>> tries() {
+        return Stream.of(
+                Try.success(1),
+                Try.failure(IO_EXCEPTION),
+                Try.success(2),
+                Try.failure(ILLEGAL_STATE),
+                Try.failure(IO_EXCEPTION),
+                Try.success(null));
+    }
+
+    /**
+     * Even numbers succeed, odd numbers fail with an {@link IOException} if divisible by 3 and an
+     * {@link IllegalStateException} otherwise.
+     */
+    private static Stream<Try<Integer>> manyTries() {
+        return IntStream.range(0, 100_000)
+                .mapToObj(i -> i % 2 == 0
+                        ? Try.success(i)
+                        : Try.failure(i % 3 == 0 ? new IOException() : new IllegalStateException()));
+    }
+
+    @Test
+    void partitioningShouldSplitSuccessesAndFailuresInEncounterOrder() {
+        var partition = tries().collect(TryCollectors.partitioning());
+
+        assertThat(partition.successes()).containsExactly(1, 2, null);
+        assertThat(partition.failures()).containsExactly(IO_EXCEPTION, ILLEGAL_STATE, IO_EXCEPTION);
+    }
+
+    @Test
+    void partitioningConcurrentShouldSplitSuccessesAndFailures() {
+        var partition = manyTries().parallel().collect(TryCollectors.partitioningConcurrent());
+
+        assertThat(partition.successes()).hasSize(50_000);
+        assertThat(partition.failures()).hasSize(50_000);
+        assertThat(tries().collect(TryCollectors.partitioningConcurrent()).successes())
+                .containsExactlyInAnyOrder(1, 2, null);
+    }
+
+    @Test
+    void countingFailuresByTypeShouldIgnoreSuccesses() {
+        assertThat(tries().collect(TryCollectors.countingFailuresByType()))
+                .isEqualTo(Map.of(IOException.class, 2L, IllegalStateException.class, 1L));
+    }
+
+    @Test
+    void countingFailuresByTypeConcurrentShouldMatchSequentialCount() {
+        var expected = manyTries().collect(TryCollectors.countingFailuresByType());
+
+        assertThat(manyTries().parallel().collect(TryCollectors.countingFailuresByTypeConcurrent()))
+                .isEqualTo(expected)
+                .containsEntry(IOException.class, 16_667L);
+    }
+
+    @Test
+    void firstFailuresShouldKeepOnlyTheFirstNFailures() {
+        assertThat(tries().collect(TryCollectors.firstFailures(2))).containsExactly(IO_EXCEPTION, ILLEGAL_STATE);
+        assertThat(tries().parallel().collect(TryCollectors.firstFailures(2)))
+                .containsExactly(IO_EXCEPTION, ILLEGAL_STATE);
+        assertThat(tries().collect(TryCollectors.firstFailures(0))).isEmpty();
+    }
+
+    @Test
+    void firstFailuresConcurrentShouldKeepAtMostNFailures() {
+        assertThat(manyTries().parallel().collect(TryCollectors.firstFailuresConcurrent(10)))
+                .hasSize(10);
+        assertThat(tries().collect(TryCollectors.firstFailuresConcurrent(10))).hasSize(3);
+    }
+
+    @Test
+    void firstFailuresShouldRejectNegativeLimit() {
+        assertThatIllegalArgumentException().isThrownBy(() -> TryCollectors.firstFailures(-1));
+        assertThatIllegalArgumentException().isThrownBy(() -> TryCollectors.firstFailuresConcurrent(-1));
+    }
+
+    @Test
+    void toTryListShouldReturnAllResultsIfEveryElementIsSuccess() {
+        var result = Stream.of(Try.success(1), Try.success(2)).collect(TryCollectors.toTryList());
+        assertThat(result).isEqualTo(Try.success(List.of(1, 2)));
+
+        var parallel =
+                IntStream.range(0, 10_000).mapToObj(Try::success).parallel().collect(TryCollectors.toTryList());
+        assertThat(parallel.get()).isEqualTo(IntStream.range(0, 10_000).boxed().toList());
+    }
+
+    @Test
+    void toTryListShouldReturnTheFirstFailure() {
+        assertThat(tries().collect(TryCollectors.toTryList())).isEqualTo(Try.failure(IO_EXCEPTION));
+        assertThat(tries().parallel().collect(TryCollectors.toTryList())).isEqualTo(Try.failure(IO_EXCEPTION));
+    }
+
+    @Test
+    void toTryListConcurrentShouldReturnAFailureIfAnyElementIsFailure() {
+        assertThat(manyTries()
+                        .parallel()
+                        .collect(TryCollectors.toTryListConcurrent())
+                        .isFailure())
+                .isTrue();
+
+        var result = IntStream.range(0, 10_000)
+                .mapToObj(Try::success)
+                .parallel()
+                .collect(TryCollectors.toTryListConcurrent());
+        assertThat(result.get())
+                .hasSize(10_000)
+                .containsAll(IntStream.range(0, 10_000).boxed().toList());
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class TryDoubleTest {
+    private static Stream<Arguments> fatal_errors() {
+        return Stream.of(
+                arguments(new InternalError()),
+                arguments(new LinkageError()),
+                arguments(new ClassFormatError()),
+                arguments(new OutOfMemoryError()));
+    }
+
+    @Test
+    void shouldExecuteAndFinallyOnSuccess() {
+        var count = new AtomicInteger();
+        TryDouble.of(() -> 1.0).andFinally(() -> count.set(1));
+        assertThat(count.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExecuteAndFinallyTryOnFailureWithFailure() {
+        var result = TryDouble.of(() -> {
+                    throw new IllegalStateException("FAILURE");
+                })
+                .andFinally(() -> {
+                    throw new IllegalArgumentException("FAILURE");
+                });
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getFailure()).containsInstanceOf(IllegalArgumentException.class);
+    }
+
+    // -- Try.ofDouble
+
+    @Test
+    void shouldCreateSuccessWhenCallingTryOfDouble() {
+        assertThat(Try.ofDouble(() -> 1.0)).isEqualTo(new SuccessDouble(1.0));
+    }
+
+    @Test
+    void shouldCreateFailureWhenCallingTryOfDouble() {
+        assertThat(Try.ofDouble(() -> {
+                    throw new Error("error");
+                }))
+                .isInstanceOf(FailureDouble.class);
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenCallingTryOfDoubleNullSupplier() {
+        assertThatThrownBy(() -> Try.ofDouble(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("supplier is null");
+    }
+
+    @ParameterizedTest
+    @MethodSource("fatal_errors")
+    void shouldThrowIfFatalError(Error ex) {
+        assertThatExceptionOfType(ex.getClass())
+                .isThrownBy(() -> TryDouble.of(() -> {
+                    throw ex;
+                }));
+    }
+
+    // -- fold/peek
+
+    @Test
+    void shouldReturnValueIfSuccess() {
+        assertThat(TryDouble.success(2.0)
+                        .<String>fold(
+                                t -> {
+                                    throw new AssertionError("Not expected to be called");
+                                },
+                                v -> "value " + v))
+                .isEqualTo("value " + 2.0);
+    }
+
+    @Test
+    void shouldReturnAlternateValueIfFailure() {
+        assertThat(TryDouble.failure(new NullPointerException()).<String>fold(t -> "failure", v -> {
+                    throw new AssertionError("Not expected to be called");
+                }))
+                .isEqualTo("failure");
+    }
+
+    @Test
+    void shouldPeekOnSuccess() {
+        var failureRun = new AtomicBoolean(false);
+        var successRun = new AtomicBoolean(false);
+        var sut = TryDouble.success(2.0);
+
+        var result = sut.peek(t -> failureRun.set(true), v -> successRun.set(true));
+
+        assertThat(result).isSameAs(sut);
+        assertThat(failureRun).isFalse();
+        assertThat(successRun).isTrue();
+    }
+
+    @Test
+    void shouldPeekOnFailure() {
+        var failureRun = new AtomicBoolean(false);
+        var successRun = new AtomicBoolean(false);
+        var sut = TryDouble.failure(new Throwable());
+
+        var result = sut.peek(t -> failureRun.set(true), v -> successRun.set(true));
+
+        assertThat(result).isSameAs(sut);
+        assertThat(failureRun).isTrue();
+        assertThat(successRun).isFalse();
+    }
+
+    // -- get/orElse
+
+    @Test
+    void getOnSuccessShouldReturnTheExpressionResult() {
+        assertThat(TryDouble.of(() -> 2.0).getAsDouble()).isEqualTo(2.0);
+        assertThat(TryDouble.of(() -> 2.0).getSuccess()).hasValue(2.0);
+    }
+
+    @Test
+    void getOnFailureShouldThrowNoSuchElementException() {
+        var cause = new NumberFormatException();
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> TryDouble.failure(cause).getAsDouble())
+                .withMessage("Try is Failure")
+                .withCause(cause);
+        assertThat(TryDouble.failure(cause).getSuccess()).isEmpty();
+    }
+
+    @Test
+    void getCauseOnSuccessShouldReturnNoSuchElementException() {
+        assertThat(TryDouble.success(1.0).getCause()).isInstanceOf(NoSuchElementException.class);
+        assertThat(TryDouble.success(1.0).getFailure()).isEmpty();
+    }
+
+    @Test
+    void orElseShouldReturnResultOnSuccessAndOtherOnFailure() {
+        assertThat(TryDouble.success(1.0).orElse(3.0)).isEqualTo(1.0);
+        assertThat(TryDouble.failure(new RuntimeException()).orElse(3.0)).isEqualTo(3.0);
+        assertThat(TryDouble.failure(new RuntimeException()).orElseGet(() -> 3.0))
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    void orElseTryShouldReturnSelfOnSuccessAndOtherOnFailure() {
+        var success = TryDouble.success(1.0);
+        assertThat(success.orElseTry(TryDouble.success(0.0))).isSameAs(success);
+        assertThat(TryDouble.failure(new RuntimeException()).orElseTry(success)).isSameAs(success);
+    }
+
+    @Test
+    void shouldThrowNewExceptionWhenOrElseThrowOnFailure() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() ->
+                        TryDouble.failure(new IndexOutOfBoundsException()).orElseThrow(IllegalStateException::new))
+                .withCauseInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    // -- map/flatMap
+
+    @Test
+    void mapOnSuccessShouldReturnSuccess() {
+        assertThat(TryDouble.of(() -> 2.0).map(v -> v * 2)).isEqualTo(TryDouble.success(4.0));
+    }
+
+    @Test
+    void mapOnSuccessShouldReturnAFailureIfTheMappingFunctionFails() {
+        assertThat(TryDouble.of(() -> 2.0)
+                        .map(v -> {
+                            throw new ArithmeticException();
+                        })
+                        .getCause())
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void mapOnFailureShouldJustReturnTheFailure() {
+        var failure = TryDouble.failure(new RuntimeException());
+        assertThat(failure.map(v -> v + 1)).isSameAs(failure);
+    }
+
+    @Test
+    void mapToOtherPrimitivesShouldKeepTheResultUnboxed() {
+        assertThat(TryDouble.success(2.0).mapToInt(v -> (int) v)).isEqualTo(TryInt.success(2));
+        assertThat(TryDouble.success(2.0).mapToLong(v -> (long) v)).isEqualTo(TryLong.success(2L));
+        assertThat(TryDouble.success(2.0).mapToObj(v -> "value")).isEqualTo(Try.success("value"));
+    }
+
+    @Test
+    void mapToOtherPrimitivesOnFailureShouldKeepTheCause() {
+        var cause = new RuntimeException();
+        assertThat(TryDouble.failure(cause).mapToInt(v -> (int) v).getCause()).isSameAs(cause);
+        assertThat(TryDouble.failure(cause).mapToLong(v -> (long) v).getCause()).isSameAs(cause);
+        assertThat(TryDouble.failure(cause).mapToObj(v -> "value").getCause()).isSameAs(cause);
+    }
+
+    @Test
+    void flatMapOnSuccessShouldApplyTheGivenFunction() {
+        assertThat(TryDouble.of(() -> 2.0).flatMap(v -> TryDouble.success(v * 2)))
+                .isEqualTo(TryDouble.success(4.0));
+        assertThat(TryDouble.of(() -> 2.0).flatMapToInt(v -> TryInt.success((int) v)))
+                .isEqualTo(TryInt.success(2));
+        assertThat(TryDouble.of(() -> 2.0).flatMapToLong(v -> TryLong.success((long) v)))
+                .isEqualTo(TryLong.success(2L));
+    }
+
+    @Test
+    void flatMapOnSuccessShouldReturnFailureIfTheMappingFunctionFails() {
+        var result = TryDouble.of(() -> 1.0).flatMap(v -> {
+            throw new RuntimeException();
+        });
+        assertThat(result.isFailure()).isTrue();
+    }
+
+    @Test
+    void flatMapOnFailureShouldJustReturnTheFailure() {
+        var failure = TryDouble.failure(new NumberFormatException());
+        assertThat(failure.flatMap(TryDouble::success)).isSameAs(failure);
+    }
+
+    // -- filter
+
+    @Test
+    void filterOnSuccessShouldReturnSuccessIfPredicateIsSatisfied() {
+        assertThat(TryDouble.of(() -> 2.0).filter(v -> v == 2.0).isSuccess()).isTrue();
+    }
+
+    @Test
+    void filterOnSuccessShouldReturnFailureIfPredicateIsNotSatisfied() {
+        assertThat(TryDouble.of(() -> 2.0).filter(v -> v == 0.0).getCause())
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Predicate does not hold for " + 2.0);
+    }
+
+    @Test
+    void filterOnFailureShouldJustReturnTheFailure() {
+        var failure = TryDouble.failure(new RuntimeException());
+        assertThat(failure.filter(v -> true)).isSameAs(failure);
+    }
+
+    // -- recover/recoverWith
+
+    @Test
+    void recoverOnSuccessShouldShouldJustReturnSuccess() {
+        var success = TryDouble.success(2.0);
+        assertThat(success.recover(t -> 0.0)).isSameAs(success);
+        assertThat(success.recover(IllegalStateException.class, t -> 0.0)).isSameAs(success);
+        assertThat(success.recoverWith(t -> TryDouble.success(0.0))).isSameAs(success);
+        assertThat(success.recoverWith(IllegalStateException.class, t -> TryDouble.success(0.0)))
+                .isSameAs(success);
+    }
+
+    @Test
+    void recoverOnFailureShouldReturnSuccessIfRecoverySucceeds() {
+        assertThat(TryDouble.failure(new RuntimeException()).recover(t -> 3.0)).isEqualTo(TryDouble.success(3.0));
+    }
+
+    @Test
+    void recoverOnFailureShouldReturnFailureIfRecoveryFails() {
+        var newCause = new ArrayIndexOutOfBoundsException();
+        var result = TryDouble.failure(new RuntimeException()).recover(t -> {
+            throw newCause;
+        });
+        assertThat(result).isEqualTo(TryDouble.failure(newCause));
+    }
+
+    @Test
+    void typedRecoverOnFailureShouldApplyOnlyGivenCauseTypeMatches() {
+        var failure = TryDouble.failure(new IOException("test"));
+        assertThat(failure.recover(IllegalStateException.class, t -> 0.0)).isSameAs(failure);
+        assertThat(failure.recover(IOException.class, t -> 3.0)).isEqualTo(TryDouble.success(3.0));
+    }
+
+    @Test
+    void recoverWithOnFailureShouldReturnTheGivenTry() {
+        var expected = TryDouble.success(3.0);
+        assertThat(TryDouble.failure(new RuntimeException()).recoverWith(t -> expected))
+                .isSameAs(expected);
+    }
+
+    @Test
+    void typedRecoverWithOnFailureShouldApplyOnlyGivenCauseTypeMatches() {
+        var failure = TryDouble.failure(new IOException("test"));
+        var expected = TryDouble.success(3.0);
+        assertThat(failure.recoverWith(IllegalStateException.class, t -> expected))
+                .isSameAs(failure);
+        assertThat(failure.recoverWith(IOException.class, t -> expected)).isSameAs(expected);
+    }
+
+    @Test
+    void typedRecoverWithOnFailureShouldReturnFailureGivenCauseTypeMatchesAndRecoveryFails() {
+        var newCause = new ArrayIndexOutOfBoundsException();
+        var result = TryDouble.failure(new IOException()).recoverWith(IOException.class, t -> {
+            throw newCause;
+        });
+        assertThat(result).isEqualTo(TryDouble.failure(newCause));
+    }
+
+    // -- boxed/fromTry
+
+    @Test
+    void boxedShouldConvertToTry() {
+        var cause = new RuntimeException();
+        assertThat(TryDouble.success(2.0).boxed()).isEqualTo(Try.success(2.0));
+        assertThat(TryDouble.failure(cause).boxed()).isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void fromTryShouldUnboxTheResult() {
+        var cause = new RuntimeException();
+        assertThat(TryDouble.fromTry(Try.success((Double) 2.0))).isEqualTo(TryDouble.success(2.0));
+        assertThat(TryDouble.fromTry(Try.failure(cause))).isEqualTo(TryDouble.failure(cause));
+        assertThat(TryDouble.fromTry(Try.success(null)).getCause()).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void mapToDoubleOnTryShouldReturnPrimitiveVariant() {
+        var cause = new RuntimeException();
+        assertThat(Try.success("2.0").mapToDouble(Double::parseDouble)).isEqualTo(TryDouble.success(2.0));
+        assertThat(Try.success("x").mapToDouble(Double::parseDouble).getCause())
+                .isInstanceOf(NumberFormatException.class);
+        assertThat(Try.<String>failure(cause).mapToDouble(Double::parseDouble)).isEqualTo(TryDouble.failure(cause));
+    }
+
+    @Test
+    void shouldReturnStringForSuccess() {
+        assertThat(TryDouble.success(1.0)).hasToString("SuccessDouble[value=" + 1.0 + "]");
+    }
+}
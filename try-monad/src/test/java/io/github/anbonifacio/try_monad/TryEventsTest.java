@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TryEventsTest {
+    private static final String FAILURE = "io.github.anbonifacio.try_monad.Failure";
+    private static final String SLOW_SUPPLIER = "io.github.anbonifacio.try_monad.SlowSupplier";
+
+    @TempDir
+    Path dir;
+
+    private List<RecordedEvent> record(Consumer<Recording> settings, Runnable body) throws IOException {
+        var file = dir.resolve("try.jfr");
+        try (var recording = new Recording()) {
+            settings.accept(recording);
+            recording.start();
+            body.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("io.github.anbonifacio.try_monad."))
+                .toList();
+    }
+
+    private static Integer fail() throws IOException {
+        throw new IOException("boom");
+    }
+
+    @Test
+    void shouldBeDisabledByDefault() throws IOException {
+        var events = record(recording -> {}, () -> {
+            Try.of(TryEventsTest::fail);
+            Try.of(() -> {
+                Thread.sleep(150);
+                return 1;
+            });
+        });
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void shouldStopAllocatingEventsOnceTheRecordingStops() throws IOException {
+        record(
+                recording -> {
+                    recording.enable(SLOW_SUPPLIER);
+                    recording.enable(FAILURE);
+                },
+                () -> {
+                    assertThat(TryEvents.begin()).isNotNull();
+                });
+
+        assertThat(TryEvents.begin()).isNull();
+    }
+
+    @Test
+    void shouldRecordFailuresAndRecoveries() throws IOException {
+        var events = record(recording -> recording.enable(FAILURE), () -> {
+            TryMetrics.named("lookup", () -> Try.of(TryEventsTest::fail).recover(IOException.class, e -> 0));
+            Try.ofRunnable(() -> {
+                throw new IllegalStateException();
+            });
+            Try.of(() -> 1);
+        });
+
+        assertThat(events).hasSize(3);
+        assertThat(events.get(0).getClass("exceptionClass").getName()).isEqualTo(IOException.class.getName());
+        assertThat(events.get(0).getString("operation")).isEqualTo("of");
+        assertThat(events.get(0).getString("operationName")).isEqualTo("lookup");
+        assertThat(events.get(0).getBoolean("recovered")).isFalse();
+        assertThat(events.get(1).getString("operation")).isEqualTo("recover");
+        assertThat(events.get(1).getBoolean("recovered")).isTrue();
+        assertThat(events.get(2).getClass("exceptionClass").getName()).isEqualTo(IllegalStateException.class.getName());
+        assertThat(events.get(2).getString("operation")).isEqualTo("ofRunnable");
+    }
+
+    @Test
+    void shouldRecordSlowSuppliersOverThreshold() throws IOException {
+        var events = record(recording -> recording.enable(SLOW_SUPPLIER).withThreshold(Duration.ofMillis(50)), () -> {
+            Try.of(() -> 1);
+            Try.of(() -> {
+                Thread.sleep(100);
+                return fail();
+            });
+        });
+
+        assertThat(events).hasSize(1);
+        var event = events.get(0);
+        assertThat(event.getString("operation")).isEqualTo("of");
+        assertThat(event.getBoolean("failed")).isTrue();
+        assertThat(event.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+}
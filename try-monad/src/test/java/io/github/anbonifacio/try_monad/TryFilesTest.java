@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TryFilesTest {
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content);
+    }
+
+    private static String decode(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    @Test
+    void mapShouldMapTheWholeFile() throws IOException {
+        var file = write("file.txt", "hello, world");
+
+        var result = TryFiles.map(file);
+
+        assertThat(result.map(TryFilesTest::decode)).isEqualTo(Try.success("hello, world"));
+    }
+
+    @Test
+    void mapShouldCaptureTheIOExceptionAsIs() {
+        var result = TryFiles.map(dir.resolve("missing"));
+
+        assertThat(result.getCause()).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void mapChunksShouldSplitTheFile() throws IOException {
+        var file = write("file.txt", "0123456789abcdefghijXYZ");
+
+        var chunks = TryFiles.mapChunks(file, 10).get();
+
+        assertThat(chunks).extracting(TryFilesTest::decode).containsExactly("0123456789", "abcdefghij", "XYZ");
+        assertThat(TryFiles.mapChunks(write("empty", ""), 10)).isEqualTo(Try.success(List.of()));
+        assertThatThrownBy(() -> TryFiles.mapChunks(file, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void transferShouldCopyTheFile() throws IOException {
+        var content = "x".repeat(100_000);
+        var source = write("source", content);
+        var target = write("target", "previous content, longer than nothing");
+
+        var result = TryFiles.transfer(source, target);
+
+        assertThat(result).isEqualTo(TryLong.success(100_000));
+        assertThat(Files.readString(target)).isEqualTo(content);
+    }
+
+    @Test
+    void transferShouldCopyFromThePositionOfTheChannel() throws IOException {
+        var source = write("source", "skipped|copied");
+        var out = new ByteArrayOutputStream();
+
+        try (var channel = FileChannel.open(source)) {
+            channel.position(8);
+            var result = TryFiles.transfer(channel, Channels.newChannel(out));
+
+            assertThat(result).isEqualTo(TryLong.success(6));
+            assertThat(channel.position()).isEqualTo(14);
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("copied");
+    }
+
+    @Test
+    void transferShouldCaptureTheIOException() {
+        var result = TryFiles.transfer(dir.resolve("missing"), dir.resolve("target"));
+
+        assertThat(result.getCause()).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void linesShouldReturnATryPerLine() throws IOException {
+        var file = write("lines.txt", "first\nsecond\nthird\n");
+
+        try (var lines = TryFiles.lines(file)) {
+            assertThat(lines.map(Try::get)).containsExactly("first", "second", "third");
+        }
+    }
+
+    @Test
+    void linesShouldReturnAFailureIfTheFileCannotBeOpened() {
+        try (var lines = TryFiles.lines(dir.resolve("missing"))) {
+            assertThat(lines.toList())
+                    .singleElement()
+                    .extracting(Try::getCause)
+                    .isInstanceOf(NoSuchFileException.class);
+        }
+    }
+
+    @Test
+    void walkShouldListEveryEntryDownToMaxDepth() throws IOException {
+        Files.createDirectories(dir.resolve("a/b/c"));
+        write("a/file", "");
+        write("a/b/c/deep", "");
+
+        try (var all = TryFiles.walk(dir, Integer.MAX_VALUE);
+                var shallow = TryFiles.walk(dir, 1)) {
+            assertThat(all.map(Try::get).map(dir::relativize).map(Path::toString))
+                    .containsExactlyInAnyOrder("", "a", "a/file", "a/b", "a/b/c", "a/b/c/deep");
+            assertThat(shallow.map(Try::get)).containsExactlyInAnyOrder(dir, dir.resolve("a"));
+        }
+    }
+
+    @Test
+    void parallelWalkShouldListEveryEntryOnce() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            var sub = Files.createDirectories(dir.resolve("d" + i + "/nested"));
+            for (int j = 0; j < 20; j++) {
+                Files.createFile(sub.resolve("f" + j));
+            }
+        }
+
+        List<Path> paths;
+        try (var walk = TryFiles.walk(dir, Integer.MAX_VALUE)) {
+            paths = walk.parallel().map(Try::get).collect(Collectors.toList());
+        }
+
+        assertThat(paths).hasSize(1 + 50 * 2 + 50 * 20).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void walkShouldReturnAFailureForAMissingStart() {
+        try (var walk = TryFiles.walk(dir.resolve("missing"), 1)) {
+            assertThat(walk.toList()).singleElement().extracting(Try::getCause).isInstanceOf(NoSuchFileException.class);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.TryFlow.Routing;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TryFlowTest {
+    /**
+     * Emits {@code 0, 1, ...} synchronously, only as requested, and records the demand it received.
+     */
+    static final class RangePublisher implements Flow.Publisher<Integer>, Flow.Subscription {
+        private final int count;
+        private Flow.Subscriber<? super Integer> subscriber;
+        private long demand;
+        private long maxDemand;
+        private int next;
+        private boolean emitting;
+        private boolean cancelled;
+
+        RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+            if (count == 0) {
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            demand += n;
+            maxDemand = Math.max(maxDemand, demand);
+            if (emitting) {
+                return;
+            }
+            emitting = true;
+            while (demand > 0 && next < count && !cancelled) {
+                demand--;
+                subscriber.onNext(next++);
+                if (next == count && !cancelled) {
+                    subscriber.onComplete();
+                }
+            }
+            emitting = false;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        final long initialRequest;
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static Integer failOnOdd(Integer i) throws IOException {
+        if (i % 2 == 1) {
+            throw new IOException("odd: " + i);
+        }
+        return i;
+    }
+
+    @Test
+    void emitShouldSendFailuresDownstream() {
+        var subscriber = new RecordingSubscriber<Try<Integer>>(Long.MAX_VALUE);
+
+        TryFlow.map(new RangePublisher(4), TryFlowTest::failOnOdd, Routing.EMIT).subscribe(subscriber);
+
+        assertThat(subscriber.items).hasSize(4);
+        assertThat(subscriber.items.get(1).getCause()).isInstanceOf(IOException.class);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void skipShouldDropFailuresAndReplaceTheirDemand() {
+        var publisher = new RangePublisher(10);
+        var subscriber = new RecordingSubscriber<Try<Integer>>(2);
+
+        TryFlow.map(publisher, TryFlowTest::failOnOdd, Routing.SKIP).subscribe(subscriber);
+
+        assertThat(subscriber.items).containsExactly(Try.success(0), Try.success(2));
+        assertThat(publisher.next).isEqualTo(3);
+    }
+
+    @Test
+    void onErrorShouldCancelUpstreamAndSignalTheCause() {
+        var publisher = new RangePublisher(10);
+        var subscriber = new RecordingSubscriber<Try<Integer>>(Long.MAX_VALUE);
+
+        TryFlow.map(publisher, TryFlowTest::failOnOdd, Routing.ON_ERROR).subscribe(subscriber);
+
+        assertThat(subscriber.items).containsExactly(Try.success(0));
+        assertThat(subscriber.error).isInstanceOf(IOException.class).hasMessage("odd: 1");
+        assertThat(subscriber.completed).isFalse();
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    void shouldOnlyPullTheRequestedItems() {
+        var publisher = new RangePublisher(1_000_000);
+        var subscriber = new RecordingSubscriber<Try<Integer>>(5);
+
+        TryFlow.map(publisher, i -> i, Routing.EMIT).subscribe(subscriber);
+
+        assertThat(subscriber.items).hasSize(5);
+        assertThat(publisher.next).isEqualTo(5);
+        subscriber.subscription.request(3);
+        assertThat(publisher.next).isEqualTo(8);
+    }
+
+    @Test
+    void nonPositiveRequestShouldCancelAndSignalAnError() {
+        var publisher = new RangePublisher(10);
+        var subscriber = new RecordingSubscriber<Try<Integer>>(0);
+
+        TryFlow.map(publisher, i -> i, Routing.EMIT).subscribe(subscriber);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    void nonPositiveRequestBeforeTheUpstreamSubscriptionShouldCancelIt() {
+        var processor = TryFlow.<Integer, Integer>processor(Try::success, Routing.EMIT);
+        var subscriber = new RecordingSubscriber<Try<Integer>>(-1);
+        processor.subscribe(subscriber);
+        var publisher = new RangePublisher(10);
+
+        publisher.subscribe(processor);
+        subscriber.subscription.request(5);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.completed).isFalse();
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    void processorShouldAccumulateDemandAndTerminalSignals() {
+        var processor = TryFlow.<Integer, Integer>processor(Try::success, Routing.EMIT);
+        var subscriber = new RecordingSubscriber<Try<Integer>>(3);
+        processor.subscribe(subscriber);
+        new RangePublisher(2).subscribe(processor);
+
+        var empty = TryFlow.<Integer, Integer>processor(Try::success, Routing.EMIT);
+        new RangePublisher(0).subscribe(empty);
+        var late = new RecordingSubscriber<Try<Integer>>(1);
+        empty.subscribe(late);
+
+        assertThat(subscriber.items).containsExactly(Try.success(0), Try.success(1));
+        assertThat(subscriber.completed).isTrue();
+        assertThat(late.completed).isTrue();
+    }
+
+    @Test
+    void processorShouldRejectASecondSubscriber() {
+        var processor = TryFlow.<Integer, Integer>processor(Try::success, Routing.EMIT);
+        processor.subscribe(new RecordingSubscriber<>(1));
+        var second = new RecordingSubscriber<Try<Integer>>(1);
+
+        processor.subscribe(second);
+
+        assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void collectShouldRequestAtMostPrefetchItemsAhead() {
+        var publisher = new RangePublisher(1_000);
+
+        var result = TryFlow.collect(TryFlow.map(publisher, i -> i, Routing.EMIT), 16);
+
+        assertThat(result.await())
+                .isEqualTo(Try.success(IntStream.range(0, 1_000).boxed().toList()));
+        assertThat(publisher.maxDemand).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void collectShouldStopAtTheFirstFailure() {
+        var publisher = new RangePublisher(10);
+
+        var result = TryFlow.collect(TryFlow.map(publisher, TryFlowTest::failOnOdd, Routing.EMIT), 4);
+
+        assertThat(result.await().getCause()).isInstanceOf(IOException.class).hasMessage("odd: 1");
+        assertThat(publisher.cancelled).isTrue();
+    }
+
+    @Test
+    void collectShouldReturnTheErrorOfThePublisher() {
+        var exception = new IllegalStateException();
+        var result = TryFlow.<Integer>collect(
+                TryFlow.map(new RangePublisher(10), TryFlowTest::failOnOdd, Routing.ON_ERROR), 4);
+
+        assertThat(result.await().getCause()).isInstanceOf(IOException.class);
+        assertThat(TryFlow.<Integer>collect(
+                                subscriber -> {
+                                    subscriber.onSubscribe(new RangePublisher(0));
+                                    subscriber.onError(exception);
+                                },
+                                1)
+                        .await()
+                        .getCause())
+                .isSameAs(exception);
+        assertThatThrownBy(() -> TryFlow.<Integer>collect(subscriber -> {}, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cancellingTheCollectedResultShouldCancelTheSubscription() {
+        var upstream = new RangePublisher(0);
+        Flow.Publisher<Try<Integer>> neverCompleting = subscriber -> subscriber.onSubscribe(upstream);
+        var derivedUpstream = new RangePublisher(0);
+        Flow.Publisher<Try<Integer>> neverCompletingEither = subscriber -> subscriber.onSubscribe(derivedUpstream);
+
+        var result = TryFlow.collect(neverCompleting, 4);
+        var derived = TryFlow.collect(neverCompletingEither, 4).map(List::size);
+
+        assertThat(result.cancel()).isTrue();
+        assertThat(upstream.cancelled).isTrue();
+        assertThat(derived.cancel()).isTrue();
+        assertThat(derivedUpstream.cancelled).isTrue();
+    }
+
+    @Test
+    void nullStageResultShouldBecomeAFailure() {
+        var subscriber = new RecordingSubscriber<Try<Integer>>(Long.MAX_VALUE);
+
+        TryFlow.<Integer, Integer>flatMap(new RangePublisher(2), i -> null, Routing.EMIT)
+                .subscribe(subscriber);
+
+        assertThat(subscriber.items).hasSize(2).allSatisfy(item -> assertThat(item.getCause())
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("stage returned null"));
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void shouldKeepUpWithAnAsynchronousPublisher() {
+        var executor = Executors.newFixedThreadPool(2);
+        try (var publisher = new SubmissionPublisher<Integer>(executor, 8)) {
+            var result = TryFlow.collect(TryFlow.map(publisher, i -> i * 2, Routing.EMIT), 4);
+            for (int i = 0; i < 10_000; i++) {
+                publisher.submit(i);
+            }
+            publisher.close();
+
+            var values = result.await(Duration.ofSeconds(10)).get();
+
+            assertThat(values).hasSize(10_000).startsWith(0, 2, 4).endsWith(19_998);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class TryIntTest {
+    private static Stream<Arguments> fatal_errors() {
+        return Stream.of(
+                arguments(new InternalError()),
+                arguments(new LinkageError()),
+                arguments(new ClassFormatError()),
+                arguments(new OutOfMemoryError()));
+    }
+
+    @Test
+    void shouldExecuteAndFinallyOnSuccess() {
+        var count = new AtomicInteger();
+        TryInt.of(() -> 1).andFinally(() -> count.set(1));
+        assertThat(count.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExecuteAndFinallyTryOnFailureWithFailure() {
+        var result = TryInt.of(() -> {
+                    throw new IllegalStateException("FAILURE");
+                })
+                .andFinally(() -> {
+                    throw new IllegalArgumentException("FAILURE");
+                });
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getFailure()).containsInstanceOf(IllegalArgumentException.class);
+    }
+
+    // -- Try.ofInt
+
+    @Test
+    void shouldCreateSuccessWhenCallingTryOfInt() {
+        assertThat(Try.ofInt(() -> 1)).isEqualTo(new SuccessInt(1));
+    }
+
+    @Test
+    void shouldCreateFailureWhenCallingTryOfInt() {
+        assertThat(Try.ofInt(() -> {
+                    throw new Error("error");
+                }))
+                .isInstanceOf(FailureInt.class);
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenCallingTryOfIntNullSupplier() {
+        assertThatThrownBy(() -> Try.ofInt(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("supplier is null");
+    }
+
+    @ParameterizedTest
+    @MethodSource("fatal_errors")
+    void shouldThrowIfFatalError(Error ex) {
+        assertThatExceptionOfType(ex.getClass())
+                .isThrownBy(() -> TryInt.of(() -> {
+                    throw ex;
+                }));
+    }
+
+    // -- fold/peek
+
+    @Test
+    void shouldReturnValueIfSuccess() {
+        assertThat(TryInt.success(2)
+                        .<String>fold(
+                                t -> {
+                                    throw new AssertionError("Not expected to be called");
+                                },
+                                v -> "value " + v))
+                .isEqualTo("value " + 2);
+    }
+
+    @Test
+    void shouldReturnAlternateValueIfFailure() {
+        assertThat(TryInt.failure(new NullPointerException()).<String>fold(t -> "failure", v -> {
+                    throw new AssertionError("Not expected to be called");
+                }))
+                .isEqualTo("failure");
+    }
+
+    @Test
+    void shouldPeekOnSuccess() {
+        var failureRun = new AtomicBoolean(false);
+        var successRun = new AtomicBoolean(false);
+        var sut = TryInt.success(2);
+
+        var result = sut.peek(t -> failureRun.set(true), v -> successRun.set(true));
+
+        assertThat(result).isSameAs(sut);
+        assertThat(failureRun).isFalse();
+        assertThat(successRun).isTrue();
+    }
+
+    @Test
+    void shouldPeekOnFailure() {
+        var failureRun = new AtomicBoolean(false);
+        var successRun = new AtomicBoolean(false);
+        var sut = TryInt.failure(new Throwable());
+
+        var result = sut.peek(t -> failureRun.set(true), v -> successRun.set(true));
+
+        assertThat(result).isSameAs(sut);
+        assertThat(failureRun).isTrue();
+        assertThat(successRun).isFalse();
+    }
+
+    // -- get/orElse
+
+    @Test
+    void getOnSuccessShouldReturnTheExpressionResult() {
+        assertThat(TryInt.of(() -> 2).getAsInt()).isEqualTo(2);
+        assertThat(TryInt.of(() -> 2).getSuccess()).hasValue(2);
+    }
+
+    @Test
+    void getOnFailureShouldThrowNoSuchElementException() {
+        var cause = new NumberFormatException();
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> TryInt.failure(cause).getAsInt())
+                .withMessage("Try is Failure")
+                .withCause(cause);
+        assertThat(TryInt.failure(cause).getSuccess()).isEmpty();
+    }
+
+    @Test
+    void getCauseOnSuccessShouldReturnNoSuchElementException() {
+        assertThat(TryInt.success(1).getCause()).isInstanceOf(NoSuchElementException.class);
+        assertThat(TryInt.success(1).getFailure()).isEmpty();
+    }
+
+    @Test
+    void orElseShouldReturnResultOnSuccessAndOtherOnFailure() {
+        assertThat(TryInt.success(1).orElse(3)).isEqualTo(1);
+        assertThat(TryInt.failure(new RuntimeException()).orElse(3)).isEqualTo(3);
+        assertThat(TryInt.failure(new RuntimeException()).orElseGet(() -> 3)).isEqualTo(3);
+    }
+
+    @Test
+    void orElseTryShouldReturnSelfOnSuccessAndOtherOnFailure() {
+        var success = TryInt.success(1);
+        assertThat(success.orElseTry(TryInt.success(0))).isSameAs(success);
+        assertThat(TryInt.failure(new RuntimeException()).orElseTry(success)).isSameAs(success);
+    }
+
+    @Test
+    void shouldThrowNewExceptionWhenOrElseThrowOnFailure() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(
+                        () -> TryInt.failure(new IndexOutOfBoundsException()).orElseThrow(IllegalStateException::new))
+                .withCauseInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    // -- map/flatMap
+
+    @Test
+    void mapOnSuccessShouldReturnSuccess() {
+        assertThat(TryInt.of(() -> 2).map(v -> v * 2)).isEqualTo(TryInt.success(4));
+    }
+
+    @Test
+    void mapOnSuccessShouldReturnAFailureIfTheMappingFunctionFails() {
+        assertThat(TryInt.of(() -> 2)
+                        .map(v -> {
+                            throw new ArithmeticException();
+                        })
+                        .getCause())
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void mapOnFailureShouldJustReturnTheFailure() {
+        var failure = TryInt.failure(new RuntimeException());
+        assertThat(failure.map(v -> v + 1)).isSameAs(failure);
+    }
+
+    @Test
+    void mapToOtherPrimitivesShouldKeepTheResultUnboxed() {
+        assertThat(TryInt.success(2).mapToLong(v -> v)).isEqualTo(TryLong.success(2L));
+        assertThat(TryInt.success(2).mapToDouble(v -> v)).isEqualTo(TryDouble.success(2.0));
+        assertThat(TryInt.success(2).mapToObj(v -> "value")).isEqualTo(Try.success("value"));
+    }
+
+    @Test
+    void mapToOtherPrimitivesOnFailureShouldKeepTheCause() {
+        var cause = new RuntimeException();
+        assertThat(TryInt.failure(cause).mapToLong(v -> v).getCause()).isSameAs(cause);
+        assertThat(TryInt.failure(cause).mapToDouble(v -> v).getCause()).isSameAs(cause);
+        assertThat(TryInt.failure(cause).mapToObj(v -> "value").getCause()).isSameAs(cause);
+    }
+
+    @Test
+    void flatMapOnSuccessShouldApplyTheGivenFunction() {
+        assertThat(TryInt.of(() -> 2).flatMap(v -> TryInt.success(v * 2))).isEqualTo(TryInt.success(4));
+        assertThat(TryInt.of(() -> 2).flatMapToLong(v -> TryLong.success(v))).isEqualTo(TryLong.success(2L));
+        assertThat(TryInt.of(() -> 2).flatMapToDouble(v -> TryDouble.success(v)))
+                .isEqualTo(TryDouble.success(2.0));
+    }
+
+    @Test
+    void flatMapOnSuccessShouldReturnFailureIfTheMappingFunctionFails() {
+        var result = TryInt.of(() -> 1).flatMap(v -> {
+            throw new RuntimeException();
+        });
+        assertThat(result.isFailure()).isTrue();
+    }
+
+    @Test
+    void flatMapOnFailureShouldJustReturnTheFailure() {
+        var failure = TryInt.failure(new NumberFormatException());
+        assertThat(failure.flatMap(TryInt::success)).isSameAs(failure);
+    }
+
+    // -- filter
+
+    @Test
+    void filterOnSuccessShouldReturnSuccessIfPredicateIsSatisfied() {
+        assertThat(TryInt.of(() -> 2).filter(v -> v == 2).isSuccess()).isTrue();
+    }
+
+    @Test
+    void filterOnSuccessShouldReturnFailureIfPredicateIsNotSatisfied() {
+        assertThat(TryInt.of(() -> 2).filter(v -> v == 0).getCause())
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Predicate does not hold for " + 2);
+    }
+
+    @Test
+    void filterOnFailureShouldJustReturnTheFailure() {
+        var failure = TryInt.failure(new RuntimeException());
+        assertThat(failure.filter(v -> true)).isSameAs(failure);
+    }
+
+    // -- recover/recoverWith
+
+    @Test
+    void recoverOnSuccessShouldShouldJustReturnSuccess() {
+        var success = TryInt.success(2);
+        assertThat(success.recover(t -> 0)).isSameAs(success);
+        assertThat(success.recover(IllegalStateException.class, t -> 0)).isSameAs(success);
+        assertThat(success.recoverWith(t -> TryInt.success(0))).isSameAs(success);
+        assertThat(success.recoverWith(IllegalStateException.class, t -> TryInt.success(0)))
+                .isSameAs(success);
+    }
+
+    @Test
+    void recoverOnFailureShouldReturnSuccessIfRecoverySucceeds() {
+        assertThat(TryInt.failure(new RuntimeException()).recover(t -> 3)).isEqualTo(TryInt.success(3));
+    }
+
+    @Test
+    void recoverOnFailureShouldReturnFailureIfRecoveryFails() {
+        var newCause = new ArrayIndexOutOfBoundsException();
+        var result = TryInt.failure(new RuntimeException()).recover(t -> {
+            throw newCause;
+        });
+        assertThat(result).isEqualTo(TryInt.failure(newCause));
+    }
+
+    @Test
+    void typedRecoverOnFailureShouldApplyOnlyGivenCauseTypeMatches() {
+        var failure = TryInt.failure(new IOException("test"));
+        assertThat(failure.recover(IllegalStateException.class, t -> 0)).isSameAs(failure);
+        assertThat(failure.recover(IOException.class, t -> 3)).isEqualTo(TryInt.success(3));
+    }
+
+    @Test
+    void recoverWithOnFailureShouldReturnTheGivenTry() {
+        var expected = TryInt.success(3);
+        assertThat(TryInt.failure(new RuntimeException()).recoverWith(t -> expected))
+                .isSameAs(expected);
+    }
+
+    @Test
+    void typedRecoverWithOnFailureShouldApplyOnlyGivenCauseTypeMatches() {
+        var failure = TryInt.failure(new IOException("test"));
+        var expected = TryInt.success(3);
+        assertThat(failure.recoverWith(IllegalStateException.class, t -> expected))
+                .isSameAs(failure);
+        assertThat(failure.recoverWith(IOException.class, t -> expected)).isSameAs(expected);
+    }
+
+    @Test
+    void typedRecoverWithOnFailureShouldReturnFailureGivenCauseTypeMatchesAndRecoveryFails() {
+        var newCause = new ArrayIndexOutOfBoundsException();
+        var result = TryInt.failure(new IOException()).recoverWith(IOException.class, t -> {
+            throw newCause;
+        });
+        assertThat(result).isEqualTo(TryInt.failure(newCause));
+    }
+
+    // -- boxed/fromTry
+
+    @Test
+    void boxedShouldConvertToTry() {
+        var cause = new RuntimeException();
+        assertThat(TryInt.success(2).boxed()).isEqualTo(Try.success(2));
+        assertThat(TryInt.failure(cause).boxed()).isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void fromTryShouldUnboxTheResult() {
+        var cause = new RuntimeException();
+        assertThat(TryInt.fromTry(Try.success((Integer) 2))).isEqualTo(TryInt.success(2));
+        assertThat(TryInt.fromTry(Try.failure(cause))).isEqualTo(TryInt.failure(cause));
+        assertThat(TryInt.fromTry(Try.success(null)).getCause()).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void mapToIntOnTryShouldReturnPrimitiveVariant() {
+        var cause = new RuntimeException();
+        assertThat(Try.success("2").mapToInt(Integer::parseInt)).isEqualTo(TryInt.success(2));
+        assertThat(Try.success("x").mapToInt(Integer::parseInt).getCause()).isInstanceOf(NumberFormatException.class);
+        assertThat(Try.<String>failure(cause).mapToInt(Integer::parseInt)).isEqualTo(TryInt.failure(cause));
+    }
+
+    @Test
+    void shouldReturnStringForSuccess() {
+        assertThat(TryInt.success(1)).hasToString("SuccessInt[value=" + 1 + "]");
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class TryLongTest {
+    private static Stream<Arguments> fatal_errors() {
+        return Stream.of(
+                arguments(new InternalError()),
+                arguments(new LinkageError()),
+                arguments(new ClassFormatError()),
+                arguments(new OutOfMemoryError()));
+    }
+
+    @Test
+    void shouldExecuteAndFinallyOnSuccess() {
+        var count = new AtomicInteger();
+        TryLong.of(() -> 1L).andFinally(() -> count.set(1));
+        assertThat(count.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExecuteAndFinallyTryOnFailureWithFailure() {
+        var result = TryLong.of(() -> {
+                    throw new IllegalStateException("FAILURE");
+                })
+                .andFinally(() -> {
+                    throw new IllegalArgumentException("FAILURE");
+                });
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getFailure()).containsInstanceOf(IllegalArgumentException.class);
+    }
+
+    // -- Try.ofLong
+
+    @Test
+    void shouldCreateSuccessWhenCallingTryOfLong() {
+        assertThat(Try.ofLong(() -> 1L)).isEqualTo(new SuccessLong(1L));
+    }
+
+    @Test
+    void shouldCreateFailureWhenCallingTryOfLong() {
+        assertThat(Try.ofLong(() -> {
+                    throw new Error("error");
+                }))
+                .isInstanceOf(FailureLong.class);
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenCallingTryOfLongNullSupplier() {
+        assertThatThrownBy(() -> Try.ofLong(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("supplier is null");
+    }
+
+    @ParameterizedTest
+    @MethodSource("fatal_errors")
+    void shouldThrowIfFatalError(Error ex) {
+        assertThatExceptionOfType(ex.getClass())
+                .isThrownBy(() -> TryLong.of(() -> {
+                    throw ex;
+                }));
+    }
+
+    // -- fold/peek
+
+    @Test
+    void shouldReturnValueIfSuccess() {
+        assertThat(TryLong.success(2L)
+                        .<String>fold(
+                                t -> {
+                                    throw new AssertionError("Not expected to be called");
+                                },
+                                v -> "value " + v))
+                .isEqualTo("value " + 2L);
+    }
+
+    @Test
+    void shouldReturnAlternateValueIfFailure() {
+        assertThat(TryLong.failure(new NullPointerException()).<String>fold(t -> "failure", v -> {
+                    throw new AssertionError("Not expected to be called");
+                }))
+                .isEqualTo("failure");
+    }
+
+    @Test
+    void shouldPeekOnSuccess() {
+        var failureRun = new AtomicBoolean(false);
+        var successRun = new AtomicBoolean(false);
+        var sut = TryLong.success(2L);
+
+        var result = sut.peek(t -> failureRun.set(true), v -> successRun.set(true));
+
+        assertThat(result).isSameAs(sut);
+        assertThat(failureRun).isFalse();
+        assertThat(successRun).isTrue();
+    }
+
+    @Test
+    void shouldPeekOnFailure() {
+        var failureRun = new AtomicBoolean(false);
+        var successRun = new AtomicBoolean(false);
+        var sut = TryLong.failure(new Throwable());
+
+        var result = sut.peek(t -> failureRun.set(true), v -> successRun.set(true));
+
+        assertThat(result).isSameAs(sut);
+        assertThat(failureRun).isTrue();
+        assertThat(successRun).isFalse();
+    }
+
+    // -- get/orElse
+
+    @Test
+    void getOnSuccessShouldReturnTheExpressionResult() {
+        assertThat(TryLong.of(() -> 2L).getAsLong()).isEqualTo(2L);
+        assertThat(TryLong.of(() -> 2L).getSuccess()).hasValue(2L);
+    }
+
+    @Test
+    void getOnFailureShouldThrowNoSuchElementException() {
+        var cause = new NumberFormatException();
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> TryLong.failure(cause).getAsLong())
+                .withMessage("Try is Failure")
+                .withCause(cause);
+        assertThat(TryLong.failure(cause).getSuccess()).isEmpty();
+    }
+
+    @Test
+    void getCauseOnSuccessShouldReturnNoSuchElementException() {
+        assertThat(TryLong.success(1L).getCause()).isInstanceOf(NoSuchElementException.class);
+        assertThat(TryLong.success(1L).getFailure()).isEmpty();
+    }
+
+    @Test
+    void orElseShouldReturnResultOnSuccessAndOtherOnFailure() {
+        assertThat(TryLong.success(1L).orElse(3L)).isEqualTo(1L);
+        assertThat(TryLong.failure(new RuntimeException()).orElse(3L)).isEqualTo(3L);
+        assertThat(TryLong.failure(new RuntimeException()).orElseGet(() -> 3L)).isEqualTo(3L);
+    }
+
+    @Test
+    void orElseTryShouldReturnSelfOnSuccessAndOtherOnFailure() {
+        var success = TryLong.success(1L);
+        assertThat(success.orElseTry(TryLong.success(0L))).isSameAs(success);
+        assertThat(TryLong.failure(new RuntimeException()).orElseTry(success)).isSameAs(success);
+    }
+
+    @Test
+    void shouldThrowNewExceptionWhenOrElseThrowOnFailure() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(
+                        () -> TryLong.failure(new IndexOutOfBoundsException()).orElseThrow(IllegalStateException::new))
+                .withCauseInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    // -- map/flatMap
+
+    @Test
+    void mapOnSuccessShouldReturnSuccess() {
+        assertThat(TryLong.of(() -> 2L).map(v -> v * 2)).isEqualTo(TryLong.success(4L));
+    }
+
+    @Test
+    void mapOnSuccessShouldReturnAFailureIfTheMappingFunctionFails() {
+        assertThat(TryLong.of(() -> 2L)
+                        .map(v -> {
+                            throw new ArithmeticException();
+                        })
+                        .getCause())
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void mapOnFailureShouldJustReturnTheFailure() {
+        var failure = TryLong.failure(new RuntimeException());
+        assertThat(failure.map(v -> v + 1)).isSameAs(failure);
+    }
+
+    @Test
+    void mapToOtherPrimitivesShouldKeepTheResultUnboxed() {
+        assertThat(TryLong.success(2L).mapToInt(v -> (int) v)).isEqualTo(TryInt.success(2));
+        assertThat(TryLong.success(2L).mapToDouble(v -> v)).isEqualTo(TryDouble.success(2.0));
+        assertThat(TryLong.success(2L).mapToObj(v -> "value")).isEqualTo(Try.success("value"));
+    }
+
+    @Test
+    void mapToOtherPrimitivesOnFailureShouldKeepTheCause() {
+        var cause = new RuntimeException();
+        assertThat(TryLong.failure(cause).mapToInt(v -> (int) v).getCause()).isSameAs(cause);
+        assertThat(TryLong.failure(cause).mapToDouble(v -> v).getCause()).isSameAs(cause);
+        assertThat(TryLong.failure(cause).mapToObj(v -> "value").getCause()).isSameAs(cause);
+    }
+
+    @Test
+    void flatMapOnSuccessShouldApplyTheGivenFunction() {
+        assertThat(TryLong.of(() -> 2L).flatMap(v -> TryLong.success(v * 2))).isEqualTo(TryLong.success(4L));
+        assertThat(TryLong.of(() -> 2L).flatMapToInt(v -> TryInt.success((int) v)))
+                .isEqualTo(TryInt.success(2));
+        assertThat(TryLong.of(() -> 2L).flatMapToDouble(v -> TryDouble.success(v)))
+                .isEqualTo(TryDouble.success(2.0));
+    }
+
+    @Test
+    void flatMapOnSuccessShouldReturnFailureIfTheMappingFunctionFails() {
+        var result = TryLong.of(() -> 1L).flatMap(v -> {
+            throw new RuntimeException();
+        });
+        assertThat(result.isFailure()).isTrue();
+    }
+
+    @Test
+    void flatMapOnFailureShouldJustReturnTheFailure() {
+        var failure = TryLong.failure(new NumberFormatException());
+        assertThat(failure.flatMap(TryLong::success)).isSameAs(failure);
+    }
+
+    // -- filter
+
+    @Test
+    void filterOnSuccessShouldReturnSuccessIfPredicateIsSatisfied() {
+        assertThat(TryLong.of(() -> 2L).filter(v -> v == 2L).isSuccess()).isTrue();
+    }
+
+    @Test
+    void filterOnSuccessShouldReturnFailureIfPredicateIsNotSatisfied() {
+        assertThat(TryLong.of(() -> 2L).filter(v -> v == 0L).getCause())
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Predicate does not hold for " + 2L);
+    }
+
+    @Test
+    void filterOnFailureShouldJustReturnTheFailure() {
+        var failure = TryLong.failure(new RuntimeException());
+        assertThat(failure.filter(v -> true)).isSameAs(failure);
+    }
+
+    // -- recover/recoverWith
+
+    @Test
+    void recoverOnSuccessShouldShouldJustReturnSuccess() {
+        var success = TryLong.success(2L);
+        assertThat(success.recover(t -> 0L)).isSameAs(success);
+        assertThat(success.recover(IllegalStateException.class, t -> 0L)).isSameAs(success);
+        assertThat(success.recoverWith(t -> TryLong.success(0L))).isSameAs(success);
+        assertThat(success.recoverWith(IllegalStateException.class, t -> TryLong.success(0L)))
+                .isSameAs(success);
+    }
+
+    @Test
+    void recoverOnFailureShouldReturnSuccessIfRecoverySucceeds() {
+        assertThat(TryLong.failure(new RuntimeException()).recover(t -> 3L)).isEqualTo(TryLong.success(3L));
+    }
+
+    @Test
+    void recoverOnFailureShouldReturnFailureIfRecoveryFails() {
+        var newCause = new ArrayIndexOutOfBoundsException();
+        var result = TryLong.failure(new RuntimeException()).recover(t -> {
+            throw newCause;
+        });
+        assertThat(result).isEqualTo(TryLong.failure(newCause));
+    }
+
+    @Test
+    void typedRecoverOnFailureShouldApplyOnlyGivenCauseTypeMatches() {
+        var failure = TryLong.failure(new IOException("test"));
+        assertThat(failure.recover(IllegalStateException.class, t -> 0L)).isSameAs(failure);
+        assertThat(failure.recover(IOException.class, t -> 3L)).isEqualTo(TryLong.success(3L));
+    }
+
+    @Test
+    void recoverWithOnFailureShouldReturnTheGivenTry() {
+        var expected = TryLong.success(3L);
+        assertThat(TryLong.failure(new RuntimeException()).recoverWith(t -> expected))
+                .isSameAs(expected);
+    }
+
+    @Test
+    void typedRecoverWithOnFailureShouldApplyOnlyGivenCauseTypeMatches() {
+        var failure = TryLong.failure(new IOException("test"));
+        var expected = TryLong.success(3L);
+        assertThat(failure.recoverWith(IllegalStateException.class, t -> expected))
+                .isSameAs(failure);
+        assertThat(failure.recoverWith(IOException.class, t -> expected)).isSameAs(expected);
+    }
+
+    @Test
+    void typedRecoverWithOnFailureShouldReturnFailureGivenCauseTypeMatchesAndRecoveryFails() {
+        var newCause = new ArrayIndexOutOfBoundsException();
+        var result = TryLong.failure(new IOException()).recoverWith(IOException.class, t -> {
+            throw newCause;
+        });
+        assertThat(result).isEqualTo(TryLong.failure(newCause));
+    }
+
+    // -- boxed/fromTry
+
+    @Test
+    void boxedShouldConvertToTry() {
+        var cause = new RuntimeException();
+        assertThat(TryLong.success(2L).boxed()).isEqualTo(Try.success(2L));
+        assertThat(TryLong.failure(cause).boxed()).isEqualTo(Try.failure(cause));
+    }
+
+    @Test
+    void fromTryShouldUnboxTheResult() {
+        var cause = new RuntimeException();
+        assertThat(TryLong.fromTry(Try.success((Long) 2L))).isEqualTo(TryLong.success(2L));
+        assertThat(TryLong.fromTry(Try.failure(cause))).isEqualTo(TryLong.failure(cause));
+        assertThat(TryLong.fromTry(Try.success(null)).getCause()).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void mapToLongOnTryShouldReturnPrimitiveVariant() {
+        var cause = new RuntimeException();
+        assertThat(Try.success("2").mapToLong(Long::parseLong)).isEqualTo(TryLong.success(2L));
+        assertThat(Try.success("x").mapToLong(Long::parseLong).getCause()).isInstanceOf(NumberFormatException.class);
+        assertThat(Try.<String>failure(cause).mapToLong(Long::parseLong)).isEqualTo(TryLong.failure(cause));
+    }
+
+    @Test
+    void shouldReturnStringForSuccess() {
+        assertThat(TryLong.success(1L)).hasToString("SuccessLong[value=" + 1L + "]");
+    }
+}
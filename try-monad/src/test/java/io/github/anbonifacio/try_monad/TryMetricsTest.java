@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.TryListener.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TryMetricsTest {
+    private final Recorder recorder = new Recorder();
+
+    @AfterEach
+    void unregister() {
+        TryMetrics.unregister(recorder);
+    }
+
+    private record Recorder(List<String> events) implements TryListener {
+        Recorder() {
+            this(Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        @Override
+        public void onSuccess(Operation operation, String operationName) {
+            events.add(operation.label() + ":" + operationName + ":success");
+        }
+
+        @Override
+        public void onFailure(Operation operation, String operationName, Throwable cause) {
+            events.add(operation.label() + ":" + operationName + ":"
+                    + cause.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void shouldNotNotifyUnregisteredListener() {
+        Try.of(() -> 1);
+
+        assertThat(recorder.events()).isEmpty();
+        assertThat(TryMetrics.listener).isNull();
+    }
+
+    @Test
+    void shouldNotifyFactoryOutcomes() {
+        TryMetrics.register(recorder);
+
+        Try.of(() -> 1);
+        Try.of(() -> {
+            throw new IOException();
+        });
+        Try.ofCallable((Callable<Integer>) () -> 1);
+        Try.ofRunnable(() -> {
+            throw new IllegalStateException();
+        });
+
+        assertThat(recorder.events())
+                .containsExactly(
+                        "of:null:success",
+                        "of:null:IOException",
+                        "ofCallable:null:success",
+                        "ofRunnable:null:IllegalStateException");
+    }
+
+    @Test
+    void shouldNotifyRecoveryOnlyOnceAndOnlyWhenItRuns() {
+        var failure = Try.<Integer>failure(new IOException());
+        TryMetrics.register(recorder);
+
+        Try.success(1).recover(t -> 2);
+        failure.recover(t -> 2);
+        failure.recover(IOException.class, e -> {
+            throw new IllegalStateException();
+        });
+        failure.recover(IllegalStateException.class, e -> 2);
+        failure.recoverWith(t -> Try.success(2));
+        failure.recoverWith(IOException.class, e -> Try.failure(new IllegalArgumentException()));
+
+        assertThat(recorder.events())
+                .containsExactly(
+                        "recover:null:success",
+                        "recover:null:IllegalStateException",
+                        "recoverWith:null:success",
+                        "recoverWith:null:IllegalArgumentException");
+    }
+
+    @Test
+    void shouldAttributeOperationsToName() {
+        TryMetrics.register(recorder);
+
+        var result = TryMetrics.named("outer", () -> {
+            Try.of(() -> 1);
+            TryMetrics.named("inner", () -> Try.of(() -> 2));
+            return Try.of(() -> 3);
+        });
+        Try.of(() -> 4);
+
+        assertThat(result).isEqualTo(Try.success(3));
+        assertThat(recorder.events())
+                .containsExactly("of:outer:success", "of:inner:success", "of:outer:success", "of:null:success");
+    }
+
+    @Test
+    void shouldIgnoreFailingListener() {
+        TryListener failing = new TryListener() {
+            @Override
+            public void onSuccess(Operation operation, String operationName) {
+                throw new IllegalStateException("listener");
+            }
+
+            @Override
+            public void onFailure(Operation operation, String operationName, Throwable cause) {
+                throw new IllegalStateException("listener");
+            }
+        };
+        TryMetrics.register(failing);
+        TryMetrics.register(recorder);
+        try {
+            assertThat(Try.of(() -> 1)).isEqualTo(Try.success(1));
+            assertThat(recorder.events()).containsExactly("of:null:success");
+        } finally {
+            TryMetrics.unregister(failing);
+        }
+    }
+
+    @Test
+    void shouldRegisterListenerOnlyOnce() {
+        TryMetrics.register(recorder);
+        TryMetrics.register(recorder);
+
+        Try.of(() -> 1);
+
+        assertThat(recorder.events()).hasSize(1);
+        assertThat(TryMetrics.listener).isSameAs(recorder);
+    }
+}
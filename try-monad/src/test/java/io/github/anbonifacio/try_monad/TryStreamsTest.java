@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.TryStreams.Mode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TryStreamsTest {
+    private static Integer parse(String s) throws IOException {
+        if (s.startsWith("x")) {
+            throw new IOException(s);
+        }
+        return Integer.parseInt(s);
+    }
+
+    private static List<String> input() {
+        return List.of("1", "x2", "3", "x4", "5", "x6", "7");
+    }
+
+    @Test
+    void continueShouldKeepEveryResult() {
+        var results = TryStreams.map(input().iterator(), TryStreamsTest::parse, Mode.CONTINUE, false)
+                .toList();
+
+        assertThat(results).hasSize(7);
+        assertThat(results.get(1).getCause()).isInstanceOf(IOException.class).hasMessage("x2");
+        assertThat(results.get(2)).isEqualTo(Try.success(3));
+    }
+
+    @Test
+    void skipShouldDropFailures() {
+        var results = TryStreams.map(input().stream(), TryStreamsTest::parse, Mode.SKIP)
+                .map(Try::get)
+                .toList();
+
+        assertThat(results).containsExactly(1, 3, 5, 7);
+    }
+
+    @Test
+    void stopOnFirstFailureShouldEndWithTheFailure() {
+        var calls = new AtomicInteger();
+
+        var results = TryStreams.map(
+                        input().spliterator(),
+                        s -> {
+                            calls.incrementAndGet();
+                            return parse(s);
+                        },
+                        Mode.STOP_ON_FIRST_FAILURE,
+                        false)
+                .toList();
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(1).isFailure()).isTrue();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void stopAfterShouldEndWithTheNthFailure() {
+        var results = TryStreams.map(input().iterator(), TryStreamsTest::parse, Mode.stopAfter(2), false)
+                .toList();
+
+        assertThat(results).hasSize(4);
+        assertThat(results.get(3).getCause()).hasMessage("x4");
+    }
+
+    @Test
+    void continueShouldKeepTheSizeOfTheSource() {
+        var spliterator = TryStreams.map(input().spliterator(), TryStreamsTest::parse, Mode.CONTINUE, false)
+                .spliterator();
+
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(7);
+        assertThat(TryStreams.map(input().spliterator(), TryStreamsTest::parse, new Mode(true, Long.MAX_VALUE), false)
+                        .spliterator()
+                        .hasCharacteristics(Spliterator.SIZED))
+                .isTrue();
+        assertThat(TryStreams.map(input().spliterator(), TryStreamsTest::parse, Mode.SKIP, false)
+                        .spliterator()
+                        .hasCharacteristics(Spliterator.SIZED))
+                .isFalse();
+    }
+
+    @Test
+    void shouldBeLazy() {
+        var calls = new AtomicInteger();
+
+        var first = TryStreams.map(
+                        Stream.iterate(0, i -> i + 1).iterator(), i -> calls.incrementAndGet(), Mode.CONTINUE, false)
+                .limit(3)
+                .toList();
+
+        assertThat(first).hasSize(3);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void parallelStreamShouldSplitAcrossThreads() {
+        var threads = ConcurrentHashMap.newKeySet();
+
+        long sum = TryStreams.map(
+                        LongStream.range(0, 200_000).boxed().spliterator(),
+                        i -> {
+                            threads.add(Thread.currentThread());
+                            return i;
+                        },
+                        Mode.CONTINUE,
+                        true)
+                .mapToLong(Try::get)
+                .sum();
+
+        assertThat(sum).isEqualTo(199_999L * 200_000 / 2);
+        assertThat(threads.size()).isGreaterThan(Runtime.getRuntime().availableProcessors() > 1 ? 1 : 0);
+    }
+
+    @Test
+    void parallelStopShouldCountFailuresAcrossSplits() {
+        var results = TryStreams.map(
+                        IntStream.range(0, 100_000).boxed().spliterator(),
+                        i -> {
+                            if (i % 1_000 == 0) {
+                                throw new IOException();
+                            }
+                            return i;
+                        },
+                        Mode.stopAfter(5),
+                        true)
+                .collect(Collectors.partitioningBy(Try::isFailure, Collectors.counting()));
+
+        assertThat(results.get(true)).isEqualTo(5);
+    }
+
+    @Test
+    void parallelStopShouldNotClaimToKeepTheEncounterOrder() {
+        var stream = TryStreams.map(
+                IntStream.range(0, 100_000).boxed().spliterator(),
+                i -> {
+                    if (i == 99_999) {
+                        throw new IOException();
+                    }
+                    return i;
+                },
+                Mode.STOP_ON_FIRST_FAILURE,
+                true);
+        var spliterator = stream.spliterator();
+        var results = StreamSupport.stream(spliterator, true).toList();
+
+        assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED)).isFalse();
+        // the last element fails, but another split may still be short of its prefix when it does
+        assertThat(results.stream().filter(Try::isFailure)).hasSize(1);
+        assertThat(results).hasSizeLessThanOrEqualTo(100_000);
+        assertThat(TryStreams.map(input().spliterator(), TryStreamsTest::parse, Mode.CONTINUE, true)
+                        .spliterator()
+                        .hasCharacteristics(Spliterator.ORDERED))
+                .isTrue();
+    }
+
+    @Test
+    void iteratorShouldBeSplitInBatchesOfBoundedSize() {
+        var source = Stream.iterate(0, i -> i + 1).iterator();
+        var spliterator = TryStreams.map(source, i -> i, Mode.CONTINUE, true).spliterator();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(spliterator.trySplit().estimateSize()).isEqualTo(TryStreams.BATCH_SIZE);
+        }
+        var first = new ArrayList<Try<Integer>>();
+        spliterator.tryAdvance(first::add);
+        assertThat(first).containsExactly(Try.success(10 * TryStreams.BATCH_SIZE));
+
+        var tail = TryStreams.map(input().iterator(), TryStreamsTest::parse, Mode.CONTINUE, true)
+                .spliterator();
+        assertThat(tail.trySplit().estimateSize()).isEqualTo(7);
+        assertThat(tail.trySplit()).isNull();
+    }
+
+    @Test
+    void closingTheStreamShouldCloseTheSource() {
+        var closed = new AtomicBoolean();
+
+        TryStreams.map(input().stream().onClose(() -> closed.set(true)), TryStreamsTest::parse, Mode.CONTINUE)
+                .close();
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void stopAfterShouldRejectNonPositiveCounts() {
+        assertThatThrownBy(() -> Mode.stopAfter(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
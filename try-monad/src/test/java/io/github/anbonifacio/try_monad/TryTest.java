@@ -11,6 +11,9 @@
 
 package io.github.anbonifacio.try_monad;
 
+import io.github.anbonifacio.try_monad.exceptions.AllFailedException;
+import io.github.anbonifacio.try_monad.exceptions.PredicateNotSatisfiedException;
+import io.github.anbonifacio.try_monad.exceptions.StacklessNoSuchElementException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -19,10 +22,18 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.lang.Integer.toBinaryString;
@@ -387,6 +398,65 @@ class TryTest {
                 .isTrue();
     }
 
+    @Test
+    void filterOnSuccessShouldFailWithPredicateNotSatisfiedException() {
+        var result = Try.of(() -> 2).filter((v) -> v == 0);
+        assertThat(result.getCause())
+                .isInstanceOf(PredicateNotSatisfiedException.class)
+                .hasMessage("Predicate does not hold for 2");
+    }
+
+    @Test
+    void filterOnSuccessShouldNotDescribeTheValueUntilTheMessageIsRead() {
+        var toStringCalls = new AtomicInteger();
+        var value = new Object() {
+            @Override
+            public String toString() {
+                toStringCalls.incrementAndGet();
+                return "value";
+            }
+        };
+
+        var result = Try.success(value).filter(v -> false);
+        assertThat(toStringCalls).hasValue(0);
+
+        assertThat(result.getCause()).hasMessage("Predicate does not hold for value");
+        assertThat(result.getCause().getMessage()).isEqualTo("Predicate does not hold for value");
+        assertThat(toStringCalls).hasValue(1);
+    }
+
+    @Test
+    void filterWithErrorSupplierOnSuccessShouldReturnSuppliedFailureIfPredicateIsNotSatisfied() {
+        var error = new StacklessNoSuchElementException("rejected");
+        var result = Try.of(() -> 2).filter((v) -> v == 0, () -> error);
+        assertThat(result).isEqualTo(Try.failure(error));
+        assertThat(error.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void filterWithErrorSupplierOnSuccessShouldReturnItselfIfPredicateIsSatisfied() {
+        var success = Try.success(2);
+        assertThat(success.filter((v) -> v == 2, () -> {
+                    throw new AssertionError("Not expected to be called");
+                }))
+                .isSameAs(success);
+    }
+
+    @Test
+    void filterWithErrorProviderOnSuccessShouldBuildFailureFromTheValue() {
+        var result = Try.of(() -> 2).filter((v) -> v == 0, v -> new IllegalArgumentException("bad " + v));
+        assertThat(result.getCause())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bad 2");
+    }
+
+    @Test
+    void filterWithErrorSupplierOnFailureShouldJustReturnTheFailure() {
+        var failure = Try.failure(new RuntimeException());
+        assertThat(failure.filter((v) -> false, () -> new IllegalStateException()))
+                .isSameAs(failure);
+    }
+
     // -- recover/recoverWith
 
     @Test
@@ -518,6 +588,357 @@ class TryTest {
         assertThat(result).isEqualTo(Try.failure(arrayIndexOutOfBoundsException));
     }
 
+    // -- Try.ofTimeout
+
+    @Test
+    void ofTimeoutShouldReturnResultWithinDeadline() {
+        assertThat(Try.ofTimeout(Duration.ofSeconds(5), () -> 42)).isEqualTo(Try.success(42));
+    }
+
+    @Test
+    void ofTimeoutShouldReturnFailureThrownWithinDeadline() {
+        var result = Try.ofTimeout(Duration.ofSeconds(5), () -> {
+            throw new IOException("boom");
+        });
+
+        assertThat(result.getCause()).isInstanceOf(IOException.class).hasMessage("boom");
+    }
+
+    @Test
+    void ofTimeoutShouldInterruptHungSupplier() throws InterruptedException {
+        var interrupted = new CountDownLatch(1);
+
+        var result = Try.ofTimeout(Duration.ofMillis(50), () -> {
+            try {
+                Thread.sleep(10_000);
+                return 1;
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        assertThat(result.getCause()).isInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void ofTimeoutShouldClearInterruptBeforeReusingWorker() throws InterruptedException {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var result = Try.ofTimeout(
+                    Duration.ofMillis(20),
+                    () -> {
+                        Thread.sleep(10_000);
+                        return 1;
+                    },
+                    executor);
+            assertThat(result.getCause()).isInstanceOf(TimeoutException.class);
+
+            var next = Try.ofTimeout(
+                    Duration.ofSeconds(5), () -> Thread.currentThread().isInterrupted(), executor);
+            assertThat(next).isEqualTo(Try.success(false));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void ofTimeoutShouldHandleManyConcurrentCalls() {
+        var results = IntStream.range(0, 1_000)
+                .parallel()
+                .mapToObj(i -> Try.ofTimeout(Duration.ofSeconds(10), () -> i))
+                .toList();
+
+        assertThat(Try.sequence(results).get()).hasSize(1_000);
+    }
+
+    // -- all/any/zipPar
+
+    private static Integer sleepThen(long millis, Integer value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    private static Integer sleepThenFail(long millis, Exception exception) throws Exception {
+        Thread.sleep(millis);
+        throw exception;
+    }
+
+    @Test
+    void allShouldReturnResultsInArgumentOrder() {
+        var result = Try.all(() -> sleepThen(60, 1), () -> sleepThen(10, 2), () -> 3);
+
+        assertThat(result).isEqualTo(Try.success(List.of(1, 2, 3)));
+    }
+
+    @Test
+    void allShouldRunSuppliersConcurrently() {
+        long start = System.nanoTime();
+
+        var result = Try.all(() -> sleepThen(200, 1), () -> sleepThen(200, 2), () -> sleepThen(200, 3));
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(550));
+    }
+
+    @Test
+    void allShouldReturnFirstFailureAndInterruptTheOthers() throws InterruptedException {
+        var interrupted = new CountDownLatch(1);
+        var failure = new IOException("first");
+
+        var result = Try.<Integer>all(() -> sleepThenFail(10, failure), () -> {
+            try {
+                return sleepThen(10_000, 1);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        assertThat(result.getCause()).isSameAs(failure);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void allShouldReturnEmptyListWithoutSuppliers() {
+        assertThat(Try.<Integer>all()).isEqualTo(Try.success(List.of()));
+    }
+
+    @Test
+    void anyShouldReturnFirstSuccessAndInterruptTheOthers() throws InterruptedException {
+        var interrupted = new CountDownLatch(1);
+
+        var result = Try.<Integer>any(() -> sleepThenFail(1, new IOException()), () -> sleepThen(20, 2), () -> {
+            try {
+                return sleepThen(10_000, 3);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        assertThat(result).isEqualTo(Try.success(2));
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void anyShouldReturnEveryCauseWithoutModifyingThem() {
+        var first = new IOException("first");
+        var last = new IllegalStateException("last");
+
+        var result = Try.<Integer>any(() -> sleepThenFail(1, first), () -> sleepThenFail(100, last));
+
+        assertThat(result.getCause())
+                .isInstanceOfSatisfying(
+                        AllFailedException.class, e -> assertThat(e.getCauses()).containsExactly(first, last))
+                .hasCause(last);
+        assertThat(first.getSuppressed()).isEmpty();
+        assertThat(last.getSuppressed()).isEmpty();
+        assertThat(Try.<Integer>any(() -> sleepThenFail(1, first)).getCause()).isSameAs(first);
+    }
+
+    @Test
+    void anyShouldRejectEmptySuppliers() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(Try::<Integer>any);
+    }
+
+    @Test
+    void zipParShouldPairResults() {
+        assertThat(Try.zipPar(() -> sleepThen(20, 1), () -> "a")).isEqualTo(Try.success(new Pair<>(1, "a")));
+    }
+
+    @Test
+    void zipParShouldCombineResults() {
+        var result = Try.zipPar(() -> 2, () -> "ab", (n, s) -> s.repeat(n));
+
+        assertThat(result).isEqualTo(Try.success("abab"));
+    }
+
+    @Test
+    void zipParShouldReturnFailure() {
+        var failure = new IOException();
+
+        var result = Try.zipPar(() -> 1, () -> sleepThenFail(1, failure), (a, b) -> a + b);
+
+        assertThat(result.getCause()).isSameAs(failure);
+    }
+
+    // -- checked functions
+
+    @Test
+    void mapCheckedShouldCaptureTheCheckedExceptionAsIs() {
+        var exception = new IOException("read failed");
+
+        var result = Try.success("file").mapChecked(f -> {
+            throw exception;
+        });
+
+        assertThat(result.getCause()).isSameAs(exception);
+    }
+
+    @Test
+    void mapCheckedShouldMapTheResult() {
+        assertThat(Try.success("42").mapChecked(Integer::parseInt)).isEqualTo(Try.success(42));
+    }
+
+    @Test
+    void flatMapCheckedShouldCaptureTheCheckedExceptionAsIs() {
+        var exception = new SQLException();
+
+        var result = Try.success(1).flatMapChecked(v -> {
+            throw exception;
+        });
+
+        assertThat(result.getCause()).isSameAs(exception);
+        assertThat(Try.success(1).flatMapChecked(v -> Try.success(v + 1))).isEqualTo(Try.success(2));
+    }
+
+    @Test
+    void filterCheckedShouldCaptureTheCheckedExceptionAsIs() {
+        var exception = new IOException();
+
+        var result = Try.success(1).filterChecked(v -> {
+            throw exception;
+        });
+
+        assertThat(result.getCause()).isSameAs(exception);
+        assertThat(Try.success(1).filterChecked(v -> v > 1).getCause())
+                .isInstanceOf(PredicateNotSatisfiedException.class);
+    }
+
+    @Test
+    void peekCheckedShouldTurnSuccessIntoFailureIfActionThrows() {
+        var exception = new IOException();
+        var seen = new AtomicInteger();
+
+        assertThat(Try.success(1).peekChecked(seen::set)).isEqualTo(Try.success(1));
+        assertThat(seen).hasValue(1);
+        assertThat(Try.success(1)
+                        .peekChecked(v -> {
+                            throw exception;
+                        })
+                        .getCause())
+                .isSameAs(exception);
+    }
+
+    @Test
+    void recoverCheckedShouldCaptureTheCheckedExceptionAsIs() {
+        var exception = new IOException();
+
+        var result = Try.<Integer>failure(new IllegalStateException()).recoverChecked(t -> {
+            throw exception;
+        });
+
+        assertThat(result.getCause()).isSameAs(exception);
+    }
+
+    @Test
+    void recoverCheckedShouldOnlyRecoverTheGivenType() {
+        var failure = Try.<Integer>failure(new IOException());
+
+        assertThat(failure.recoverChecked(IOException.class, e -> 1)).isEqualTo(Try.success(1));
+        assertThat(failure.recoverChecked(SQLException.class, e -> 1)).isSameAs(failure);
+        assertThat(failure.recoverChecked(t -> 2)).isEqualTo(Try.success(2));
+    }
+
+    @Test
+    void checkedOperationsShouldNotRunOnTheOtherState() {
+        var failure = Try.<Integer>failure(new IOException());
+        var success = Try.success(1);
+
+        assertThat(failure.mapChecked(v -> v + 1)).isSameAs(failure);
+        assertThat(failure.flatMapChecked(Try::success)).isSameAs(failure);
+        assertThat(failure.filterChecked(v -> true)).isSameAs(failure);
+        assertThat(failure.peekChecked(v -> {
+                    throw new IOException();
+                }))
+                .isSameAs(failure);
+        assertThat(success.recoverChecked(t -> 2)).isSameAs(success);
+    }
+
+    // -- sequence/traverse
+
+    @Test
+    void sequenceShouldReturnAllResultsIfEveryTryIsSuccess() {
+        var result = Try.sequence(List.of(Try.success(1), Try.success(2), Try.success(3)));
+        assertThat(result).isEqualTo(Try.success(List.of(1, 2, 3)));
+    }
+
+    @Test
+    void sequenceShouldReturnTheFirstFailure() {
+        var first = Try.<Integer>failure(new IOException());
+        var second = Try.<Integer>failure(new IllegalStateException());
+        assertThat(Try.sequence(List.of(Try.success(1), first, second))).isSameAs(first);
+    }
+
+    @Test
+    void sequenceOfEmptyIterableShouldReturnEmptyList() {
+        assertThat(Try.sequence(List.<Try<Integer>>of())).isEqualTo(Try.success(List.of()));
+    }
+
+    @Test
+    void traverseShouldStopCallingTheMapperAfterTheFirstFailure() {
+        var calls = new AtomicInteger();
+        var result = Try.traverse(List.of("1", "x", "3"), s -> {
+            calls.incrementAndGet();
+            return Try.of(() -> Integer.parseInt(s));
+        });
+
+        assertThat(result.getCause()).isInstanceOf(NumberFormatException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void traverseShouldReturnFailureIfTheMapperThrows() {
+        var result = Try.traverse(List.of(1), v -> {
+            throw new IllegalStateException();
+        });
+        assertThat(result.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void traverseShouldAllowNullResults() {
+        var result = Try.traverse(List.of(1, 2), v -> Try.success(v == 1 ? null : v));
+        assertThat(result.get()).containsExactly(null, 2);
+    }
+
+    @Test
+    void traverseParallelShouldKeepIterationOrder() {
+        var values = IntStream.range(0, 10_000).boxed().toList();
+        var result = Try.traverseParallel(values, v -> Try.success(v * 2));
+        assertThat(result.get()).isEqualTo(values.stream().map(v -> v * 2).toList());
+    }
+
+    @Test
+    void traverseParallelShouldAbandonRemainingWorkAfterAFailure() {
+        var pool = new ForkJoinPool(4);
+        try {
+            var calls = new AtomicInteger();
+            var values = IntStream.range(0, 100_000).boxed().toList();
+            var result = Try.traverseParallel(
+                    values,
+                    v -> {
+                        calls.incrementAndGet();
+                        return v == 0 ? Try.failure(new IllegalStateException()) : Try.success(v);
+                    },
+                    pool);
+
+            assertThat(result.getCause()).isInstanceOf(IllegalStateException.class);
+            assertThat(calls.get()).isLessThan(values.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void traverseParallelShouldReturnFailureIfTheMapperThrows() {
+        var result = Try.traverseParallel(List.of(1, 2, 3), v -> {
+            throw new IllegalStateException();
+        });
+        assertThat(result.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     void shouldThrowNewExceptionWhenOrElseThrowOnFailure() {
         assertThatExceptionOfType(IllegalStateException.class)
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad;
+
+import io.github.anbonifacio.try_monad.exceptions.InvalidValueException;
+import io.github.anbonifacio.try_monad.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValidatedTest {
+    record Payload(String name, int age) {}
+
+    @Test
+    void shouldReturnSuccessIfEveryCheckPasses() {
+        var payload = new Payload("name", 42);
+
+        var result = Validated.of(payload)
+                .check(p -> !p.name().isEmpty(), "name is empty")
+                .check(p -> p.age() >= 0, "age is negative")
+                .toTry();
+
+        assertThat(result).isEqualTo(Try.success(payload));
+    }
+
+    @Test
+    void shouldAccumulateEveryError() {
+        var io = new IOException();
+
+        var validated = Validated.of(new Payload("", -1))
+                .check(p -> !p.name().isEmpty(), "name is empty")
+                .check(p -> p.age() >= 0, "age is negative")
+                .check(p -> {
+                    throw io;
+                });
+
+        assertThat(validated.isValid()).isFalse();
+        assertThat(validated.errorCount()).isEqualTo(3);
+        var cause = (ValidationException) validated.toTry().getCause();
+        assertThat(cause.getErrors()).hasSize(3).last().isSameAs(io);
+        assertThat(cause.getErrors().get(0))
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("name is empty");
+        assertThat(cause.getMessage()).startsWith("3 validation error(s)");
+        assertThat(cause.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepUpToMaxErrorsAndCountTheOthers() {
+        var validated = Validated.of("value", 10, true);
+        for (int i = 0; i < 5_000; i++) {
+            validated.check(v -> false, "invalid");
+        }
+
+        var cause = (ValidationException) validated.toTry().getCause();
+
+        assertThat(cause.getErrors()).hasSize(10);
+        assertThat(cause.getDroppedCount()).isEqualTo(4_990);
+        assertThat(cause.getErrorCount()).isEqualTo(5_000);
+    }
+
+    @Test
+    void stacklessErrorsShouldNotCaptureStackTraces() {
+        var stackless = Validated.of("value", 1, true).check(v -> false, "invalid");
+        var withStack = Validated.of("value", 1, false).check(v -> false, "invalid");
+
+        assertThat(stackless.errors().get(0).getStackTrace()).isEmpty();
+        assertThat(withStack.errors().get(0).getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void shouldAccumulateFailuresAndFlattenNestedValidations() {
+        var nested = Validated.of("nested").check(v -> false, "first").check(v -> false, "second");
+
+        var validated = Validated.of("value")
+                .check(Try.success(1))
+                .check(Try.failure(new IOException()))
+                .check(nested.toTry());
+
+        assertThat(validated.errorCount()).isEqualTo(3);
+        assertThat(validated.errors()).extracting(Throwable::getMessage).containsExactly(null, "first", "second");
+    }
+
+    @Test
+    void validateAllShouldRunEveryCheck() {
+        var calls = new AtomicInteger();
+
+        var result = Try.validateAll(
+                "value",
+                v -> calls.incrementAndGet(),
+                v -> {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException();
+                },
+                v -> {
+                    calls.incrementAndGet();
+                    throw new IOException();
+                });
+
+        assertThat(calls).hasValue(3);
+        assertThat(((ValidationException) result.getCause()).getErrors())
+                .hasExactlyElementsOfTypes(IllegalStateException.class, IOException.class);
+        assertThat(Try.validateAll("value", v -> {})).isEqualTo(Try.success("value"));
+    }
+
+    @Test
+    void shouldRejectNegativeMaxErrors() {
+        assertThatThrownBy(() -> Validated.of("value", -1, false)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
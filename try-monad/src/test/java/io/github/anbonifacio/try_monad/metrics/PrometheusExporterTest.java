@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.metrics;
+
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.TryListener.Operation;
+import io.github.anbonifacio.try_monad.TryMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusExporterTest {
+
+    @Test
+    void shouldCountOutcomesByOperationNameAndException() throws Exception {
+        var metrics = new StripedTryMetrics();
+        TryMetrics.register(metrics);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        int n = i;
+                        TryMetrics.named(
+                                "lookup",
+                                () -> Try.of(() -> {
+                                    if (n % 4 == 0) {
+                                        throw new IOException();
+                                    }
+                                    return n;
+                                }));
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            TryMetrics.unregister(metrics);
+        }
+
+        assertThat(metrics.successCount(Operation.OF, "lookup")).isEqualTo(3_000);
+        assertThat(metrics.failureCount(Operation.OF, "lookup", IOException.class))
+                .isEqualTo(1_000);
+        assertThat(metrics.successCount(Operation.OF, null)).isZero();
+    }
+
+    @Test
+    void shouldRenderPrometheusTextFormat() {
+        var metrics = new StripedTryMetrics();
+        metrics.onSuccess(Operation.OF, "a\"b");
+        metrics.onSuccess(Operation.OF, "a\"b");
+        metrics.onFailure(Operation.RECOVER, null, new IllegalStateException());
+
+        assertThat(PrometheusExporter.render(metrics))
+                .isEqualTo(
+                        """
+                        # HELP try_monad_success_total Try operations that produced a Success.
+                        # TYPE try_monad_success_total counter
+                        try_monad_success_total{operation="of",name="a\\"b"} 2
+                        # HELP try_monad_failure_total Try operations that produced a Failure.
+                        # TYPE try_monad_failure_total counter
+                        try_monad_failure_total{operation="recover",name="",exception="java.lang.IllegalStateException"} 1
+                        """);
+    }
+
+    @Test
+    void shouldServeMetricsOverHttp() throws Exception {
+        var metrics = new StripedTryMetrics();
+        metrics.onSuccess(Operation.OF_CALLABLE, "call");
+
+        try (var exporter =
+                PrometheusExporter.start(metrics, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            var uri = URI.create("http://localhost:" + exporter.address().getPort() + "/metrics");
+            var response = HttpClient.newHttpClient()
+                    .send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValue(PrometheusExporter.CONTENT_TYPE);
+            assertThat(response.body()).contains("try_monad_success_total{operation=\"ofCallable\",name=\"call\"} 1");
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.AsyncTry;
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.exceptions.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class BulkheadTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static Integer await(CountDownLatch latch, int value) throws InterruptedException {
+        latch.await();
+        return value;
+    }
+
+    // -- SemaphoreBulkhead
+
+    @Test
+    void semaphoreShouldRunCallsWithinLimit() {
+        var bulkhead = Bulkhead.builder("test").maxConcurrentCalls(2).buildSemaphore();
+
+        assertThat(bulkhead.execute(() -> 1)).isEqualTo(Try.success(1));
+        assertThat(bulkhead.<Integer>execute(() -> {
+                            throw new IOException();
+                        })
+                        .getCause())
+                .isInstanceOf(IOException.class);
+        assertThat(bulkhead.inFlight()).isZero();
+    }
+
+    @Test
+    void semaphoreShouldRejectImmediatelyWhenFull() throws Exception {
+        var bulkhead = Bulkhead.builder("test").maxConcurrentCalls(1).buildSemaphore();
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Try<Integer>> running = executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                return await(release, 1);
+            }));
+            started.await();
+            assertThat(bulkhead.inFlight()).isEqualTo(1);
+
+            var first = bulkhead.execute(() -> 2);
+            var second = bulkhead.execute(() -> 3);
+
+            assertThat(first.getCause()).isInstanceOf(BulkheadFullException.class);
+            assertThat(first.getCause().getStackTrace()).isEmpty();
+            assertThat(second).isSameAs(first);
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(Try.success(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void semaphoreShouldQueueCallsUpToMaxWait() throws Exception {
+        var bulkhead = Bulkhead.builder("test")
+                .maxConcurrentCalls(1)
+                .maxQueuedCalls(1)
+                .maxWait(Duration.ofSeconds(5))
+                .buildSemaphore();
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Try<Integer>> running = executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                return await(release, 1);
+            }));
+            started.await();
+            Future<Try<Integer>> waiting = executor.submit(() -> bulkhead.execute(() -> 2));
+            while (bulkhead.queued() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThat(bulkhead.execute(() -> 3).getCause()).isInstanceOf(BulkheadFullException.class);
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(Try.success(1));
+            assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo(Try.success(2));
+            assertThat(bulkhead.queued()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void semaphoreShouldRejectWhenWaitTimesOut() throws Exception {
+        var bulkhead = Bulkhead.builder("test")
+                .maxConcurrentCalls(1)
+                .maxQueuedCalls(1)
+                .maxWait(Duration.ofMillis(20))
+                .buildSemaphore();
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                return await(release, 1);
+            }));
+            started.await();
+
+            assertThat(bulkhead.execute(() -> 2).getCause()).isInstanceOf(BulkheadFullException.class);
+            assertThat(bulkhead.queued()).isZero();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void semaphoreShouldNeverExceedMaxConcurrentCalls() throws Exception {
+        var bulkhead = Bulkhead.builder("test")
+                .maxConcurrentCalls(3)
+                .maxQueuedCalls(100)
+                .maxWait(Duration.ofSeconds(5))
+                .buildSemaphore();
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> bulkhead.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    return running.decrementAndGet();
+                }));
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(maxRunning.get()).isBetween(1, 3);
+        assertThat(bulkhead.inFlight()).isZero();
+    }
+
+    // -- ThreadPoolBulkhead
+
+    @Test
+    void threadPoolShouldRunCallsOnDedicatedThreads() {
+        try (var bulkhead = Bulkhead.builder("pool").maxConcurrentCalls(2).buildThreadPool()) {
+            var result = bulkhead.execute(() -> Thread.currentThread().getName());
+
+            assertThat(result.get()).startsWith("try-monad-bulkhead-pool-");
+        }
+    }
+
+    @Test
+    void threadPoolShouldRejectWhenFull() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        try (var bulkhead = Bulkhead.builder("pool").maxConcurrentCalls(1).buildThreadPool()) {
+            AsyncTry<Integer> running = bulkhead.executeAsync(() -> {
+                started.countDown();
+                return await(release, 1);
+            });
+            started.await();
+
+            var rejected = bulkhead.executeAsync(() -> 2).await(TIMEOUT);
+
+            assertThat(rejected.getCause()).isInstanceOf(BulkheadFullException.class);
+            assertThat(bulkhead.inFlight()).isEqualTo(1);
+            release.countDown();
+            assertThat(running.await(TIMEOUT)).isEqualTo(Try.success(1));
+        }
+    }
+
+    @Test
+    void threadPoolShouldQueueAndExpireCalls() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        try (var bulkhead = Bulkhead.builder("pool")
+                .maxConcurrentCalls(1)
+                .maxQueuedCalls(1)
+                .maxWait(Duration.ofMillis(50))
+                .buildThreadPool()) {
+            bulkhead.executeAsync(() -> {
+                started.countDown();
+                return await(release, 1);
+            });
+            started.await();
+
+            var queued = bulkhead.executeAsync(() -> 2);
+            assertThat(bulkhead.queued()).isEqualTo(1);
+            assertThat(bulkhead.executeAsync(() -> 3).await(TIMEOUT).getCause())
+                    .isInstanceOf(BulkheadFullException.class);
+
+            assertThat(queued.await(TIMEOUT).getCause()).isInstanceOf(BulkheadFullException.class);
+            assertThat(bulkhead.queued()).isZero();
+            release.countDown();
+        }
+    }
+
+    @Test
+    void threadPoolShouldExpireCallQueuedBackToBackBehindABlockedCall() {
+        for (int round = 0; round < 20; round++) {
+            var release = new CountDownLatch(1);
+            try (var bulkhead = Bulkhead.builder("pool")
+                    .maxConcurrentCalls(1)
+                    .maxQueuedCalls(1)
+                    .maxWait(Duration.ofMillis(50))
+                    .buildThreadPool()) {
+                bulkhead.executeAsync(() -> await(release, 1));
+                var queued = bulkhead.executeAsync(() -> 2);
+
+                assertThat(queued.await(TIMEOUT).getCause()).isInstanceOf(BulkheadFullException.class);
+            } finally {
+                release.countDown();
+            }
+        }
+    }
+
+    @Test
+    void threadPoolShouldRunQueuedCallWhenCapacityFreesUp() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        try (var bulkhead = Bulkhead.builder("pool")
+                .maxConcurrentCalls(1)
+                .maxQueuedCalls(1)
+                .maxWait(Duration.ofSeconds(5))
+                .buildThreadPool()) {
+            bulkhead.executeAsync(() -> {
+                started.countDown();
+                return await(release, 1);
+            });
+            started.await();
+            var queued = bulkhead.executeAsync(() -> 2);
+
+            release.countDown();
+
+            assertThat(queued.await(TIMEOUT)).isEqualTo(Try.success(2));
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> Bulkhead.builder("x").maxConcurrentCalls(0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> Bulkhead.builder("x").maxQueuedCalls(-1));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> Bulkhead.builder("x").maxWait(Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.exceptions.CallNotPermittedException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker.Builder breaker() {
+        return CircuitBreaker.builder("test")
+                .failureRateThreshold(50)
+                .countBasedSlidingWindow(4)
+                .minimumNumberOfCalls(4)
+                .waitDurationInOpenState(Duration.ofSeconds(1))
+                .permittedCallsInHalfOpenState(2)
+                .clock(now::get);
+    }
+
+    private static Integer fail() throws IOException {
+        throw new IOException("boom");
+    }
+
+    @Test
+    void shouldStayClosedBelowMinimumNumberOfCalls() {
+        var breaker = breaker().build();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.execute(CircuitBreakerTest::fail).isFailure()).isTrue();
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        var breaker = breaker().build();
+        breaker.execute(() -> 1);
+        breaker.execute(() -> 2);
+        breaker.execute(CircuitBreakerTest::fail);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.execute(CircuitBreakerTest::fail);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldEvictOldestOutcomesFromCountBasedWindow() {
+        var breaker = breaker().build();
+        breaker.execute(CircuitBreakerTest::fail);
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(() -> 1);
+        }
+
+        assertThat(breaker.failureRate()).isZero();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldRejectCallsWithSharedStacklessFailureWhenOpen() {
+        var breaker = open(breaker().build());
+        var calls = new AtomicInteger();
+
+        var first = breaker.execute(calls::incrementAndGet);
+        var second = breaker.executeCallable(calls::incrementAndGet);
+
+        assertThat(calls).hasValue(0);
+        assertThat(first.getCause()).isInstanceOf(CallNotPermittedException.class);
+        assertThat(first.getCause().getStackTrace()).isEmpty();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulTrialCalls() {
+        var breaker = open(breaker().build());
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(breaker.execute(() -> 1).isSuccess()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.execute(() -> 2).isSuccess()).isTrue();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReopenOnTrialFailure() {
+        var breaker = open(breaker().build());
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        breaker.execute(CircuitBreakerTest::fail);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.execute(() -> 1).getCause()).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void shouldReopenWhenATrialCallThrowsAFatalError() {
+        var breaker = open(breaker().build());
+
+        for (int round = 0; round < 3; round++) {
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+            assertThatExceptionOfType(InterruptedException.class)
+                    .isThrownBy(() -> breaker.execute(() -> {
+                        throw new InterruptedException();
+                    }));
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        }
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThatExceptionOfType(StackOverflowError.class)
+                .isThrownBy(() -> breaker.executeCallable(() -> {
+                    throw new StackOverflowError();
+                }));
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(breaker.execute(() -> 1).isSuccess()).isTrue();
+        assertThat(breaker.execute(() -> 2).isSuccess()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldLimitTrialCallsInHalfOpenState() {
+        var breaker = open(breaker().build());
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        var calls = new AtomicInteger();
+
+        // the trial calls never complete before the next one starts
+        var nested = breaker.execute(() -> breaker.execute(() -> breaker.execute(calls::incrementAndGet)));
+
+        assertThat(calls).hasValue(0);
+        assertThat(nested.get().get().getCause()).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void shouldNotRecordIgnoredFailures() {
+        var breaker = breaker().recordFailure(t -> !(t instanceof IOException)).build();
+
+        for (int i = 0; i < 10; i++) {
+            breaker.execute(CircuitBreakerTest::fail);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isZero();
+    }
+
+    @Test
+    void shouldExpireOutcomesFromTimeBasedWindow() {
+        var breaker = breaker().timeBasedSlidingWindow(Duration.ofSeconds(4), 4).build();
+        breaker.execute(CircuitBreakerTest::fail);
+        breaker.execute(CircuitBreakerTest::fail);
+        breaker.execute(CircuitBreakerTest::fail);
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        breaker.execute(CircuitBreakerTest::fail);
+        breaker.execute(() -> 1);
+        breaker.execute(() -> 2);
+        breaker.execute(() -> 3);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(25);
+    }
+
+    @Test
+    void shouldResetToClosed() {
+        var breaker = open(breaker().build());
+
+        breaker.reset();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.execute(() -> 1).isSuccess()).isTrue();
+    }
+
+    @Test
+    void shouldOpenOnceUnderConcurrentFailures() throws Exception {
+        var breaker = CircuitBreaker.builder("concurrent")
+                .countBasedSlidingWindow(64)
+                .minimumNumberOfCalls(64)
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var tasks = new ArrayList<Callable<Object>>();
+            for (int i = 0; i < 1_000; i++) {
+                tasks.add(() -> breaker.execute(CircuitBreakerTest::fail));
+            }
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CircuitBreaker.builder("x").failureRateThreshold(0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CircuitBreaker.builder("x").failureRateThreshold(101));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CircuitBreaker.builder("x").countBasedSlidingWindow(0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CircuitBreaker.builder("x").permittedCallsInHalfOpenState(0));
+    }
+
+    private CircuitBreaker open(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(CircuitBreakerTest::fail);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+}
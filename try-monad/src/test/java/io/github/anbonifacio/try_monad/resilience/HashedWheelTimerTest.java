@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class HashedWheelTimerTest {
+    private final HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(1), 8, Thread::new);
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    void shouldRunTaskAfterDelay() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        var timeout = timer.schedule(latch::countDown, Duration.ofMillis(20));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start)
+                .isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+        assertThat(timeout.isExpired()).isTrue();
+    }
+
+    @Test
+    void shouldRunTasksWithDelaysLongerThanOneRotation() throws InterruptedException {
+        var latch = new CountDownLatch(3);
+
+        timer.schedule(latch::countDown, Duration.ZERO);
+        timer.schedule(latch::countDown, Duration.ofMillis(9));
+        timer.schedule(latch::countDown, Duration.ofMillis(30));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldNeverRunTasksWithDelaysCloseToLongMaxValue() throws InterruptedException {
+        var runs = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        timer.schedule(started::countDown, Duration.ofMillis(5));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var never = timer.schedule(runs::incrementAndGet, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        var neverEither = timer.schedule(runs::incrementAndGet, Long.MAX_VALUE, TimeUnit.DAYS);
+        var latch = new CountDownLatch(1);
+        timer.schedule(latch::countDown, Duration.ofMillis(20));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(0);
+        assertThat(never.isExpired()).isFalse();
+        assertThat(neverEither.isExpired()).isFalse();
+    }
+
+    @Test
+    void shouldNotRunCancelledTask() throws InterruptedException {
+        var runs = new AtomicInteger();
+        var latch = new CountDownLatch(1);
+
+        var cancelled = timer.schedule(runs::incrementAndGet, Duration.ofMillis(10));
+        assertThat(cancelled.cancel()).isTrue();
+        timer.schedule(latch::countDown, Duration.ofMillis(20));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(0);
+        assertThat(cancelled.isCancelled()).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+    }
+
+    @Test
+    void shouldKeepRunningAfterAFailingTask() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var worker = new HashedWheelTimer(Duration.ofMillis(1), 8, runnable -> {
+            var thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler((t, e) -> {});
+            return thread;
+        });
+        try {
+            worker.schedule(
+                    () -> {
+                        throw new IllegalStateException();
+                    },
+                    Duration.ZERO);
+            worker.schedule(latch::countDown, Duration.ofMillis(5));
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            worker.close();
+        }
+    }
+
+    @Test
+    void shouldRejectTasksOnceClosed() {
+        timer.close();
+
+        assertThatIllegalStateException().isThrownBy(() -> timer.schedule(() -> {}, Duration.ZERO));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.Try;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class HedgePolicyTest {
+
+    private static Integer sleepThen(long millis, Integer value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    @Test
+    void shouldNotHedgeFastCalls() {
+        var policy = HedgePolicy.builder().delay(Duration.ofMillis(200)).build();
+
+        assertThat(Try.hedged(() -> 1, policy)).isEqualTo(Try.success(1));
+        assertThat(policy.hedgeCount()).isZero();
+    }
+
+    @Test
+    void shouldReturnHedgeAndInterruptSlowAttempt() throws InterruptedException {
+        var policy = HedgePolicy.builder().delay(Duration.ofMillis(20)).build();
+        var calls = new AtomicInteger();
+        var interrupted = new CountDownLatch(1);
+
+        var result = Try.hedged(
+                () -> {
+                    if (calls.incrementAndGet() == 1) {
+                        try {
+                            return sleepThen(10_000, 1);
+                        } catch (InterruptedException e) {
+                            interrupted.countDown();
+                            throw e;
+                        }
+                    }
+                    return 2;
+                },
+                policy);
+
+        assertThat(result).isEqualTo(Try.success(2));
+        assertThat(policy.hedgeCount()).isEqualTo(1);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldStartUpToTwoHedges() {
+        var policy = HedgePolicy.builder()
+                .maxAttempts(3)
+                .delay(Duration.ofMillis(20))
+                .build();
+        var calls = new AtomicInteger();
+
+        var result = Try.hedged(() -> calls.incrementAndGet() < 3 ? sleepThen(10_000, 1) : 3, policy);
+
+        assertThat(result).isEqualTo(Try.success(3));
+        assertThat(policy.hedgeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotHedgeWithoutBudget() {
+        var policy = HedgePolicy.builder()
+                .delay(Duration.ofMillis(10))
+                .budget(RetryBudget.of(0, 0))
+                .build();
+        var calls = new AtomicInteger();
+
+        var result = Try.hedged(() -> sleepThen(100, calls.incrementAndGet()), policy);
+
+        assertThat(result).isEqualTo(Try.success(1));
+        assertThat(calls).hasValue(1);
+        assertThat(policy.hedgeCount()).isZero();
+    }
+
+    @Test
+    void shouldReturnFailureOfAttemptFailingBeforeHedge() {
+        var policy = HedgePolicy.builder().delay(Duration.ofMillis(200)).build();
+        var calls = new AtomicInteger();
+
+        var result = Try.<Integer>hedged(
+                () -> {
+                    calls.incrementAndGet();
+                    throw new IOException("boom");
+                },
+                policy);
+
+        assertThat(result.getCause()).isInstanceOf(IOException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldWaitForHedgeWhenFirstAttemptFailsAfterIt() {
+        var policy = HedgePolicy.builder().delay(Duration.ofMillis(10)).build();
+        var calls = new AtomicInteger();
+
+        var result = Try.hedged(
+                () -> {
+                    if (calls.incrementAndGet() == 1) {
+                        Thread.sleep(50);
+                        throw new IOException("slow failure");
+                    }
+                    return sleepThen(100, 2);
+                },
+                policy);
+
+        assertThat(result).isEqualTo(Try.success(2));
+    }
+
+    @Test
+    void shouldAdaptDelayToObservedLatencies() {
+        var policy =
+                HedgePolicy.builder().percentileDelay(95, Duration.ofSeconds(1)).build();
+        assertThat(policy.currentDelay()).isEqualTo(Duration.ofSeconds(1));
+
+        for (int i = 0; i < 128; i++) {
+            Try.hedged(() -> 1, policy);
+        }
+
+        assertThat(policy.currentDelay()).isLessThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    void histogramShouldEstimatePercentilesWithinBucketPrecision() {
+        var histogram = new LatencyHistogram(Long.MAX_VALUE);
+        assertThat(histogram.percentile(50)).isEqualTo(-1);
+
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertThat(histogram.percentile(50)).isBetween(500_000L, 562_500L);
+        assertThat(histogram.percentile(99)).isBetween(990_000L, 1_113_750L);
+        for (long value : new long[] {0, 7, 8, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            assertThat(LatencyHistogram.upperBound(LatencyHistogram.index(value)))
+                    .isGreaterThanOrEqualTo(value);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> HedgePolicy.builder().maxAttempts(1));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> HedgePolicy.builder().maxAttempts(4));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> HedgePolicy.builder().percentileDelay(100, Duration.ZERO));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> HedgePolicy.builder().delay(Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.Try;
+import io.github.anbonifacio.try_monad.exceptions.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RateLimiterTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private RateLimiter.Builder limiter() {
+        return RateLimiter.builder("test")
+                .limitForPeriod(10, Duration.ofSeconds(1))
+                .clock(now::get);
+    }
+
+    @Test
+    void shouldAllowBurstThenRejectImmediately() {
+        var limiter = limiter().burst(3).build();
+        assertThat(limiter.availablePermits()).isEqualTo(3);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.execute(() -> 1)).isEqualTo(Try.success(1));
+        }
+        var first = limiter.execute(() -> 1);
+        var second = limiter.execute(() -> 2);
+
+        assertThat(first.getCause()).isInstanceOf(RateLimitExceededException.class);
+        assertThat(first.getCause().getStackTrace()).isEmpty();
+        assertThat(second).isSameAs(first);
+        assertThat(limiter.availablePermits()).isZero();
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        var limiter = limiter().burst(5).build();
+        assertThat(limiter.tryAcquire(5)).isTrue();
+        assertThat(limiter.tryAcquire(1)).isFalse();
+
+        now.addAndGet(Duration.ofMillis(250).toNanos());
+
+        assertThat(limiter.availablePermits()).isEqualTo(2);
+        assertThat(limiter.tryAcquire(2)).isTrue();
+        assertThat(limiter.tryAcquire(1)).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(limiter.availablePermits()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldTakeWeightedPermits() {
+        var limiter = limiter().burst(4).build();
+
+        assertThat(limiter.execute(3, () -> 1).isSuccess()).isTrue();
+        assertThat(limiter.execute(2, () -> 1).getCause()).isInstanceOf(RateLimitExceededException.class);
+        assertThat(limiter.execute(1, () -> 1).isSuccess()).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> limiter.tryAcquire(5));
+        assertThatIllegalArgumentException().isThrownBy(() -> limiter.tryAcquire(0));
+    }
+
+    @Test
+    void shouldWaitForPermitWithinMaxWait() {
+        var limiter = RateLimiter.builder("test")
+                .limitForPeriod(20, Duration.ofSeconds(1))
+                .burst(1)
+                .maxWait(Duration.ofSeconds(1))
+                .build();
+        limiter.execute(() -> 1);
+        long start = System.nanoTime();
+
+        var result = limiter.execute(() -> 2);
+
+        assertThat(result).isEqualTo(Try.success(2));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(40));
+    }
+
+    @Test
+    void shouldRejectWhenPermitIsNotAvailableWithinTimeout() {
+        var limiter = limiter().burst(1).build();
+        limiter.tryAcquire(1);
+
+        assertThat(limiter.tryAcquire(1, Duration.ofMillis(50))).isFalse();
+        now.addAndGet(Duration.ofMillis(50).toNanos());
+        assertThat(limiter.availablePermits()).isZero();
+    }
+
+    @Test
+    void shouldReserveSlotForAsyncCallsWithoutBlocking() {
+        var limiter = RateLimiter.builder("test")
+                .limitForPeriod(20, Duration.ofSeconds(1))
+                .burst(1)
+                .maxWait(Duration.ofSeconds(1))
+                .build();
+        long start = System.nanoTime();
+
+        var first = limiter.executeAsync(1, () -> 1);
+        var second = limiter.executeAsync(1, () -> 2);
+        var third = limiter.executeAsync(1, () -> 3);
+        long submitted = System.nanoTime() - start;
+
+        assertThat(Duration.ofNanos(submitted)).isLessThan(Duration.ofMillis(50));
+        assertThat(first.await(TIMEOUT)).isEqualTo(Try.success(1));
+        assertThat(second.await(TIMEOUT)).isEqualTo(Try.success(2));
+        assertThat(third.await(TIMEOUT)).isEqualTo(Try.success(3));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(80));
+    }
+
+    @Test
+    void shouldRejectAsyncCallWhenSlotIsTooFar() {
+        var limiter = limiter().burst(1).build();
+        limiter.tryAcquire(1);
+
+        var result = limiter.executeAsync(1, () -> 1).await(TIMEOUT);
+
+        assertThat(result.getCause()).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldNotGrantMorePermitsThanAvailableUnderContention() throws InterruptedException {
+        var limiter = limiter().burst(100).build();
+        var granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    if (limiter.tryAcquire(1)) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimiter.builder("x").limitForPeriod(0, Duration.ofSeconds(1)));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimiter.builder("x").limitForPeriod(1, Duration.ZERO));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimiter.builder("x").burst(0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimiter.builder("x").maxWait(Duration.ofMillis(-1)));
+    }
+}
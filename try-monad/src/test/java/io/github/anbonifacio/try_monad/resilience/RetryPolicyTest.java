@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Antonio Bonifacio
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package io.github.anbonifacio.try_monad.resilience;
+
+import io.github.anbonifacio.try_monad.Try;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RetryPolicyTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static RetryPolicy.Builder noDelay() {
+        return RetryPolicy.builder().backoff(Backoff.fixed(Duration.ZERO));
+    }
+
+    private static Integer failUntil(AtomicInteger calls, int successfulCall) throws IOException {
+        if (calls.incrementAndGet() < successfulCall) {
+            throw new IOException("attempt " + calls.get());
+        }
+        return calls.get();
+    }
+
+    @Test
+    void shouldReturnFirstSuccess() {
+        var calls = new AtomicInteger();
+        var result = Try.retry(noDelay().maxAttempts(3).build(), () -> failUntil(calls, 2));
+
+        assertThat(result).isEqualTo(Try.success(2));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldReturnLastFailureAfterMaxAttempts() {
+        var calls = new AtomicInteger();
+        var result = Try.retry(noDelay().maxAttempts(3).build(), () -> failUntil(calls, 10));
+
+        assertThat(result.getCause()).isInstanceOf(IOException.class).hasMessage("attempt 3");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void shouldOnlyRetryMatchingExceptionTypes() {
+        var calls = new AtomicInteger();
+        var policy =
+                noDelay().maxAttempts(5).retryOn(IllegalStateException.class).build();
+
+        var result = Try.retry(policy, () -> failUntil(calls, 10));
+
+        assertThat(result.getCause()).isInstanceOf(IOException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldOnlyRetryFailuresSatisfyingThePredicate() {
+        var calls = new AtomicInteger();
+        var policy = noDelay()
+                .maxAttempts(5)
+                .retryOn(IOException.class)
+                .retryIf(t -> !t.getMessage().equals("attempt 2"))
+                .build();
+
+        var result = Try.retry(policy, () -> failUntil(calls, 10));
+
+        assertThat(result.getCause()).hasMessage("attempt 2");
+    }
+
+    @Test
+    void shouldStopRetryingWhenTheBudgetIsExhausted() {
+        var calls = new AtomicInteger();
+        var budget = RetryBudget.of(0, 2);
+        var policy = noDelay().maxAttempts(10).budget(budget).build();
+
+        Try.retry(policy, () -> failUntil(calls, 100));
+
+        assertThat(calls).hasValue(3);
+        assertThat(budget.availableRetries()).isZero();
+    }
+
+    @Test
+    void budgetShouldBeRefilledByNewCalls() {
+        var budget = RetryBudget.of(0.5, 1);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+        budget.deposit();
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void shouldRetryAsynchronously() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            var calls = new AtomicInteger();
+            var policy = RetryPolicy.builder()
+                    .maxAttempts(4)
+                    .backoff(Backoff.exponential(Duration.ofMillis(1), 2, Duration.ofMillis(10)))
+                    .build();
+
+            var result =
+                    Try.retryAsync(policy, () -> failUntil(calls, 3), executor).await(TIMEOUT);
+
+            assertThat(result).isEqualTo(Try.success(3));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReturnLastFailureAsynchronously() {
+        var calls = new AtomicInteger();
+        var policy = noDelay().maxAttempts(2).build();
+
+        var result = Try.retryAsync(policy, () -> failUntil(calls, 10)).await(TIMEOUT);
+
+        assertThat(result.getCause()).isInstanceOf(IOException.class).hasMessage("attempt 2");
+    }
+
+    @Test
+    void shouldRejectInvalidMaxAttempts() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RetryPolicy.builder().maxAttempts(0));
+    }
+
+    @Test
+    void exponentialBackoffShouldBeCappedAtMax() {
+        var backoff = Backoff.exponential(Duration.ofNanos(10), 2, Duration.ofNanos(50));
+
+        assertThat(backoff.delayNanos(1, 0)).isEqualTo(10);
+        assertThat(backoff.delayNanos(3, 0)).isEqualTo(40);
+        assertThat(backoff.delayNanos(10, 0)).isEqualTo(50);
+    }
+
+    @Test
+    void decorrelatedJitterShouldStayBetweenBaseAndMax() {
+        var backoff = Backoff.decorrelatedJitter(Duration.ofNanos(10), Duration.ofNanos(100));
+        long delay = 0;
+        for (int attempt = 1; attempt < 100; attempt++) {
+            delay = backoff.delayNanos(attempt, delay);
+            assertThat(delay).isBetween(10L, 100L);
+        }
+    }
+}